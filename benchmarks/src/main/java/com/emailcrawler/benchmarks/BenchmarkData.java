@@ -0,0 +1,186 @@
+package com.emailcrawler.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * 벤치마크 입력 데이터 생성기
+ *
+ * 실행마다 같은 데이터가 나오도록 고정 시드를 사용합니다.
+ */
+final class BenchmarkData {
+
+    static final String[] SHAPES = {"plain", "quoted", "wide"};
+
+    private static final String[] COMPANY_WORDS = {"한빛", "대한", "서울", "미래", "우리", "글로벌", "테크", "산업", "무역", "소프트"};
+    private static final String[] TLDS = {"co.kr", "com", "kr", "net", "or.kr"};
+    private static final String[] TEXT_WORDS = {
+            "회사소개", "오시는길", "고객센터", "문의하기", "제품", "서비스", "공지사항", "개인정보처리방침",
+            "Copyright", "All", "rights", "reserved", "Tel", "Fax", "주소", "서울특별시", "강남구", "테헤란로",
+            "대표", "사업자등록번호", "home", "about", "contact", "news", "login", "menu", "search"
+    };
+
+    private final Random random;
+
+    BenchmarkData() {
+        this(42);
+    }
+
+    BenchmarkData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * CSV 헤더 레코드 (Company, Website, Email 컬럼 포함)
+     *
+     * @param shape plain/quoted: 6개 컬럼, wide: 45개 컬럼
+     */
+    String header(String shape) {
+        StringBuilder header = new StringBuilder("Company,Website,Email,Phone,Address,Memo");
+        if ("wide".equals(shape)) {
+            for (int i = 7; i <= 45; i++) {
+                header.append(",Extra").append(i);
+            }
+        }
+        return header.toString();
+    }
+
+    /**
+     * CSV 데이터 레코드 하나 (줄바꿈 제외)
+     *
+     * @param shape plain: 따옴표 없음, quoted: 쉼표/따옴표/줄바꿈이 든 필드 포함, wide: 45개 컬럼
+     */
+    String record(String shape) {
+        String company = company();
+        String domain = domain();
+        StringBuilder record = new StringBuilder(256);
+
+        if ("quoted".equals(shape)) {
+            record.append('"').append(company).append(", Inc.\",")
+                    .append("https://www.").append(domain).append(',')
+                    .append(random.nextInt(3) == 0 ? "" : "info@" + domain).append(',')
+                    .append("\"02-").append(1000 + random.nextInt(9000)).append('-').append(1000 + random.nextInt(9000)).append("\",")
+                    .append("\"서울특별시 강남구 테헤란로 ").append(random.nextInt(500)).append(", ").append(random.nextInt(30)).append("층\",")
+                    .append("\"메모 \"\"중요\"\"\n두 번째 줄\"");
+            return record.toString();
+        }
+
+        record.append(company).append(',')
+                .append("http://www.").append(domain).append(',')
+                .append(random.nextInt(3) == 0 ? "" : "contact@" + domain).append(',')
+                .append("02-").append(1000 + random.nextInt(9000)).append('-').append(1000 + random.nextInt(9000)).append(',')
+                .append("서울특별시 강남구 테헤란로 ").append(random.nextInt(500)).append(',')
+                .append(word());
+
+        if ("wide".equals(shape)) {
+            for (int i = 7; i <= 45; i++) {
+                record.append(',');
+                switch (i % 4) {
+                    case 0:
+                        record.append('"').append(word()).append(", ").append(word()).append('"');
+                        break;
+                    case 1:
+                        record.append(random.nextInt(1_000_000));
+                        break;
+                    case 2:
+                        break; // 빈 필드
+                    default:
+                        record.append(word());
+                }
+            }
+        }
+        return record.toString();
+    }
+
+    /**
+     * 생성한 레코드로 CSV 파일을 씁니다.
+     *
+     * @param rows 데이터 행 수 (헤더 제외)
+     */
+    Path writeCsvFile(String shape, int rows, Charset charset) throws IOException {
+        Path file = Files.createTempFile("bench-" + shape + "-" + rows + "-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, charset)) {
+            writer.write(header(shape));
+            writer.write('\n');
+            for (int i = 0; i < rows; i++) {
+                writer.write(record(shape));
+                writer.write('\n');
+            }
+        }
+        return file;
+    }
+
+    /**
+     * 회사 홈페이지에서 doc.text()로 꺼낸 것과 비슷한 텍스트
+     * 메뉴/본문 단어 사이에 숫자, 이미지 파일명(logo@2x.png), 난독화 이메일을 섞고 실제 이메일은 끝부분(푸터)에 둡니다.
+     *
+     * @param chars 대략적인 문자 수
+     */
+    String pageText(int chars) {
+        StringBuilder text = new StringBuilder(chars + 256);
+        String domain = domain();
+        while (text.length() < chars) {
+            int kind = random.nextInt(200);
+            if (kind == 0) {
+                text.append("logo@2x.png ");
+            } else if (kind == 1) {
+                text.append("sales [at] ").append(domain).append(' ');
+            } else if (kind < 20) {
+                text.append(random.nextInt(100_000)).append(' ');
+            } else {
+                text.append(word()).append(' ');
+            }
+        }
+        text.append("| 대표메일 info@").append(domain).append(" | Tel 02-123-4567 | Copyright ").append(company());
+        return text.toString();
+    }
+
+    /**
+     * 유효/무효가 섞인 이메일 후보 (페이지에서 추출된 문자열과 비슷한 분포)
+     */
+    String emailCandidate() {
+        switch (random.nextInt(6)) {
+            case 0:
+                return "logo@2x.png";
+            case 1:
+                return "Info@" + domain().toUpperCase();
+            case 2:
+                return "not-an-email." + domain();
+            case 3:
+                return "  sales.team+kr@" + domain() + "  ";
+            default:
+                return "contact" + random.nextInt(100) + "@" + domain();
+        }
+    }
+
+    /**
+     * 측정 중에 파서가 출력하는 콘솔 메시지(컬럼 매핑 등)를 버립니다. (포크된 벤치마크 JVM에서만 호출)
+     */
+    static void muteConsole() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    private String company() {
+        return COMPANY_WORDS[random.nextInt(COMPANY_WORDS.length)] + COMPANY_WORDS[random.nextInt(COMPANY_WORDS.length)]
+                + "(주)";
+    }
+
+    private String domain() {
+        StringBuilder name = new StringBuilder();
+        int length = 4 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(26)));
+        }
+        return name.append('.').append(TLDS[random.nextInt(TLDS.length)]).toString();
+    }
+
+    private String word() {
+        return TEXT_WORDS[random.nextInt(TEXT_WORDS.length)];
+    }
+}
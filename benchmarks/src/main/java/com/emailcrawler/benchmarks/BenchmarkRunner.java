@@ -0,0 +1,42 @@
+package com.emailcrawler.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH 벤치마크 실행 진입점
+ *
+ * 사용법
+ *   (상위 프로젝트)  mvn install
+ *   (benchmarks)     mvn package
+ *                    java -jar target/benchmarks.jar [벤치마크 이름 정규식] [JMH 옵션]
+ *
+ * 할당 프로파일러(gc)를 항상 붙이고, 결과는 JSON(기본 target/jmh-result.json)으로 저장합니다.
+ * 두 실행 결과의 JSON을 비교하면 변경 전후의 처리 시간과 연산당 할당량(gc.alloc.rate.norm)을 알 수 있습니다.
+ * -rf, -rff 옵션을 주면 그 값을 사용합니다.
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
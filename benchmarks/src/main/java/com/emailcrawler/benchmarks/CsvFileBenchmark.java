@@ -0,0 +1,72 @@
+package com.emailcrawler.benchmarks;
+
+import com.emailcrawler.model.CsvRow;
+import com.emailcrawler.util.CsvParser;
+import com.emailcrawler.util.ParallelCsvParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV 파일 전체 파싱 벤치마크
+ *
+ * 생성한 파일을 순차 파서(parseCsvFile, 병렬 기준 크기 미만)와 ParallelCsvParser로 각각 파싱합니다.
+ * 첫 측정 전에 파일이 페이지 캐시에 올라가므로 디스크 속도가 아니라 디코딩/파싱 비용을 잽니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class CsvFileBenchmark {
+
+    @Param({"plain", "wide"})
+    private String shape;
+
+    @Param({"10000", "200000"})
+    private int rows;
+
+    @Param({"UTF-8", "EUC-KR"})
+    private String encoding;
+
+    private final CsvParser csvParser = new CsvParser();
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkData.muteConsole();
+        file = new BenchmarkData().writeCsvFile(shape, rows, Charset.forName(encoding));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<CsvRow> parseCsvFile() throws Exception {
+        return csvParser.parseCsvFile(file.toString(), encoding);
+    }
+
+    @Benchmark
+    public List<CsvRow> parallelParse() throws IOException {
+        return new ParallelCsvParser(csvParser).parse(file.toString(), encoding);
+    }
+}
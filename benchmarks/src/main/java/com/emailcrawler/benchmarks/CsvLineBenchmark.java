@@ -0,0 +1,68 @@
+package com.emailcrawler.benchmarks;
+
+import com.emailcrawler.util.CsvParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CsvParser 레코드 단위 파싱 벤치마크
+ *
+ * 미리 만든 레코드 여러 개를 돌아가며 파싱해서 분기 예측이 한 입력에 고정되지 않도록 합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvLineBenchmark {
+
+    private static final int RECORD_COUNT = 1024; // 2의 거듭제곱 (인덱스 마스크용)
+
+    @Param({"plain", "quoted", "wide"})
+    private String shape;
+
+    private final CsvParser csvParser = new CsvParser();
+    private String[] records;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        records = new String[RECORD_COUNT];
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            records[i] = data.record(shape);
+        }
+    }
+
+    /**
+     * 레코드를 필드 값 배열로 파싱 (parseCsvLine)
+     */
+    @Benchmark
+    public String[] parseCsvLine() {
+        return csvParser.parseCsvLine(nextRecord());
+    }
+
+    /**
+     * 필드 경계만 찾기 (CsvRow가 실제로 사용하는 경로)
+     */
+    @Benchmark
+    public int[] splitCsvRecord() {
+        return csvParser.splitCsvRecord(nextRecord());
+    }
+
+    private String nextRecord() {
+        return records[next++ & (RECORD_COUNT - 1)];
+    }
+}
@@ -0,0 +1,100 @@
+package com.emailcrawler.benchmarks;
+
+import com.emailcrawler.model.CsvRow;
+import com.emailcrawler.util.CsvOutputWriter;
+import com.emailcrawler.util.CsvParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결과 CSV 저장 벤치마크 (saveCsvData와 같은 방식)
+ *
+ * 파싱한 행에 찾은 이메일을 채운 뒤 BOM + 행 전체를 파일로 씁니다.
+ * csvOutputWriter는 현재 저장 경로, bufferedWriter는 비교용 기존 방식(OutputStreamWriter + BufferedWriter)입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class CsvWriteBenchmark {
+
+    @Param({"plain", "wide"})
+    private String shape;
+
+    @Param({"10000", "200000"})
+    private int rows;
+
+    private final CsvParser csvParser = new CsvParser();
+    private List<CsvRow> csvRows;
+    private Path output;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkData.muteConsole();
+        Path input = new BenchmarkData().writeCsvFile(shape, rows, StandardCharsets.UTF_8);
+        try {
+            csvRows = csvParser.parseCsvFile(input.toString(), "UTF-8");
+        } finally {
+            Files.deleteIfExists(input);
+        }
+
+        for (CsvRow row : csvRows) {
+            if (!row.isHeader()) {
+                row.setFoundEmail("info@" + row.getWebsite().replaceFirst("^https?://(www\\.)?", ""));
+            }
+        }
+        output = Files.createTempFile("bench-output-", ".csv");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public long csvOutputWriter() throws IOException {
+        try (CsvOutputWriter writer = new CsvOutputWriter(output.toString())) {
+            writeAll(writer);
+        }
+        return Files.size(output);
+    }
+
+    @Benchmark
+    public long bufferedWriter() throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(output.toFile()), StandardCharsets.UTF_8))) {
+            writeAll(writer);
+        }
+        return Files.size(output);
+    }
+
+    private void writeAll(Writer writer) throws IOException {
+        writer.write('\ufeff'); // UTF-8 BOM
+        for (CsvRow row : csvRows) {
+            csvParser.writeCsvRow(writer, row);
+        }
+    }
+}
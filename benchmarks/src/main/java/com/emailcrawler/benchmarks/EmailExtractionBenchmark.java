@@ -0,0 +1,53 @@
+package com.emailcrawler.benchmarks;
+
+import com.emailcrawler.service.EmailExtractorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 페이지 텍스트 이메일 추출 벤치마크
+ *
+ * small은 일반 회사 첫 페이지(약 8KB), large는 본문 한도에 가까운 큰 페이지(약 4MB)의 텍스트입니다.
+ * 실제 이메일은 푸터(끝부분)에만 있으므로 텍스트 전체를 훑는 비용이 그대로 드러납니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailExtractionBenchmark {
+
+    @Param({"small", "large"})
+    private String page;
+
+    private final EmailExtractorService emailExtractor = new EmailExtractorService();
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = new BenchmarkData().pageText("large".equals(page) ? 4 * 1024 * 1024 : 8 * 1024);
+    }
+
+    @Benchmark
+    public List<String> extractEmailsFromText() {
+        return emailExtractor.extractEmailsFromText(text);
+    }
+
+    @Benchmark
+    public String findFirstValidEmail() {
+        return emailExtractor.findFirstValidEmail(text);
+    }
+}
@@ -0,0 +1,46 @@
+package com.emailcrawler.benchmarks;
+
+import com.emailcrawler.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이메일 유효성 검사 벤치마크 (유효/무효 후보를 섞어서 돌아가며 검사)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int CANDIDATE_COUNT = 1024; // 2의 거듭제곱 (인덱스 마스크용)
+
+    private String[] candidates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        candidates = new String[CANDIDATE_COUNT];
+        for (int i = 0; i < CANDIDATE_COUNT; i++) {
+            candidates[i] = data.emailCandidate();
+        }
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return ValidationUtils.isValidEmail(candidates[next++ & (CANDIDATE_COUNT - 1)]);
+    }
+}
@@ -0,0 +1,221 @@
+package com.emailcrawler.benchmarks.harness;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * 로컬 가상 웹 서버를 상대로 처리기 변형별 크롤링 처리량을 측정하는 부하 테스트
+ *
+ * 1. 가상 사이트(site-00001.bench.test ...)와 그에 맞는 입력 CSV, 정답 이메일을 만듦
+ * 2. 로컬 HTTP 서버를 띄우고 hosts 파일(jdk.net.hosts.file)로 모든 가상 호스트를 127.0.0.1에 연결
+ * 3. 변형마다 자식 JVM(VariantRunner)에서 처리기를 실행하고 사이트/분, 행별 처리 시간 p50/p99, 최대 힙을 수집
+ * 4. 결과 CSV의 이메일을 정답과 비교해 정확도도 함께 출력
+ *
+ * 사용법 (benchmarks에서 mvn package 후)
+ *   java -cp target/benchmarks.jar com.emailcrawler.benchmarks.harness.CrawlHarness \
+ *        --sites=2000 --latency-median-ms=80 --latency-p99-ms=1500 --variants=temp,temp-streaming,multi \
+ *        --jvm-args="-Xmx1g -Dcrawler.politeness.host-interval-ms=500"
+ *
+ * 결과는 작업 폴더(--work-dir, 기본 target/harness)의 harness-report.csv에도 저장됩니다.
+ */
+public class CrawlHarness {
+
+    public static void main(String[] args) throws Exception {
+        HarnessConfig config = HarnessConfig.parse(args);
+        Files.createDirectories(config.workDir);
+
+        // 1. 가상 사이트 생성
+        Map<String, SiteProfile> sites = new LinkedHashMap<>();
+        List<SiteProfile> profiles = new ArrayList<>();
+        for (int id = 1; id <= config.sites; id++) {
+            SiteProfile site = new SiteProfile(id, config);
+            sites.put(site.host, site);
+            profiles.add(site);
+        }
+
+        try (SyntheticWebServer server = new SyntheticWebServer(sites, config.latencyMedianMs, config.latencyP99Ms)) {
+            Path hostsFile = writeHostsFile(config.workDir, profiles);
+            List<String> expected = new ArrayList<>();
+            String inputCsv = buildInputCsv(config, profiles, server.getPort(), expected);
+
+            System.out.printf("🧪 가상 사이트 %,d개 (포트 %d) | 지연 중앙값 %.0fms, p99 %.0fms | 오류 %.0f%%, 429 %.0f%%%n",
+                    config.sites, server.getPort(), config.latencyMedianMs, config.latencyP99Ms,
+                    config.errorRate * 100, config.rateLimitRate * 100);
+
+            List<Properties> reports = new ArrayList<>();
+            for (String variant : config.variants) {
+                server.reset();
+                Properties report = runVariant(config, variant.trim(), inputCsv, hostsFile, expected);
+                report.setProperty("requests", String.valueOf(server.getRequestCount()));
+                report.setProperty("status-counts", new TreeMap<>(server.getStatusCounts()).toString());
+                reports.add(report);
+                printReport(report);
+            }
+
+            writeSummary(config.workDir.resolve("harness-report.csv"), reports);
+            System.out.println("💾 결과 저장: " + config.workDir.resolve("harness-report.csv").toAbsolutePath());
+        }
+    }
+
+    /**
+     * 모든 가상 호스트를 127.0.0.1로 연결하는 hosts 파일을 만듭니다.
+     */
+    private static Path writeHostsFile(Path workDir, List<SiteProfile> profiles) throws IOException {
+        Path hostsFile = workDir.resolve("hosts");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(hostsFile, StandardCharsets.US_ASCII))) {
+            for (SiteProfile site : profiles) {
+                out.println("127.0.0.1 " + site.host);
+            }
+        }
+        return hostsFile;
+    }
+
+    /**
+     * 입력 CSV 내용을 만들고 행별 정답 이메일을 채웁니다.
+     * 일부 행은 웹사이트가 비어 있거나, 앞에서 나온 사이트를 다시 가리킵니다. (중복 사이트)
+     */
+    private static String buildInputCsv(HarnessConfig config, List<SiteProfile> profiles, int port, List<String> expected) {
+        Random random = new Random(config.seed);
+        StringBuilder csv = new StringBuilder("Company,Website,Email,Phone\n");
+
+        for (int i = 0; i < profiles.size(); i++) {
+            double roll = random.nextDouble();
+            SiteProfile site;
+            if (roll < config.blankRate) {
+                site = null;
+            } else if (roll < config.blankRate + config.duplicateRate && i > 0) {
+                site = profiles.get(random.nextInt(i));
+            } else {
+                site = profiles.get(i);
+            }
+
+            csv.append("테스트회사").append(i + 1).append(',');
+            if (site != null) {
+                csv.append("http://").append(site.host).append(':').append(port).append('/');
+            }
+            csv.append(",,02-000-").append(String.format("%04d", i % 10000)).append('\n');
+            expected.add(site == null ? "X" : site.expectedEmail());
+        }
+        return csv.toString();
+    }
+
+    /**
+     * 자식 JVM에서 변형 하나를 실행하고 결과를 읽습니다.
+     */
+    private static Properties runVariant(HarnessConfig config, String variant, String inputCsv,
+                                         Path hostsFile, List<String> expected) throws Exception {
+        Path dir = config.workDir.resolve(variant);
+        Files.createDirectories(dir);
+        Path input = dir.resolve("input.csv");
+        Path output = dir.resolve("input_updated.csv");
+        Path reportFile = dir.resolve("report.properties");
+        Path log = dir.resolve("run.log");
+        Files.deleteIfExists(output);
+        Files.deleteIfExists(reportFile);
+        Files.writeString(input, inputCsv, StandardCharsets.UTF_8);
+
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(config.jvmArgs);
+        command.add("-Djdk.net.hosts.file=" + hostsFile.toAbsolutePath());
+        command.add("-Dcache.enabled=false");
+        command.add("-Dfile.encoding=UTF-8");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(VariantRunner.class.getName());
+        command.add(variant);
+        command.add(input.toAbsolutePath().toString());
+        command.add(reportFile.toAbsolutePath().toString());
+
+        System.out.printf("%n▶️ %s 실행 중... (로그: %s)%n", variant, log.toAbsolutePath());
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        int exitCode = process.waitFor();
+
+        if (exitCode != 0 || !Files.exists(reportFile)) {
+            throw new IllegalStateException(variant + " 실행 실패 (종료 코드 " + exitCode + "), 로그: " + log.toAbsolutePath());
+        }
+
+        Properties report = new Properties();
+        try (InputStream in = Files.newInputStream(reportFile)) {
+            report.load(in);
+        }
+        report.setProperty("accuracy", String.format("%.4f", accuracy(output, expected, dir.resolve("mismatches.csv"))));
+        return report;
+    }
+
+    /**
+     * 결과 CSV의 Email 컬럼이 정답과 일치하는 행의 비율 (틀린 행은 mismatches 파일에 기록)
+     */
+    private static double accuracy(Path output, List<String> expected, Path mismatches) throws IOException {
+        if (!Files.exists(output) || expected.isEmpty()) {
+            return 0;
+        }
+
+        int matched = 0;
+        try (BufferedReader reader = Files.newBufferedReader(output, StandardCharsets.UTF_8);
+             PrintWriter misses = new PrintWriter(Files.newBufferedWriter(mismatches, StandardCharsets.UTF_8))) {
+            reader.readLine(); // 헤더
+            misses.println("row,website,expected,actual");
+            for (int i = 0; i < expected.size(); i++) {
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                // 생성한 입력에는 따옴표가 필요한 필드가 없음 (Company,Website,Email,Phone)
+                String[] fields = line.split(",", -1);
+                String actual = fields.length > 2 ? fields[2] : "";
+                if (actual.equalsIgnoreCase(expected.get(i))) {
+                    matched++;
+                } else {
+                    misses.println((i + 1) + "," + fields[1] + "," + expected.get(i) + "," + actual);
+                }
+            }
+        }
+        return (double) matched / expected.size();
+    }
+
+    private static void printReport(Properties report) {
+        int rows = Integer.parseInt(report.getProperty("rows"));
+        long elapsedMs = Long.parseLong(report.getProperty("elapsed-ms"));
+        double sitesPerMinute = elapsedMs > 0 ? rows * 60_000.0 / elapsedMs : 0;
+        report.setProperty("sites-per-minute", String.format("%.1f", sitesPerMinute));
+
+        System.out.printf("📊 %-15s %,d행 | %,.1f 사이트/분 | 행 처리 p50 %sms, p99 %sms | 최대 힙 %,dMB | 정확도 %.1f%% | 요청 %s %s%n",
+                report.getProperty("variant"), rows, sitesPerMinute,
+                report.getProperty("latency-p50-ms"), report.getProperty("latency-p99-ms"),
+                Long.parseLong(report.getProperty("peak-heap-bytes")) / (1024 * 1024),
+                Double.parseDouble(report.getProperty("accuracy")) * 100,
+                report.getProperty("requests"), report.getProperty("status-counts"));
+    }
+
+    private static void writeSummary(Path file, List<Properties> reports) throws IOException {
+        String[] columns = {"variant", "rows", "elapsed-ms", "sites-per-minute", "latency-p50-ms", "latency-p90-ms",
+                "latency-p99-ms", "latency-max-ms", "peak-heap-bytes", "accuracy", "requests"};
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println(String.join(",", columns));
+            for (Properties report : reports) {
+                List<String> values = new ArrayList<>();
+                for (String column : columns) {
+                    values.add(report.getProperty(column, ""));
+                }
+                out.println(String.join(",", values));
+            }
+        }
+    }
+}
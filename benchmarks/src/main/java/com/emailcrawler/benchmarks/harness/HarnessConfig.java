@@ -0,0 +1,81 @@
+package com.emailcrawler.benchmarks.harness;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정 (--key=value 인자)
+ */
+final class HarnessConfig {
+
+    final int sites;
+    final long seed;
+    final double latencyMedianMs;
+    final double latencyP99Ms;
+    final int pageKb;
+    final double largePageRate;
+    final int largePageKb;
+    final double errorRate;
+    final double rateLimitRate;
+    final double duplicateRate;
+    final double blankRate;
+    final Map<Placement, Integer> placementWeights;
+    final List<String> variants;
+    final List<String> jvmArgs;
+    final Path workDir;
+
+    private HarnessConfig(Map<String, String> options) {
+        this.sites = Integer.parseInt(options.getOrDefault("sites", "2000"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.latencyMedianMs = Double.parseDouble(options.getOrDefault("latency-median-ms", "80"));
+        this.latencyP99Ms = Double.parseDouble(options.getOrDefault("latency-p99-ms", "1500"));
+        this.pageKb = Integer.parseInt(options.getOrDefault("page-kb", "24"));
+        this.largePageRate = Double.parseDouble(options.getOrDefault("large-page-rate", "0.02"));
+        this.largePageKb = Integer.parseInt(options.getOrDefault("large-page-kb", "3072"));
+        this.errorRate = Double.parseDouble(options.getOrDefault("error-rate", "0.05"));
+        this.rateLimitRate = Double.parseDouble(options.getOrDefault("rate-limit-rate", "0.01"));
+        this.duplicateRate = Double.parseDouble(options.getOrDefault("duplicate-rate", "0.05"));
+        this.blankRate = Double.parseDouble(options.getOrDefault("blank-rate", "0.02"));
+        this.placementWeights = parsePlacements(options.getOrDefault("placement", "mailto=30,footer=30,contact=20,obfuscated=5,none=15"));
+        this.variants = Arrays.asList(options.getOrDefault("variants", "temp,temp-streaming,multi").split(","));
+        String jvmArgs = options.getOrDefault("jvm-args", "-Xmx1g");
+        this.jvmArgs = jvmArgs.isBlank() ? List.of() : Arrays.asList(jvmArgs.trim().split("\\s+"));
+        this.workDir = Paths.get(options.getOrDefault("work-dir", "target/harness"));
+    }
+
+    static HarnessConfig parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + arg + " (--key=value 형식)");
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new HarnessConfig(options);
+    }
+
+    private static Map<Placement, Integer> parsePlacements(String spec) {
+        Map<Placement, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.split("=");
+            weights.put(Placement.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * 사이트 안에서 이메일이 있는 위치
+     */
+    enum Placement {
+        MAILTO,     // 첫 페이지 위쪽 mailto 링크
+        FOOTER,     // 첫 페이지 맨 아래 텍스트
+        CONTACT,    // 첫 페이지에는 없고 /contact 페이지에 있음 (연락처 페이지 탐색 필요)
+        OBFUSCATED, // 첫 페이지 맨 아래 "info (at) example.com" 형식
+        NONE        // 어디에도 없음
+    }
+}
@@ -0,0 +1,137 @@
+package com.emailcrawler.benchmarks.harness;
+
+import com.emailcrawler.benchmarks.harness.HarnessConfig.Placement;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 가상 사이트 하나의 동작 (응답 지연, 페이지 크기, 이메일 위치, 오류)
+ *
+ * 시드와 사이트 번호로 정해지므로 같은 설정이면 실행마다 같은 사이트가 만들어집니다.
+ */
+final class SiteProfile {
+
+    private static final String[] WORDS = {
+            "회사소개", "오시는길", "고객센터", "제품", "서비스", "공지사항", "개인정보처리방침", "채용",
+            "Copyright", "All", "rights", "reserved", "Tel", "Fax", "주소", "서울특별시", "강남구", "테헤란로",
+            "대표", "사업자등록번호", "home", "about", "news", "login", "menu", "search", "2024", "1588-0000"
+    };
+
+    final int id;
+    final String host;
+    final Placement placement;
+    final int pageBytes;
+    final int errorStatus;      // 0이면 정상, 아니면 모든 요청에 이 상태 코드로 응답
+    final boolean rateLimited;  // 첫 요청에 429 + Retry-After로 응답
+
+    SiteProfile(int id, HarnessConfig config) {
+        // 연속된 시드는 첫 난수들이 비슷하게 나오므로 비트를 섞어서 사용
+        Random random = new Random((config.seed * 0x9E3779B97F4A7C15L) ^ (id * 0xC2B2AE3D27D4EB4FL));
+        this.id = id;
+        this.host = String.format("site-%05d.bench.test", id);
+        this.placement = pickPlacement(random, config.placementWeights);
+        this.pageBytes = (random.nextDouble() < config.largePageRate ? config.largePageKb : config.pageKb) * 1024;
+
+        double roll = random.nextDouble();
+        if (roll < config.errorRate) {
+            this.errorStatus = random.nextBoolean() ? 500 : 404;
+            this.rateLimited = false;
+        } else {
+            this.errorStatus = 0;
+            this.rateLimited = roll < config.errorRate + config.rateLimitRate;
+        }
+    }
+
+    /**
+     * 크롤러가 찾아야 하는 이메일 (찾을 수 없는 사이트는 "X")
+     */
+    String expectedEmail() {
+        if (errorStatus != 0 || placement == Placement.NONE) {
+            return "X";
+        }
+        return (placement == Placement.CONTACT ? "contact@" : "info@") + host;
+    }
+
+    String indexPage() {
+        StringBuilder html = open("홈");
+        html.append("<nav><a href=\"/about\">회사소개</a> <a href=\"/products\">제품</a>");
+        if (placement == Placement.CONTACT) {
+            html.append(" <a href=\"/contact\">문의하기</a>");
+        }
+        html.append("</nav>\n");
+        if (placement == Placement.MAILTO) {
+            html.append("<p><a href=\"mailto:info@").append(host).append("\">메일 문의</a></p>\n");
+        }
+
+        appendFiller(html, pageBytes);
+
+        html.append("<footer>").append(host).append(" | Tel 02-123-4567");
+        if (placement == Placement.FOOTER) {
+            html.append(" | 대표메일 info@").append(host);
+        } else if (placement == Placement.OBFUSCATED) {
+            html.append(" | 대표메일 info (at) ").append(host);
+        }
+        html.append("</footer>\n");
+        return close(html);
+    }
+
+    String contactPage() {
+        StringBuilder html = open("문의하기");
+        appendFiller(html, 4 * 1024);
+        if (placement == Placement.CONTACT) {
+            html.append("<p>이메일: contact@").append(host).append("</p>\n");
+        }
+        return close(html);
+    }
+
+    String plainPage(String title) {
+        StringBuilder html = open(title);
+        appendFiller(html, 8 * 1024);
+        return close(html);
+    }
+
+    private StringBuilder open(String title) {
+        StringBuilder html = new StringBuilder(pageBytes + 1024);
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>")
+                .append(title).append(" - ").append(host).append("</title></head>\n<body>\n");
+        return html;
+    }
+
+    private String close(StringBuilder html) {
+        return html.append("</body></html>\n").toString();
+    }
+
+    /**
+     * 대략 지정한 바이트 수(UTF-8 기준)가 되도록 본문 문단을 채웁니다. (이미지 파일명 같은 가짜 이메일 포함)
+     */
+    private void appendFiller(StringBuilder html, int bytes) {
+        Random random = new Random(id);
+        int approxBytes = 0;
+        while (approxBytes < bytes) {
+            int start = html.length();
+            html.append("<p>");
+            for (int i = 0; i < 40; i++) {
+                if (random.nextInt(400) == 0) {
+                    html.append("<img src=\"logo@2x.png\"> logo@2x.png ");
+                } else {
+                    html.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                }
+            }
+            html.append("</p>\n");
+            approxBytes += (html.length() - start) * 2; // 한글이 섞여 있으므로 문자당 약 2바이트로 계산
+        }
+    }
+
+    private static Placement pickPlacement(Random random, Map<Placement, Integer> weights) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Placement, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Placement.NONE;
+    }
+}
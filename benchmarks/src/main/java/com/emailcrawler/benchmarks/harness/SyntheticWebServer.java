@@ -0,0 +1,164 @@
+package com.emailcrawler.benchmarks.harness;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 호스트 여러 개를 흉내 내는 로컬 HTTP 서버
+ *
+ * 모든 가상 호스트 이름은 hosts 파일(jdk.net.hosts.file)로 127.0.0.1에 연결하고,
+ * 요청의 Host 헤더로 어느 사이트인지 구분합니다.
+ * 응답 지연은 중앙값과 p99로 정한 로그정규분포를 따릅니다. (요청마다 스레드 하나가 대기)
+ */
+final class SyntheticWebServer implements AutoCloseable {
+
+    private static final double Z_99 = 2.3263; // 표준정규분포 99% 분위수
+    private static final long MAX_LATENCY_MS = 30_000;
+
+    private final Map<String, SiteProfile> sites;
+    private final double latencyMedianMs;
+    private final double latencySigma;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    // 실행(변형)마다 초기화하는 통계와 상태
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> statusCounts = new ConcurrentHashMap<>();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    SyntheticWebServer(Map<String, SiteProfile> sites, double latencyMedianMs, double latencyP99Ms) throws IOException {
+        this.sites = sites;
+        this.latencyMedianMs = latencyMedianMs;
+        this.latencySigma = latencyP99Ms > latencyMedianMs ? Math.log(latencyP99Ms / latencyMedianMs) / Z_99 : 0;
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "synthetic-web");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * 통계와 사이트별 요청 횟수(429 응답 여부)를 초기화합니다.
+     */
+    void reset() {
+        hits.clear();
+        statusCounts.clear();
+        bytesSent.set(0);
+    }
+
+    int getRequestCount() {
+        return statusCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    Map<Integer, AtomicInteger> getStatusCounts() {
+        return statusCounts;
+    }
+
+    long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            SiteProfile site = sites.get(hostOf(exchange));
+            if (site == null) {
+                send(exchange, 404, "unknown host");
+                return;
+            }
+
+            sleep(sampleLatencyMs());
+
+            int hit = hits.computeIfAbsent(site.host, h -> new AtomicInteger()).incrementAndGet();
+            if (site.errorStatus != 0) {
+                send(exchange, site.errorStatus, "error");
+            } else if (site.rateLimited && hit == 1) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 429, "too many requests");
+            } else {
+                String path = exchange.getRequestURI().getPath();
+                switch (path) {
+                    case "/":
+                    case "/index.html":
+                        send(exchange, 200, site.indexPage());
+                        break;
+                    case "/contact":
+                        send(exchange, 200, site.contactPage());
+                        break;
+                    case "/about":
+                    case "/products":
+                        send(exchange, 200, site.plainPage(path.substring(1)));
+                        break;
+                    default:
+                        send(exchange, 404, "not found");
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        statusCounts.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+        try {
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+            bytesSent.addAndGet(bytes.length);
+        } catch (IOException e) {
+            // 크롤러가 이메일을 찾고 나머지 다운로드를 취소한 경우
+        }
+    }
+
+    private long sampleLatencyMs() {
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        return Math.min(MAX_LATENCY_MS, Math.round(latencyMedianMs * Math.exp(latencySigma * gaussian)));
+    }
+
+    private static String hostOf(HttpExchange exchange) {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host == null) {
+            return "";
+        }
+        int colon = host.lastIndexOf(':');
+        return (colon > 0 ? host.substring(0, colon) : host).toLowerCase();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
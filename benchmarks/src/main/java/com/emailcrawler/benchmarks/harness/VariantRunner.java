@@ -0,0 +1,156 @@
+package com.emailcrawler.benchmarks.harness;
+
+import com.emailcrawler.model.CsvRow;
+import com.emailcrawler.service.CrawlListener;
+import com.emailcrawler.service.CsvProcessorService;
+import com.emailcrawler.service.MultiThreadCsvProcessorService;
+import com.emailcrawler.service.MultiThreadCsvProcessorService_Temp;
+import com.emailcrawler.service.ShardedCrawlCoordinator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 처리기 변형 하나를 실행하고 측정값을 파일로 남기는 자식 JVM 진입점 (CrawlHarness가 실행)
+ *
+ * 인자: 변형 이름, 입력 CSV 경로, 결과 properties 파일 경로
+ *   single          CsvProcessorService
+ *   multi           MultiThreadCsvProcessorService
+ *   temp            MultiThreadCsvProcessorService_Temp (배치)
+ *   temp-streaming  MultiThreadCsvProcessorService_Temp (스트리밍)
+ *   temp-sharded    ShardedCrawlCoordinator (작업자 JVM -Dharness.shards개, 기본 2)
+ *                   행 처리는 작업자 JVM에서 일어나므로 행별 처리 시간은 수집하지 않고 행 수는 입력 행 수 사용
+ */
+public class VariantRunner {
+
+    private static final long HEAP_SAMPLE_MS = 20;
+
+    public static void main(String[] args) throws Exception {
+        String variant = args[0];
+        String csvPath = args[1];
+        String reportPath = args[2];
+
+        LatencyRecorder latencies = new LatencyRecorder();
+        AtomicLong peakHeap = new AtomicLong();
+        Thread heapSampler = startHeapSampler(peakHeap);
+
+        long start = System.nanoTime();
+        run(variant, csvPath, latencies);
+        long elapsedNanos = System.nanoTime() - start;
+        heapSampler.interrupt();
+
+        long[] sorted = latencies.sorted();
+        Properties report = new Properties();
+        report.setProperty("variant", variant);
+        report.setProperty("rows", String.valueOf(variant.equals("temp-sharded") ? countDataRows(csvPath) : sorted.length));
+        report.setProperty("elapsed-ms", String.valueOf(elapsedNanos / 1_000_000));
+        report.setProperty("latency-p50-ms", String.valueOf(percentileMs(sorted, 0.50)));
+        report.setProperty("latency-p90-ms", String.valueOf(percentileMs(sorted, 0.90)));
+        report.setProperty("latency-p99-ms", String.valueOf(percentileMs(sorted, 0.99)));
+        report.setProperty("latency-max-ms", String.valueOf(percentileMs(sorted, 1.0)));
+        report.setProperty("peak-heap-bytes", String.valueOf(peakHeap.get()));
+        try (OutputStream out = Files.newOutputStream(Paths.get(reportPath))) {
+            report.store(out, "crawl harness variant report");
+        }
+
+        System.exit(0); // 처리기가 남긴 비데몬 스레드가 있어도 종료
+    }
+
+    private static void run(String variant, String csvPath, CrawlListener listener) throws Exception {
+        switch (variant) {
+            case "single": {
+                CsvProcessorService processor = new CsvProcessorService();
+                processor.setCrawlListener(listener);
+                processor.processCsvFile(csvPath);
+                break;
+            }
+            case "multi": {
+                MultiThreadCsvProcessorService processor = new MultiThreadCsvProcessorService();
+                processor.setCrawlListener(listener);
+                processor.processCsvFile(csvPath);
+                break;
+            }
+            case "temp": {
+                MultiThreadCsvProcessorService_Temp processor = new MultiThreadCsvProcessorService_Temp();
+                processor.setCrawlListener(listener);
+                processor.processCsvFile(csvPath);
+                break;
+            }
+            case "temp-streaming": {
+                MultiThreadCsvProcessorService_Temp processor = new MultiThreadCsvProcessorService_Temp();
+                processor.setCrawlListener(listener);
+                processor.processCsvFileStreaming(csvPath);
+                break;
+            }
+            case "temp-sharded":
+                ShardedCrawlCoordinator.runLocal(csvPath, Integer.getInteger("harness.shards", 2), false);
+                break;
+            default:
+                throw new IllegalArgumentException("알 수 없는 변형: " + variant);
+        }
+    }
+
+    /**
+     * 힙 사용량을 주기적으로 읽어 최댓값을 기록합니다. (GC 직전 값을 놓칠 수 있으므로 근삿값)
+     */
+    private static Thread startHeapSampler(AtomicLong peakHeap) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(HEAP_SAMPLE_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "heap-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+        return sampler;
+    }
+
+    private static long countDataRows(String csvPath) throws IOException {
+        try (Stream<String> lines = Files.lines(Paths.get(csvPath))) {
+            return Math.max(0, lines.count() - 1);
+        }
+    }
+
+    private static long percentileMs(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, Math.min(sortedNanos.length - 1, index))] / 1_000_000;
+    }
+
+    /**
+     * 행별 처리 시간을 모으는 리스너
+     */
+    private static class LatencyRecorder implements CrawlListener {
+        private long[] nanos = new long[1024];
+        private int size = 0;
+
+        @Override
+        public synchronized void onRowCompleted(CsvRow row, long elapsedNanos) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = elapsedNanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 
 package com.emailcrawler;
 
+import com.emailcrawler.service.CrawlMetrics;
 import com.emailcrawler.service.CsvProcessorService;
 import com.emailcrawler.service.MultiThreadCsvProcessorService;
 import com.emailcrawler.service.MultiThreadCsvProcessorService_Temp;
+import com.emailcrawler.service.ShardedCrawlCoordinator;
+import com.emailcrawler.util.AppConfig;
 
 import java.util.Scanner;
 
@@ -19,10 +22,49 @@ public class Main {
 
         Scanner scanner = new Scanner(System.in);
 
+        // 실행 인자: [CSV 파일 경로] [--resume] [--shards=N | --shard-worker=K/N | --merge-shards=N]
+        boolean resume = false;
+        String csvPath = "";
+        int shards = 1;          // --shards=N : 작업자 JVM N개를 실행하고 병합까지 진행
+        int shardIndex = -1;     // --shard-worker=K/N : 샤드 K만 크롤링 (여러 노드에서 나눠 실행할 때)
+        int mergeShards = 0;     // --merge-shards=N : 작업자들의 부분 결과만 병합
+        for (String arg : args) {
+            boolean valid = true;
+            if ("--resume".equals(arg)) {
+                resume = true;
+            } else if (arg.startsWith("--shards=")) {
+                shards = parseNumber(arg.substring("--shards=".length()), 1);
+                valid = shards > 0;
+            } else if (arg.startsWith("--shard-worker=")) {
+                String[] spec = arg.substring("--shard-worker=".length()).split("/", -1);
+                shardIndex = spec.length == 2 ? parseNumber(spec[0], 0) : -1;
+                shards = spec.length == 2 ? parseNumber(spec[1], 1) : -1;
+                valid = shardIndex >= 0 && shards > 0 && shardIndex < shards;
+            } else if (arg.startsWith("--merge-shards=")) {
+                mergeShards = parseNumber(arg.substring("--merge-shards=".length()), 1);
+                valid = mergeShards > 0;
+            } else if (arg.startsWith("--")) {
+                valid = false; // 알 수 없는 옵션 (오타)
+            } else if (csvPath.isEmpty()) {
+                csvPath = arg.trim();
+            }
+
+            if (!valid) {
+                System.out.println("❌ 잘못된 실행 인자입니다: " + arg);
+                System.out.println("💡 사용법: [CSV 파일 경로] [--resume] [--shards=N | --shard-worker=K/N | --merge-shards=N]"
+                        + " (N은 1 이상, K는 0 ~ N-1)");
+                System.exit(2);
+            }
+        }
+
+        boolean failed = false;
+
         try {
             // CSV 파일 경로 입력
-            System.out.print("📁 CSV 파일 경로를 입력하세요: ");
-            String csvPath = scanner.nextLine().trim();
+            if (csvPath.isEmpty()) {
+                System.out.print("📁 CSV 파일 경로를 입력하세요: ");
+                csvPath = scanner.nextLine().trim();
+            }
 
             if (csvPath.isEmpty()) {
                 System.out.println("❌ 파일 경로가 입력되지 않았습니다.");
@@ -31,16 +73,56 @@ public class Main {
 
             // CSV 처리 서비스 실행 
             //CsvProcessorService : 싱글 스레드 --> MultiThreadCsvProcessorService : 멀티 스레드(동시 실행 스레드 5개/ 대기 시간 200ms)
-            MultiThreadCsvProcessorService_Temp processor = new MultiThreadCsvProcessorService_Temp();
-            processor.processCsvFile(csvPath);
+            if (mergeShards > 0) {
+                // 샤드 병합: 작업자들의 부분 결과를 원래 행 순서대로 모아 저장
+                new MultiThreadCsvProcessorService_Temp().mergeShards(csvPath, mergeShards);
+                return;
+            }
+            if (shardIndex < 0 && shards > 1) {
+                // 샤드 모드: 작업자 JVM을 실행하고 끝나면 병합
+                ShardedCrawlCoordinator.runLocal(csvPath, shards, resume);
+                return;
+            }
+
+            MultiThreadCsvProcessorService_Temp processor = shardIndex >= 0
+                    ? new MultiThreadCsvProcessorService_Temp(shardIndex, shards)
+                    : new MultiThreadCsvProcessorService_Temp();
+            processor.setResume(resume); // --resume: 이전 실행의 저널에 있는 행은 건너뜀
+            if (shardIndex < 0 && AppConfig.getBoolean("crawler.streaming", false)) {
+                // 스트리밍 모드: 행을 순서대로 바로 기록 (대용량 파일용)
+                processor.processCsvFileStreaming(csvPath);
+            } else {
+                processor.processCsvFile(csvPath);
+            }
 
         } catch (Exception e) {
             System.err.println("❌ 프로그램 실행 중 오류가 발생했습니다: " + e.getMessage());
             e.printStackTrace();
+            failed = true;
         } finally {
             scanner.close();
+            CrawlMetrics.stopEndpoint(); // 메트릭 엔드포인트를 열었으면 닫음
         }
 
         System.out.println("\n👋 프로그램이 종료되었습니다.");
+        if (failed && shardIndex >= 0) {
+            System.exit(1); // 샤드 작업자 실패를 실행한 쪽에 알림
+        }
+    }
+
+    /**
+     * 실행 인자의 숫자 값을 읽습니다.
+     *
+     * @param value 숫자 문자열
+     * @param min   허용하는 최솟값
+     * @return 읽은 값, 숫자가 아니거나 최솟값보다 작으면 -1
+     */
+    private static int parseNumber(String value, int min) {
+        try {
+            int number = Integer.parseInt(value.trim());
+            return number >= min ? number : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.emailcrawler.model;
+
+/**
+ * 웹사이트 한 곳의 크롤링 결과
+ */
+public class CrawlResult {
+    private final String email;
+    private final FetchOutcome outcome;
+    private final int statusCode;
+    private final long retryAfterMs;
+
+    public CrawlResult(String email, FetchOutcome outcome, int statusCode, long retryAfterMs) {
+        this.email = email == null ? "" : email;
+        this.outcome = outcome;
+        this.statusCode = statusCode;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public static CrawlResult found(String email, int statusCode) {
+        return new CrawlResult(email, FetchOutcome.FOUND, statusCode, 0);
+    }
+
+    public static CrawlResult failed(FetchOutcome outcome, int statusCode) {
+        return new CrawlResult("", outcome, statusCode, 0);
+    }
+
+    /** HTTP 오류 응답 (상태 코드로 일시적인 오류인지 구분) */
+    public static CrawlResult httpError(int statusCode, long retryAfterMs) {
+        return new CrawlResult("", FetchOutcome.ofHttpStatus(statusCode), statusCode, retryAfterMs);
+    }
+
+    /** 발견된 이메일, 없으면 빈 문자열 */
+    public String getEmail() { return email; }
+
+    /** 결과 종류 */
+    public FetchOutcome getOutcome() { return outcome; }
+
+    /** HTTP 상태 코드, 응답을 받지 못했으면 0 */
+    public int getStatusCode() { return statusCode; }
+
+    /** Retry-After 헤더로 요청받은 대기 시간 (ms), 없으면 0 */
+    public long getRetryAfterMs() { return retryAfterMs; }
+
+    public boolean hasEmail() { return !email.isEmpty(); }
+
+    /** 연결된 뒤 응답 대기 시간 초과로 실패했는지 여부 (과부하 신호) */
+    public boolean isTimedOut() { return outcome == FetchOutcome.TIMEOUT; }
+
+    /**
+     * 서버가 요청 속도를 낮추라고 응답했는지 여부 (429, 또는 Retry-After가 있는 503)
+     */
+    public boolean isRateLimited() {
+        return statusCode == 429 || (statusCode == 503 && retryAfterMs > 0);
+    }
+
+    @Override
+    public String toString() {
+        return "CrawlResult{" +
+                "email='" + email + '\'' +
+                ", outcome=" + outcome +
+                ", statusCode=" + statusCode +
+                ", retryAfterMs=" + retryAfterMs +
+                '}';
+    }
+}
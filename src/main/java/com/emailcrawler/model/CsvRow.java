@@ -3,9 +3,15 @@ package com.emailcrawler.model;
 
 /**
  * CSV 행 데이터를 담는 모델 클래스
+ *
+ * 원본 레코드 문자열과 각 필드의 끝 위치만 보관하고, 필드 값은 필요할 때 꺼냅니다.
+ * (Company/Website/Email 컬럼만 미리 문자열로 만들어 둠)
+ * 저장할 때는 원본 레코드를 그대로 복사하고 Email 필드만 바꿔 끼웁니다.
  */
 public class CsvRow {
-    private String[] values;
+    private String record;       // 원본 레코드 (줄바꿈 제외)
+    private int[] fieldEnds;     // 각 필드의 끝 위치 (다음 필드는 끝 위치 + 1의 쉼표 다음부터)
+    private String[] values;     // 배열로 만든 행인 경우에만 사용 (record가 null)
     private boolean isHeader;
     private String company = "";
     private String website = "";
@@ -20,9 +26,75 @@ public class CsvRow {
         this.isHeader = isHeader;
     }
 
+    /**
+     * @param record    원본 레코드 (줄바꿈 제외)
+     * @param fieldEnds 각 필드의 끝 위치 (빈 레코드면 길이 0)
+     */
+    public CsvRow(String record, int[] fieldEnds, boolean isHeader) {
+        this.record = record;
+        this.fieldEnds = fieldEnds;
+        this.isHeader = isHeader;
+    }
+
     // Getters and Setters
-    public String[] getValues() { return values.clone(); }
-    public void setValues(String[] values) { this.values = values.clone(); }
+    public String[] getValues() {
+        if (record == null) {
+            return values.clone();
+        }
+        String[] decoded = new String[fieldEnds.length];
+        for (int i = 0; i < decoded.length; i++) {
+            decoded[i] = getValue(i);
+        }
+        return decoded;
+    }
+
+    public void setValues(String[] values) {
+        this.values = values.clone();
+        this.record = null;
+        this.fieldEnds = null;
+    }
+
+    /**
+     * 필드 수
+     */
+    public int getFieldCount() {
+        return record == null ? values.length : fieldEnds.length;
+    }
+
+    /**
+     * 필드 값을 꺼냅니다. (따옴표 해제, 앞뒤 공백 제거)
+     *
+     * @param index 0부터 시작하는 컬럼 번호
+     * @return 필드 값, 범위를 벗어나면 빈 문자열
+     */
+    public String getValue(int index) {
+        if (index < 0 || index >= getFieldCount()) {
+            return "";
+        }
+        if (record == null) {
+            return values[index];
+        }
+        return decodeField(record, getFieldStart(index), fieldEnds[index]);
+    }
+
+    /**
+     * 원본 레코드 (배열로 만든 행이면 null)
+     */
+    public String getRecord() { return record; }
+
+    /**
+     * 원본 레코드에서 필드가 시작하는 위치 (따옴표, 공백 포함)
+     */
+    public int getFieldStart(int index) {
+        return index == 0 ? 0 : fieldEnds[index - 1] + 1;
+    }
+
+    /**
+     * 원본 레코드에서 필드가 끝나는 위치 (배타적)
+     */
+    public int getFieldEnd(int index) {
+        return fieldEnds[index];
+    }
 
     public boolean isHeader() { return isHeader; }
     public void setHeader(boolean header) { isHeader = header; }
@@ -48,6 +120,48 @@ public class CsvRow {
     public int getEmailCol() { return emailCol; }
     public void setEmailCol(int emailCol) { this.emailCol = emailCol; }
 
+    /**
+     * CSV 필드 하나를 값으로 바꿉니다.
+     * 따옴표는 여닫는 표시로만 쓰고, 따옴표 안의 ""는 " 하나로 바꾼 뒤 앞뒤 공백을 제거합니다.
+     *
+     * @param text  필드가 들어 있는 텍스트
+     * @param start 필드 시작 위치
+     * @param end   필드 끝 위치 (배타적)
+     * @return 필드 값
+     */
+    public static String decodeField(CharSequence text, int start, int end) {
+        // 따옴표가 없으면 공백만 제거
+        boolean quoted = false;
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == '"') {
+                quoted = true;
+                break;
+            }
+        }
+        if (!quoted) {
+            while (start < end && text.charAt(start) <= ' ') start++;
+            while (end > start && text.charAt(end - 1) <= ' ') end--;
+            return text.subSequence(start, end).toString();
+        }
+
+        StringBuilder field = new StringBuilder(end - start);
+        boolean inQuotes = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                if (inQuotes && i + 1 < end && text.charAt(i + 1) == '"') {
+                    field.append('"'); // 이스케이프된 따옴표 ""
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else {
+                field.append(c);
+            }
+        }
+        return field.toString().trim();
+    }
+
     @Override
     public String toString() {
         return "CsvRow{" +
@@ -0,0 +1,105 @@
+package com.emailcrawler.model;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
+import javax.net.ssl.SSLException;
+
+/**
+ * 사이트 한 곳을 크롤링한 결과 종류
+ *
+ * - transient : 잠시 뒤 다시 요청하면 성공할 수 있는 실패 (재시도 대상)
+ * - deadHost  : 호스트(또는 도메인)가 응답할 수 없는 상태라 같은 호스트의 다음 행도 실패할 실패 (음성 캐시 대상)
+ *               둘 다 해당하면(연결 시간 초과) 우리 쪽 부하 때문일 수 있으므로 연속으로 여러 번 실패해야 음성 캐시에 기록
+ */
+public enum FetchOutcome {
+    FOUND(false, false),              // 이메일 발견
+    NOT_FOUND(false, false),          // 페이지는 받았지만 이메일 없음
+    SKIPPED(false, false),            // HTML이 아니거나 빈 본문
+    HTTP_ERROR(false, false),         // 404 등 다시 요청해도 같을 HTTP 오류
+    HTTP_TRANSIENT(true, false),      // 429, 500, 502, 503, 504
+    TIMEOUT(true, false),             // 연결 후 응답 대기 시간 초과
+    NETWORK_ERROR(true, false),       // 연결 끊김/리셋 등 일시적인 네트워크 오류
+    CONNECT_TIMEOUT(true, true),      // 연결 시간 초과 (응답하지 않는 호스트, 또는 우리 쪽 과부하)
+    CONNECTION_REFUSED(false, true),  // 연결 거부 / 호스트에 도달할 수 없음
+    TLS_ERROR(false, true),           // TLS 핸드셰이크/인증서 오류
+    DNS_FAILURE(false, true),         // 호스트 이름을 찾을 수 없음 (NXDOMAIN)
+    ERROR(false, false);              // 기타 오류
+
+    private final boolean transientFailure;
+    private final boolean deadHost;
+
+    FetchOutcome(boolean transientFailure, boolean deadHost) {
+        this.transientFailure = transientFailure;
+        this.deadHost = deadHost;
+    }
+
+    /** 재시도하면 성공할 수 있는 실패인지 여부 */
+    public boolean isTransient() { return transientFailure; }
+
+    /** 같은 호스트의 다음 요청도 실패할 것으로 보는 실패인지 여부 */
+    public boolean isDeadHost() { return deadHost; }
+
+    /** 로그/메트릭용 이름 (예: dns_failure) */
+    public String label() { return name().toLowerCase(Locale.ROOT); }
+
+    /**
+     * HTTP 오류 상태 코드를 분류합니다.
+     */
+    public static FetchOutcome ofHttpStatus(int statusCode) {
+        switch (statusCode) {
+            case 429:
+            case 500:
+            case 502:
+            case 503:
+            case 504:
+                return HTTP_TRANSIENT;
+            default:
+                return HTTP_ERROR;
+        }
+    }
+
+    /**
+     * 요청 실패 예외를 분류합니다. (원인 예외까지 확인하고, 구체적인 종류가 없으면 I/O 오류는 NETWORK_ERROR)
+     * 이름 조회 실패는 ConnectException 안에 원인으로 들어 있는 경우가 있어 먼저 확인합니다.
+     */
+    public static FetchOutcome ofException(Throwable error) {
+        for (Throwable e = error; e != null && e.getCause() != e; e = e.getCause()) {
+            if (e instanceof UnknownHostException || e instanceof UnresolvedAddressException) {
+                return DNS_FAILURE;
+            }
+        }
+
+        boolean io = false;
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof HttpConnectTimeoutException) {
+                return CONNECT_TIMEOUT;
+            }
+            if (e instanceof SocketTimeoutException) {
+                String message = e.getMessage();
+                return message != null && message.toLowerCase(Locale.ROOT).contains("connect") ? CONNECT_TIMEOUT : TIMEOUT;
+            }
+            if (e instanceof HttpTimeoutException || e instanceof TimeoutException) {
+                return TIMEOUT;
+            }
+            if (e instanceof ConnectException || e instanceof NoRouteToHostException) {
+                return CONNECTION_REFUSED;
+            }
+            if (e instanceof SSLException) {
+                return TLS_ERROR;
+            }
+            io |= e instanceof IOException;
+            if (e.getCause() == e) {
+                break;
+            }
+        }
+        return io ? NETWORK_ERROR : ERROR;
+    }
+}
@@ -0,0 +1,147 @@
+package com.emailcrawler.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 웹페이지 요청의 응답 (상태 코드, 최종 URL, 헤더, 본문 스트림)
+ *
+ * 본문은 헤더를 받은 시점에 아직 다 내려받지 않은 스트림일 수 있습니다.
+ * 필요한 만큼만 읽고 close() 하면 나머지 다운로드는 취소됩니다.
+ */
+public class FetchResponse implements Closeable {
+    private final int statusCode;
+    private final String finalUrl;
+    private final Map<String, List<String>> headers;
+    private final InputStream bodyStream;
+    private byte[] body; // getBody()로 전부 읽은 경우에만 채워짐
+
+    public FetchResponse(int statusCode, String finalUrl, Map<String, List<String>> headers, InputStream bodyStream) {
+        this.statusCode = statusCode;
+        this.finalUrl = finalUrl;
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (headers != null) {
+            this.headers.putAll(headers);
+        }
+        this.bodyStream = bodyStream == null ? new ByteArrayInputStream(new byte[0]) : bodyStream;
+    }
+
+    public FetchResponse(int statusCode, String finalUrl, Map<String, List<String>> headers, byte[] body) {
+        this(statusCode, finalUrl, headers, new ByteArrayInputStream(body == null ? new byte[0] : body));
+    }
+
+    public int getStatusCode() { return statusCode; }
+
+    /** 리다이렉트를 따라간 뒤의 최종 URL */
+    public String getFinalUrl() { return finalUrl; }
+
+    public Map<String, List<String>> getHeaders() { return Collections.unmodifiableMap(headers); }
+
+    /** 본문 스트림 (한 번만 읽을 수 있음) */
+    public InputStream getBodyStream() { return bodyStream; }
+
+    /**
+     * 본문 전체를 읽어서 반환합니다.
+     */
+    public synchronized byte[] getBody() throws IOException {
+        if (body == null) {
+            try (InputStream in = bodyStream) {
+                body = in.readAllBytes();
+            }
+        }
+        return body;
+    }
+
+    /**
+     * 본문 스트림을 닫습니다. 아직 내려받지 않은 본문이 있으면 다운로드가 취소됩니다.
+     */
+    @Override
+    public void close() {
+        try {
+            bodyStream.close();
+        } catch (IOException ignored) {
+            // 이미 끊긴 연결
+        }
+    }
+
+    /**
+     * 헤더 값을 반환합니다. (대소문자 구분 없음, 여러 개면 첫 번째 값)
+     *
+     * @return 헤더 값, 없으면 null
+     */
+    public String header(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Content-Type 헤더의 MIME 타입 (소문자, 파라미터 제외), 없으면 빈 문자열
+     */
+    public String getMimeType() {
+        String contentType = header("Content-Type");
+        if (contentType == null) {
+            return "";
+        }
+        int semicolon = contentType.indexOf(';');
+        return (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType).trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Content-Type 헤더에 지정된 문자셋 이름, 없거나 지원하지 않으면 null
+     */
+    public String getCharset() {
+        String contentType = header("Content-Type");
+        if (contentType == null) {
+            return null;
+        }
+
+        for (String param : contentType.split(";")) {
+            param = param.trim();
+            if (param.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                String charset = param.substring("charset=".length()).replace("\"", "").trim();
+                try {
+                    return Charset.isSupported(charset) ? charset : null;
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Content-Length 헤더 값 (바이트), 없거나 잘못된 값이면 -1
+     */
+    public long getContentLength() {
+        String value = header("Content-Length");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * HTML로 파싱할 수 있는 응답인지 확인합니다. (Content-Type이 없으면 HTML로 간주)
+     * text/html, XHTML, XML 문서와 일반 텍스트만 허용하고 CSS, 스크립트, CSV 등은 제외합니다.
+     */
+    public boolean isHtml() {
+        String mimeType = getMimeType();
+        return mimeType.isEmpty()
+                || mimeType.equals("text/html")
+                || mimeType.equals("text/plain")
+                || mimeType.endsWith("/xml")
+                || mimeType.endsWith("+xml");
+    }
+}
@@ -0,0 +1,32 @@
+package com.emailcrawler.model;
+
+import java.util.Locale;
+
+/**
+ * 이메일 도메인의 메일 수신 가능 여부 (DNS MX/A 레코드 조회 결과)
+ *
+ * 조회 자체가 실패한 경우(시간 초과, SERVFAIL 등)는 도메인 문제인지 알 수 없으므로 이메일을 유지합니다.
+ */
+public enum MailDomainStatus {
+    MX(true),               // MX 레코드 있음
+    ADDRESS(true),          // MX는 없지만 A/AAAA 레코드 있음 (도메인 자체가 메일 서버)
+    NULL_MX(false),         // 메일을 받지 않는다고 선언한 도메인 (MX "0 .")
+    NO_MAIL_HOST(false),    // 도메인은 있지만 MX/A/AAAA 레코드가 없음
+    NO_SUCH_DOMAIN(false),  // 도메인이 없음 (NXDOMAIN, 오타 도메인 등)
+    LOOKUP_FAILED(true);    // 조회 실패 (알 수 없음)
+
+    private final boolean keep;
+
+    MailDomainStatus(boolean keep) {
+        this.keep = keep;
+    }
+
+    /** 이 도메인의 이메일을 결과에 남길지 여부 */
+    public boolean isKeep() { return keep; }
+
+    /** 조회 결과가 확정적인지 여부 (LOOKUP_FAILED가 아니면 캐시 대상) */
+    public boolean isDefinite() { return this != LOOKUP_FAILED; }
+
+    /** 로그/메트릭용 이름 (예: no_such_domain) */
+    public String label() { return name().toLowerCase(Locale.ROOT); }
+}
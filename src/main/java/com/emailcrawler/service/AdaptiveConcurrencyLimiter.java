@@ -0,0 +1,214 @@
+package com.emailcrawler.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 동시 요청 수를 스스로 조절하는 제한기 (AIMD)
+ *
+ * 요청이 끝날 때마다 소요 시간과 타임아웃 여부를 모아 두었다가, 한 구간(현재 한도만큼의 요청)이
+ * 끝나면 한도를 조정합니다.
+ * - 구간 중앙값이 기준 지연(최근 구간 중앙값들의 하위 25%)의 latencyTolerance 배를 넘거나
+ *   타임아웃 비율이 dropTolerance를 넘으면 한도를 backoffRatio 배로 줄임 (곱셈 감소)
+ * - 그렇지 않고 한도까지 요청이 찼었다면 한도를 1 늘림 (덧셈 증가)
+ * 그래서 지연이 늘기 시작하는 지점(처리량이 더 늘지 않는 지점) 근처에서 한도가 유지됩니다.
+ * 기준 지연은 최근 BASELINE_WINDOWS개 구간만 보므로, 사이트 구성이 바뀌어도 빠른 구간 하나 때문에
+ * 이후의 보통 구간이 과부하로 보이지 않습니다.
+ * 한도는 항상 [minLimit, maxLimit] 범위 안에 있으며, minLimit == maxLimit 이면 고정 한도로 동작합니다.
+ *
+ * 슬롯 대기는 synchronized/Object.wait 대신 ReentrantLock + Condition으로 합니다.
+ * Java 21에서 가상 스레드가 모니터 안에서 기다리면 캐리어 스레드를 붙잡아 두므로,
+ * 대기자가 많으면 슬롯을 가진 스레드가 다시 실행될 캐리어가 없어 크롤링이 멈출 수 있습니다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int MIN_WINDOW_SAMPLES = 10;    // 한 구간의 최소 표본 수
+    private static final int BASELINE_WINDOWS = 20;      // 기준 지연을 정할 때 보는 최근 구간 수
+    private static final double BASELINE_PERCENTILE = 0.25; // 최근 구간 중앙값 중 기준으로 쓸 위치 (하위 25%)
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double dropTolerance;
+    private final double backoffRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    private double limit;
+    private int inFlight = 0;
+
+    // 현재 구간의 표본
+    private final long[] samples;
+    private int sampleCount = 0;
+    private int drops = 0;
+    private int peakInFlight = 0;
+    private final long[] windowMedians = new long[BASELINE_WINDOWS]; // 최근 구간 중앙값 (원형 버퍼)
+    private int windowCount = 0;
+
+    /**
+     * @param initialLimit     시작 한도
+     * @param minLimit         한도 하한
+     * @param maxLimit         한도 상한
+     * @param latencyTolerance 기준 지연 대비 허용 배수 (예: 2.0)
+     * @param dropTolerance    구간 내 허용 타임아웃 비율 (예: 0.1)
+     * @param backoffRatio     과부하 시 한도에 곱할 비율 (예: 0.75)
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double latencyTolerance, double dropTolerance, double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.latencyTolerance = latencyTolerance;
+        this.dropTolerance = dropTolerance;
+        this.backoffRatio = backoffRatio;
+        this.samples = new long[Math.max(MIN_WINDOW_SAMPLES, this.maxLimit)];
+    }
+
+    /**
+     * 고정 한도 제한기 (조절하지 않음)
+     */
+    public static AdaptiveConcurrencyLimiter fixed(int limit) {
+        return new AdaptiveConcurrencyLimiter(limit, limit, limit, 2.0, 0.1, 0.75);
+    }
+
+    /**
+     * 요청 슬롯을 얻을 때까지 기다립니다.
+     *
+     * @return 요청 시작 시각 (release에 그대로 넘김)
+     */
+    public long acquire() throws InterruptedException {
+        return acquire(Long.MAX_VALUE);
+    }
+
+    /**
+     * 요청 슬롯을 얻을 때까지 기다리되, 마감 시각이 지나면 포기합니다.
+     *
+     * @param deadlineNanos 마감 시각 (System.nanoTime 기준, Long.MAX_VALUE면 제한 없음)
+     * @return 요청 시작 시각 (release에 그대로 넘김), 마감까지 슬롯을 얻지 못했으면 -1
+     */
+    public long acquire(long deadlineNanos) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) limit) {
+                if (deadlineNanos == Long.MAX_VALUE) {
+                    slotFreed.await();
+                    continue;
+                }
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return -1;
+                }
+                slotFreed.awaitNanos(remainingNanos);
+            }
+            if (deadlineNanos != Long.MAX_VALUE && System.nanoTime() > deadlineNanos) {
+                return -1;
+            }
+            inFlight++;
+            peakInFlight = Math.max(peakInFlight, inFlight);
+            return System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 요청 슬롯을 반납하고 결과를 반영합니다.
+     *
+     * @param startNanos acquire가 반환한 시작 시각
+     * @param dropped    타임아웃처럼 과부하를 의심할 만한 실패였는지 여부
+     */
+    public void release(long startNanos, boolean dropped) {
+        release(startNanos, dropped, true);
+    }
+
+    /**
+     * 요청 슬롯을 반납하고, 직접 보낸 요청이면 결과를 반영합니다.
+     *
+     * @param startNanos acquire가 반환한 시작 시각
+     * @param dropped    타임아웃처럼 과부하를 의심할 만한 실패였는지 여부
+     * @param measured   소요 시간을 표본으로 쓸지 여부 (다른 행의 요청을 기다렸거나 캐시/즉시 실패로 끝났으면 false)
+     */
+    public void release(long startNanos, boolean dropped, boolean measured) {
+        lock.lock();
+        try {
+            inFlight--;
+            slotFreed.signalAll(); // 시간 초과로 깨어난 대기자가 신호를 가져가도 다른 대기자가 깨어나도록
+
+            if (minLimit == maxLimit || !(measured || dropped)) {
+                return;
+            }
+
+            samples[sampleCount++] = System.nanoTime() - startNanos;
+            if (dropped) {
+                drops++;
+            }
+            if (sampleCount >= Math.min(samples.length, Math.max(MIN_WINDOW_SAMPLES, (int) limit))) {
+                adjust();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * 구간이 끝나면 한도를 조정합니다. (lock을 잡은 상태에서 호출)
+     */
+    private void adjust() {
+        Arrays.sort(samples, 0, sampleCount);
+        long median = samples[sampleCount / 2];
+        double dropRate = (double) drops / sampleCount;
+        boolean saturated = peakInFlight >= (int) limit;
+
+        windowMedians[windowCount++ % BASELINE_WINDOWS] = median;
+        long baselineNanos = baseline();
+
+        if (dropRate > dropTolerance || median > baselineNanos * latencyTolerance) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (saturated && limit < maxLimit) {
+            limit = Math.min(maxLimit, limit + 1);
+            slotFreed.signalAll();
+        }
+
+        sampleCount = 0;
+        drops = 0;
+        peakInFlight = inFlight;
+    }
+
+    /**
+     * 기준 지연: 최근 구간 중앙값들의 하위 BASELINE_PERCENTILE 위치 값 (lock을 잡은 상태에서 호출)
+     */
+    private long baseline() {
+        int count = Math.min(windowCount, BASELINE_WINDOWS);
+        long[] recent = Arrays.copyOf(windowMedians, count);
+        Arrays.sort(recent);
+        return recent[(int) ((count - 1) * BASELINE_PERCENTILE)];
+    }
+}
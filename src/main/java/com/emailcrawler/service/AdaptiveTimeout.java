@@ -0,0 +1,67 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.util.LatencyHistogram;
+
+/**
+ * 관측한 응답 시간 분포로 요청 타임아웃을 정하는 계산기
+ *
+ * 타임아웃 = p99 x factor 를 [minMs, maxMs] 범위로 자른 값입니다.
+ * 표본이 minSamples 개가 되기 전에는 maxMs(기존 고정 타임아웃)를 사용합니다.
+ * 타임아웃으로 끝난 요청도 "적어도 그 시간만큼 걸린" 표본으로 기록하므로,
+ * 타임아웃이 잦아지면 p99가 올라가 타임아웃도 다시 늘어납니다.
+ */
+public class AdaptiveTimeout {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final long minMs;
+    private final long maxMs;
+    private final double factor;
+    private final int minSamples;
+
+    /**
+     * @param minMs      타임아웃 하한 (ms)
+     * @param maxMs      타임아웃 상한 (ms)
+     * @param factor     p99에 곱할 배수
+     * @param minSamples 분포를 믿기 시작할 최소 표본 수
+     */
+    public AdaptiveTimeout(long minMs, long maxMs, double factor, int minSamples) {
+        this.minMs = Math.min(minMs, maxMs);
+        this.maxMs = maxMs;
+        this.factor = factor;
+        this.minSamples = minSamples;
+    }
+
+    /**
+     * 고정 타임아웃 (조절하지 않음)
+     */
+    public static AdaptiveTimeout fixed(long timeoutMs) {
+        return new AdaptiveTimeout(timeoutMs, timeoutMs, 1.0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 지금 사용할 타임아웃 (ms)
+     */
+    public long currentMillis() {
+        if (minMs == maxMs || histogram.getCount() < minSamples) {
+            return maxMs;
+        }
+        long timeout = (long) (histogram.getPercentileMillis(0.99) * factor);
+        return Math.max(minMs, Math.min(maxMs, timeout));
+    }
+
+    /**
+     * 응답을 받은 요청의 소요 시간을 기록합니다.
+     */
+    public void recordSuccess(long nanos) {
+        histogram.recordNanos(nanos);
+    }
+
+    /**
+     * 타임아웃으로 끝난 요청을 기록합니다. (실제 소요 시간은 적어도 타임아웃 값 이상)
+     *
+     * @param timeoutMs 그 요청에 적용했던 타임아웃 (ms)
+     */
+    public void recordTimeout(long timeoutMs) {
+        histogram.recordNanos(timeoutMs * 1_000_000L);
+    }
+}
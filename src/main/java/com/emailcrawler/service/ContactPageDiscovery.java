@@ -0,0 +1,149 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.util.KeywordMatcher;
+import com.emailcrawler.util.UrlUtils;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 연락처 페이지 탐색기
+ *
+ * 첫 페이지에서 이메일을 찾지 못했을 때, 페이지 안의 링크 중 /contact, /about, 회사소개, 오시는길, 문의 등
+ * 연락처가 있을 만한 같은 호스트의 링크를 키워드 점수로 골라 순서대로 반환합니다.
+ */
+public class ContactPageDiscovery {
+
+    private static final KeywordMatcher CONTACT_KEYWORDS = KeywordMatcher.of(
+            "contact", 10, "문의", 10, "연락처", 9, "inquiry", 8, "오시는길", 8, "오시는 길", 8, "찾아오시는", 8,
+            "고객센터", 8, "회사소개", 7, "회사 소개", 7, "about", 6, "customer", 5, "location", 4, "company", 4,
+            "support", 4, "인사말", 3, "qna", 3, "info", 3, "개요", 2, "map", 2);
+
+    private static final String[] SKIP_EXTENSIONS = {
+            ".pdf", ".jpg", ".jpeg", ".png", ".gif", ".zip", ".hwp", ".doc", ".docx", ".xls", ".xlsx", ".mp4"
+    };
+
+    private final int maxPages;
+
+    /**
+     * @param maxPages 사이트당 추가로 방문할 최대 페이지 수
+     */
+    public ContactPageDiscovery(int maxPages) {
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * 방문할 연락처 후보 페이지를 점수가 높은 순서로 반환합니다.
+     *
+     * @param doc 첫 페이지 문서 (baseUri가 설정되어 있어야 함)
+     * @return 같은 호스트의 후보 URL (최대 maxPages개)
+     */
+    public List<String> findCandidates(Document doc) {
+        String landingKey = UrlUtils.normalize(doc.location());
+        String landingHost = siteHost(doc.location());
+        if (landingHost.isEmpty() || maxPages <= 0) {
+            return new ArrayList<>();
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        seen.add(landingKey);
+
+        for (Element link : doc.select("a[href]")) {
+            String url = link.attr("abs:href");
+            int hash = url.indexOf('#');
+            if (hash >= 0) {
+                url = url.substring(0, hash);
+            }
+            if (!url.startsWith("http://") && !url.startsWith("https://") || hasSkippedExtension(url)) {
+                continue;
+            }
+            if (!landingHost.equals(siteHost(url)) || !seen.add(UrlUtils.normalize(url))) {
+                continue;
+            }
+
+            int score = CONTACT_KEYWORDS.score(link.text())
+                    + CONTACT_KEYWORDS.score(link.attr("title"))
+                    + CONTACT_KEYWORDS.score(decodePath(pathAndQuery(url)));
+            if (score > 0) {
+                candidates.add(new Candidate(url, score));
+            }
+        }
+
+        candidates.sort(Comparator.comparingInt((Candidate c) -> c.score).reversed());
+
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < candidates.size() && i < maxPages; i++) {
+            urls.add(candidates.get(i).url);
+        }
+        return urls;
+    }
+
+    /**
+     * "www."를 뺀 호스트 (www 유무만 다른 링크도 같은 사이트로 취급)
+     */
+    private String siteHost(String url) {
+        String host = UrlUtils.extractHost(url);
+        return host.startsWith("www.") ? host.substring(4) : host;
+    }
+
+    private boolean hasSkippedExtension(String url) {
+        String lower = url.toLowerCase(Locale.ROOT);
+        int query = lower.indexOf('?');
+        if (query >= 0) {
+            lower = lower.substring(0, query);
+        }
+        for (String ext : SKIP_EXTENSIONS) {
+            if (lower.endsWith(ext)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 스킴과 호스트를 뺀 경로 + 쿼리 (도메인 이름에 든 키워드로 모든 링크가 점수를 받지 않도록)
+     */
+    private String pathAndQuery(String url) {
+        int authority = url.indexOf("://") + 3;
+        for (int i = authority; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '/' || c == '?') {
+                return url.substring(i);
+            }
+        }
+        return "";
+    }
+
+    /**
+     * 한글 경로(%ED%9A%8C...)도 키워드와 비교할 수 있도록 디코딩합니다.
+     */
+    private String decodePath(String path) {
+        try {
+            return URLDecoder.decode(path, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return path;
+        }
+    }
+
+    /**
+     * 후보 페이지와 점수
+     */
+    private static class Candidate {
+        private final String url;
+        private final int score;
+
+        private Candidate(String url, int score) {
+            this.url = url;
+            this.score = score;
+        }
+    }
+}
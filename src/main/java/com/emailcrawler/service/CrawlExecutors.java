@@ -0,0 +1,99 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.util.AppConfig;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 크롤링 작업 실행기 생성 유틸리티
+ *
+ * crawler.executor 설정으로 실행 방식을 선택합니다.
+ * - fixed   : 고정 크기 스레드 풀 (스레드 수 = 동시 요청 한도의 상한)
+ * - virtual : 행마다 가상 스레드 (Java 21 이상), 동시 요청 한도의 상한은 crawler.max-concurrency
+ *
+ * 실제 동시 요청 수는 AdaptiveConcurrencyLimiter가 지연/타임아웃을 보고 하한~상한 사이에서 조절합니다.
+ * (crawler.concurrency.adaptive=false 이면 fixed는 crawler.concurrency.initial, virtual은 상한으로 고정)
+ */
+public class CrawlExecutors {
+
+    public static final String MODE_FIXED = "fixed";
+    public static final String MODE_VIRTUAL = "virtual";
+
+    private static final String MODE = AppConfig.getString("crawler.executor", MODE_FIXED).toLowerCase();
+    private static final int MAX_CONCURRENCY = AppConfig.getInt("crawler.max-concurrency", 200);
+
+    // 동시 요청 한도 조절 설정
+    private static final boolean ADAPTIVE = AppConfig.getBoolean("crawler.concurrency.adaptive", true);
+    private static final int INITIAL_LIMIT = AppConfig.getInt("crawler.concurrency.initial", 5);
+    private static final int MIN_LIMIT = AppConfig.getInt("crawler.concurrency.min", 2);
+    private static final int MAX_LIMIT = AppConfig.getInt("crawler.concurrency.max", 64);
+    private static final double LATENCY_TOLERANCE = AppConfig.getDouble("crawler.concurrency.latency-tolerance", 2.0);
+    private static final double DROP_TOLERANCE = AppConfig.getDouble("crawler.concurrency.drop-tolerance", 0.1);
+    private static final double BACKOFF_RATIO = AppConfig.getDouble("crawler.concurrency.backoff-ratio", 0.75);
+
+    private CrawlExecutors() {
+    }
+
+    /**
+     * 가상 스레드 모드가 선택되었고 현재 JVM에서 사용할 수 있는지 확인합니다.
+     */
+    public static boolean isVirtual() {
+        return MODE_VIRTUAL.equals(MODE) && virtualFactory() != null;
+    }
+
+    /**
+     * 설정된 방식의 실행기를 생성합니다.
+     *
+     * @param limiter 동시 요청 제한기 (고정 스레드 풀 모드는 한도 상한만큼 스레드 생성)
+     * @return 작업 실행기
+     */
+    public static ExecutorService create(AdaptiveConcurrencyLimiter limiter) {
+        if (MODE_VIRTUAL.equals(MODE)) {
+            Method factory = virtualFactory();
+            if (factory != null) {
+                try {
+                    return (ExecutorService) factory.invoke(null);
+                } catch (Exception e) {
+                    System.out.println("⚠️ 가상 스레드 실행기 생성 실패: " + e.getMessage());
+                }
+            }
+            System.out.println("⚠️ 가상 스레드는 Java 21 이상에서만 사용 가능합니다. 고정 스레드 풀을 사용합니다.");
+        }
+        return Executors.newFixedThreadPool(limiter.getMaxLimit());
+    }
+
+    /**
+     * 설정에 맞는 동시 요청 제한기를 생성합니다.
+     */
+    public static AdaptiveConcurrencyLimiter createLimiter() {
+        int ceiling = isVirtual() ? MAX_CONCURRENCY : MAX_LIMIT;
+        if (!ADAPTIVE) {
+            return AdaptiveConcurrencyLimiter.fixed(isVirtual() ? MAX_CONCURRENCY : INITIAL_LIMIT);
+        }
+        return new AdaptiveConcurrencyLimiter(INITIAL_LIMIT, MIN_LIMIT, ceiling,
+                LATENCY_TOLERANCE, DROP_TOLERANCE, BACKOFF_RATIO);
+    }
+
+    /**
+     * 콘솔 출력용 실행 방식 설명
+     */
+    public static String describe(AdaptiveConcurrencyLimiter limiter) {
+        String concurrency = limiter.getMinLimit() == limiter.getMaxLimit()
+                ? limiter.getMaxLimit() + "개 동시 요청"
+                : "동시 요청 " + limiter.getLimit() + "개에서 시작, " + limiter.getMinLimit() + "~" + limiter.getMaxLimit() + "개 자동 조절";
+        return (isVirtual() ? "가상 스레드" : "스레드 풀") + " (" + concurrency + ")";
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() 조회 (Java 11 빌드와의 호환을 위해 리플렉션 사용)
+     */
+    private static Method virtualFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.emailcrawler.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 완료된 행을 기록하는 체크포인트 저널
+ *
+ * 처리가 끝난 행마다 "행번호\t이메일" 한 줄을 메모리에 모았다가,
+ * 일정 개수가 쌓이거나 일정 시간이 지나면 파일에 쓰고 fsync 합니다. (행마다 fsync 하지 않음)
+ * 비정상 종료 후 --resume 으로 다시 실행하면 저널에 있는 행은 크롤링하지 않습니다.
+ */
+public class CrawlJournal implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 200; // 이 개수가 쌓이면 바로 fsync
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ScheduledExecutorService flusher;
+    private final StringBuilder buffer = new StringBuilder();
+    private int buffered = 0;
+    private boolean closed = false;
+
+    /**
+     * @param path            저널 파일 경로
+     * @param append          기존 저널에 이어서 쓸지 여부 (false면 새로 시작)
+     * @param syncIntervalMs  모인 기록을 fsync 하는 주기 (ms)
+     */
+    public CrawlJournal(String path, boolean append, long syncIntervalMs) throws IOException {
+        this.path = Paths.get(path);
+        this.channel = append
+                ? FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 저널 파일 경로를 만듭니다. (출력 파일 옆에 ".journal"을 붙임)
+     */
+    public static String pathFor(String outputPath) {
+        return outputPath + ".journal";
+    }
+
+    /**
+     * 저널에 기록된 행을 읽어옵니다.
+     *
+     * @param path 저널 파일 경로
+     * @return 행번호 → 찾은 이메일 ("X" 포함), 파일이 없으면 빈 맵
+     */
+    public static Map<Integer, String> load(String path) throws IOException {
+        Map<Integer, String> done = new HashMap<>();
+        Path journalPath = Paths.get(path);
+        if (!Files.exists(journalPath)) {
+            return done;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab <= 0) {
+                    continue; // 쓰다 만 줄 (비정상 종료)
+                }
+                try {
+                    done.put(Integer.parseInt(line.substring(0, tab)), line.substring(tab + 1));
+                } catch (NumberFormatException ignored) {
+                    // 손상된 줄은 건너뜀
+                }
+            }
+        }
+        return done;
+    }
+
+    /**
+     * 완료된 행을 기록합니다.
+     *
+     * @param rowIndex 1부터 시작하는 데이터 행 번호
+     * @param email    찾은 이메일 (못 찾았으면 "X")
+     */
+    public synchronized void record(int rowIndex, String email) {
+        if (closed) {
+            return;
+        }
+
+        buffer.append(rowIndex).append('\t').append(email == null ? "" : email).append('\n');
+        if (++buffered >= BATCH_SIZE) {
+            syncQuietly();
+        }
+    }
+
+    /**
+     * 모인 기록을 파일에 쓰고 디스크에 반영(fsync)합니다.
+     */
+    public synchronized void sync() throws IOException {
+        if (buffered == 0 || closed) {
+            return;
+        }
+
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(buffer.toString());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+
+        buffer.setLength(0);
+        buffered = 0;
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.out.println("⚠️ 저널 기록 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        sync();
+        closed = true;
+        flusher.shutdownNow();
+        channel.close();
+    }
+
+    /**
+     * 저널을 닫고 파일을 삭제합니다. (모든 행이 정상적으로 저장된 뒤 호출)
+     */
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+}
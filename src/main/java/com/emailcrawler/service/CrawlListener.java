@@ -0,0 +1,19 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.CsvRow;
+
+/**
+ * 행 처리 완료 알림을 받는 리스너 (처리 시간 측정, 부하 테스트용)
+ *
+ * 작업 스레드에서 호출되므로 구현은 스레드 안전하고 빨리 끝나야 합니다.
+ */
+public interface CrawlListener {
+
+    /**
+     * 행 하나의 처리가 끝났을 때 호출됩니다.
+     *
+     * @param row          처리가 끝난 행 (foundEmail 설정됨)
+     * @param elapsedNanos 행 처리를 시작한 뒤 끝날 때까지 걸린 시간 (호스트 차례/Retry-After 대기 포함)
+     */
+    void onRowCompleted(CsvRow row, long elapsedNanos);
+}
@@ -0,0 +1,302 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.FetchOutcome;
+import com.emailcrawler.util.AppConfig;
+import com.emailcrawler.util.LatencyHistogram;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * 크롤링 단계별 소요 시간과 결과 카운터
+ *
+ * 프로세스 전체에서 하나를 공유합니다. (shared())
+ * - JMX: com.emailcrawler:type=CrawlPhase,name=<단계>, com.emailcrawler:type=CrawlOutcomes
+ * - Prometheus 텍스트 형식: metrics.port를 설정하면 http://127.0.0.1:<port>/metrics
+ *
+ * HttpClient는 연결/TLS 시간을 따로 알려주지 않으므로 TTFB는 요청 시작부터 응답 헤더까지
+ * (새 연결이면 연결/TLS 포함) 시간입니다. DNS는 요청 전에 직접 조회해서 따로 잽니다.
+ */
+public class CrawlMetrics {
+
+    private static final int METRICS_PORT = AppConfig.getInt("metrics.port", 0);
+    private static final boolean JMX_ENABLED = AppConfig.getBoolean("metrics.jmx.enabled", true);
+
+    // Prometheus 누적 버킷 경계 (초)
+    private static final double[] BUCKET_BOUNDS = {
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 15, 30, 60
+    };
+
+    private static final CrawlMetrics SHARED = new CrawlMetrics();
+
+    /**
+     * 소요 시간을 재는 단계
+     */
+    public enum Phase {
+        DNS,      // 호스트 이름 조회
+        TTFB,     // 요청 시작 ~ 응답 헤더 (연결/TLS 포함)
+        DOWNLOAD, // 본문을 읽는 동안 네트워크를 기다린 시간
+        PARSE,    // HTML 파싱 (문자 디코딩 포함)
+        EXTRACT,  // 이메일 추출
+        SITE,     // 사이트 하나 전체 (하위 페이지 탐색 포함)
+        ROW       // CSV 행 하나 전체 (호스트 차례/재시도 대기 포함)
+    }
+
+    private final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+    private final Map<FetchOutcome, LongAdder> outcomes = new EnumMap<>(FetchOutcome.class);
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder negativeCacheHits = new LongAdder();
+    private volatile HttpServer endpoint;
+    private boolean started = false;
+
+    CrawlMetrics() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+        for (FetchOutcome outcome : FetchOutcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    /**
+     * 프로세스 전체에서 공유하는 인스턴스 (처음 사용할 때 JMX 등록, 설정되어 있으면 엔드포인트 시작)
+     */
+    public static CrawlMetrics shared() {
+        SHARED.startOnce();
+        return SHARED;
+    }
+
+    public void record(Phase phase, long nanos) {
+        phases.get(phase).recordNanos(nanos);
+    }
+
+    public void record(FetchOutcome outcome) {
+        outcomes.get(outcome).increment();
+    }
+
+    /** 일시적인 실패로 사이트를 다시 요청한 횟수 */
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    /** 음성 캐시로 요청 없이 끝낸 횟수 */
+    public void recordNegativeCacheHit() {
+        negativeCacheHits.increment();
+    }
+
+    public LatencyHistogram histogram(Phase phase) {
+        return phases.get(phase);
+    }
+
+    public long count(FetchOutcome outcome) {
+        return outcomes.get(outcome).sum();
+    }
+
+    /**
+     * 단계별 요약을 콘솔에 출력합니다. (처리 완료 통계용)
+     */
+    public void printSummary() {
+        System.out.println("⏱️ 단계별 소요 시간 (p50 / p99 / 최대, ms)");
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = phases.get(phase);
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            System.out.printf("   %-8s %,8d건 | %,9.1f / %,9.1f / %,9.1f%n",
+                    phase.name().toLowerCase(Locale.ROOT), histogram.getCount(),
+                    histogram.getPercentileMillis(0.5), histogram.getPercentileMillis(0.99), histogram.getMaxMillis());
+        }
+
+        StringBuilder line = new StringBuilder("📌 결과: ");
+        for (FetchOutcome outcome : FetchOutcome.values()) {
+            if (count(outcome) > 0) {
+                line.append(outcome.label()).append('=').append(count(outcome)).append(' ');
+            }
+        }
+        System.out.println(line.toString().trim());
+        System.out.printf("🔁 재시도: %,d회 | 🚫 음성 캐시로 건너뜀: %,d건%n", retries.sum(), negativeCacheHits.sum());
+    }
+
+    /**
+     * Prometheus 텍스트 형식(0.0.4)으로 변환합니다.
+     */
+    public String toPrometheusText() {
+        StringBuilder out = new StringBuilder(8192);
+
+        out.append("# HELP crawl_phase_seconds 크롤링 단계별 소요 시간\n");
+        out.append("# TYPE crawl_phase_seconds histogram\n");
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = phases.get(phase);
+            String label = "phase=\"" + phase.name().toLowerCase(Locale.ROOT) + "\"";
+            for (double bound : BUCKET_BOUNDS) {
+                out.append("crawl_phase_seconds_bucket{").append(label).append(",le=\"").append(bound).append("\"} ")
+                        .append(histogram.getCountAtOrBelow(bound)).append('\n');
+            }
+            out.append("crawl_phase_seconds_bucket{").append(label).append(",le=\"+Inf\"} ").append(histogram.getCount()).append('\n');
+            out.append("crawl_phase_seconds_sum{").append(label).append("} ").append(histogram.getSumSeconds()).append('\n');
+            out.append("crawl_phase_seconds_count{").append(label).append("} ").append(histogram.getCount()).append('\n');
+        }
+
+        out.append("# HELP crawl_outcomes_total 사이트 크롤링 결과별 횟수\n");
+        out.append("# TYPE crawl_outcomes_total counter\n");
+        for (FetchOutcome outcome : FetchOutcome.values()) {
+            out.append("crawl_outcomes_total{outcome=\"").append(outcome.label()).append("\"} ")
+                    .append(count(outcome)).append('\n');
+        }
+
+        out.append("# HELP crawl_retries_total 일시적인 실패로 다시 요청한 횟수\n");
+        out.append("# TYPE crawl_retries_total counter\n");
+        out.append("crawl_retries_total ").append(retries.sum()).append('\n');
+        out.append("# HELP crawl_negative_cache_hits_total 음성 캐시로 요청 없이 끝낸 횟수\n");
+        out.append("# TYPE crawl_negative_cache_hits_total counter\n");
+        out.append("crawl_negative_cache_hits_total ").append(negativeCacheHits.sum()).append('\n');
+        return out.toString();
+    }
+
+    /**
+     * 메트릭 엔드포인트를 멈춥니다. (HTTP 서버 스레드가 JVM 종료를 막지 않도록 프로그램 끝에서 호출)
+     */
+    public static void stopEndpoint() {
+        HttpServer server = SHARED.endpoint;
+        if (server != null) {
+            server.stop(0);
+            SHARED.endpoint = null;
+        }
+    }
+
+    private synchronized void startOnce() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        if (JMX_ENABLED) {
+            registerMBeans();
+        }
+        if (METRICS_PORT > 0) {
+            startEndpoint(METRICS_PORT);
+        }
+    }
+
+    private void registerMBeans() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (Phase phase : Phase.values()) {
+                ObjectName name = new ObjectName("com.emailcrawler:type=CrawlPhase,name=" + phase.name().toLowerCase(Locale.ROOT));
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(new PhaseStats(phases.get(phase)), name);
+                }
+            }
+            ObjectName name = new ObjectName("com.emailcrawler:type=CrawlOutcomes");
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new OutcomeStats(), name);
+            }
+        } catch (Exception e) {
+            System.out.println("⚠️ JMX 메트릭 등록 실패: " + e.getMessage());
+        }
+    }
+
+    private void startEndpoint(int port) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "metrics-endpoint");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.createContext("/metrics", exchange -> {
+                try {
+                    byte[] body = toPrometheusText().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                } finally {
+                    exchange.close();
+                }
+            });
+            server.start();
+            endpoint = server;
+            System.out.println("📈 메트릭 엔드포인트: http://127.0.0.1:" + port + "/metrics");
+        } catch (IOException e) {
+            System.out.println("⚠️ 메트릭 엔드포인트를 열 수 없습니다 (포트 " + port + "): " + e.getMessage());
+        }
+    }
+
+    /**
+     * 단계별 소요 시간 (JMX)
+     */
+    public interface PhaseMXBean {
+        long getCount();
+        double getMeanMillis();
+        double getP50Millis();
+        double getP90Millis();
+        double getP99Millis();
+        double getMaxMillis();
+    }
+
+    /**
+     * 결과별 횟수 (JMX)
+     */
+    public interface OutcomesMXBean {
+        long getFound();
+        long getNotFound();
+        long getSkipped();
+        long getHttpError();
+        long getHttpTransient();
+        long getTimeout();
+        long getNetworkError();
+        long getConnectTimeout();
+        long getConnectionRefused();
+        long getTlsError();
+        long getDnsFailure();
+        long getError();
+        long getRetries();
+        long getNegativeCacheHits();
+    }
+
+    private static class PhaseStats implements PhaseMXBean {
+        private final LatencyHistogram histogram;
+
+        PhaseStats(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override public long getCount() { return histogram.getCount(); }
+        @Override public double getMeanMillis() { return histogram.getMeanMillis(); }
+        @Override public double getP50Millis() { return histogram.getPercentileMillis(0.50); }
+        @Override public double getP90Millis() { return histogram.getPercentileMillis(0.90); }
+        @Override public double getP99Millis() { return histogram.getPercentileMillis(0.99); }
+        @Override public double getMaxMillis() { return histogram.getMaxMillis(); }
+    }
+
+    private class OutcomeStats implements OutcomesMXBean {
+        @Override public long getFound() { return count(FetchOutcome.FOUND); }
+        @Override public long getNotFound() { return count(FetchOutcome.NOT_FOUND); }
+        @Override public long getSkipped() { return count(FetchOutcome.SKIPPED); }
+        @Override public long getHttpError() { return count(FetchOutcome.HTTP_ERROR); }
+        @Override public long getHttpTransient() { return count(FetchOutcome.HTTP_TRANSIENT); }
+        @Override public long getTimeout() { return count(FetchOutcome.TIMEOUT); }
+        @Override public long getNetworkError() { return count(FetchOutcome.NETWORK_ERROR); }
+        @Override public long getConnectTimeout() { return count(FetchOutcome.CONNECT_TIMEOUT); }
+        @Override public long getConnectionRefused() { return count(FetchOutcome.CONNECTION_REFUSED); }
+        @Override public long getTlsError() { return count(FetchOutcome.TLS_ERROR); }
+        @Override public long getDnsFailure() { return count(FetchOutcome.DNS_FAILURE); }
+        @Override public long getError() { return count(FetchOutcome.ERROR); }
+        @Override public long getRetries() { return retries.sum(); }
+        @Override public long getNegativeCacheHits() { return negativeCacheHits.sum(); }
+    }
+}
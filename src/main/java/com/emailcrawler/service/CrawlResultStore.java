@@ -0,0 +1,186 @@
+package com.emailcrawler.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실행 간에 유지되는 크롤링 결과 캐시 (추가 전용 로그 파일)
+ *
+ * 정규화된 URL마다 찾은 이메일(없으면 빈 값)과 저장 시각을 한 줄씩 파일 끝에 추가합니다.
+ *   형식: 저장시각(ms)\t정규화URL\t이메일
+ * 시작할 때 로그를 한 번 읽어 메모리 인덱스를 만들고, 조회는 메모리에서만 하므로 항목이 많아도 빠릅니다.
+ * 만료되었거나 덮어쓴 줄이 유효한 항목보다 많아지면 유효한 항목만 남기도록 파일을 다시 씁니다(compaction).
+ */
+public class CrawlResultStore implements AutoCloseable {
+
+    private static final char SEPARATOR = '\t';
+    private static final int FLUSH_EVERY = 100; // 이 개수만큼 추가될 때마다 flush
+
+    private final Path logPath;
+    private final long ttlMillis;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private BufferedWriter writer;
+    private long logLines = 0;      // 로그 파일의 전체 줄 수 (만료/중복 포함)
+    private int unflushed = 0;
+
+    /**
+     * @param logPath  캐시 로그 파일 경로
+     * @param ttlHours 결과 유효 시간 (시간)
+     */
+    public CrawlResultStore(String logPath, long ttlHours) throws IOException {
+        this.logPath = Paths.get(logPath);
+        this.ttlMillis = TimeUnit.HOURS.toMillis(ttlHours);
+
+        Path parent = this.logPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        load();
+        if (logLines > 1000 && logLines > index.size() * 2L) {
+            compact();
+        }
+        openWriter();
+
+        System.out.printf("🗄️ 크롤링 캐시 로드: %,d개 항목 (%s)\n", index.size(), this.logPath.toAbsolutePath());
+    }
+
+    /**
+     * 유효한 캐시 결과를 조회합니다.
+     *
+     * @param key 정규화된 URL
+     * @return 저장된 이메일(못 찾은 경우 빈 문자열), 캐시에 없거나 만료되었으면 null
+     */
+    public String get(String key) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, System.currentTimeMillis())) {
+            index.remove(key, entry);
+            return null;
+        }
+        return entry.email;
+    }
+
+    /**
+     * 결과를 캐시에 저장합니다.
+     *
+     * @param key   정규화된 URL
+     * @param email 찾은 이메일, 못 찾았으면 빈 문자열
+     */
+    public synchronized void put(String key, String email) {
+        if (key == null || key.isEmpty() || writer == null) {
+            return;
+        }
+
+        Entry entry = new Entry(System.currentTimeMillis(), email == null ? "" : email);
+        index.put(key, entry);
+
+        try {
+            writer.write(Long.toString(entry.savedAt));
+            writer.write(SEPARATOR);
+            writer.write(key);
+            writer.write(SEPARATOR);
+            writer.write(entry.email);
+            writer.write('\n');
+            logLines++;
+
+            if (++unflushed >= FLUSH_EVERY) {
+                writer.flush();
+                unflushed = 0;
+            }
+        } catch (IOException e) {
+            System.out.println("⚠️ 캐시 저장 실패: " + e.getMessage());
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(logPath)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        try (BufferedReader reader = Files.newBufferedReader(logPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                logLines++;
+
+                int first = line.indexOf(SEPARATOR);
+                int second = first < 0 ? -1 : line.indexOf(SEPARATOR, first + 1);
+                if (second < 0) {
+                    continue; // 쓰다 만 줄 (비정상 종료)
+                }
+
+                try {
+                    Entry entry = new Entry(Long.parseLong(line.substring(0, first)), line.substring(second + 1));
+                    if (!isExpired(entry, now)) {
+                        index.put(line.substring(first + 1, second), entry);
+                    }
+                } catch (NumberFormatException ignored) {
+                    // 손상된 줄은 건너뜀
+                }
+            }
+        }
+    }
+
+    /**
+     * 유효한 항목만 새 파일에 쓰고 기존 로그를 교체합니다.
+     */
+    private void compact() throws IOException {
+        Path temp = logPath.resolveSibling(logPath.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> e : index.entrySet()) {
+                out.write(e.getValue().savedAt + "\t" + e.getKey() + "\t" + e.getValue().email + "\n");
+            }
+        }
+        Files.move(temp, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        System.out.printf("🗜️ 크롤링 캐시 정리: %,d줄 → %,d줄\n", logLines, index.size());
+        logLines = index.size();
+    }
+
+    private void openWriter() throws IOException {
+        writer = Files.newBufferedWriter(logPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.savedAt > ttlMillis;
+    }
+
+    /**
+     * 캐시 항목 (저장 시각, 이메일)
+     */
+    private static class Entry {
+        private final long savedAt;
+        private final String email;
+
+        private Entry(long savedAt, String email) {
+            this.savedAt = savedAt;
+            this.email = email;
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.emailcrawler.service;
 
 import com.emailcrawler.model.CsvRow;
+import com.emailcrawler.util.CsvOutputWriter;
 import com.emailcrawler.util.CsvParser;
 import com.emailcrawler.util.FileEncodingDetector;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -17,6 +16,7 @@ public class CsvProcessorService {
     private final FileEncodingDetector encodingDetector;
     private final CsvParser csvParser;
     private final EmailCrawlerService emailCrawler;
+    private CrawlListener crawlListener; // 행 처리 완료 알림 (없으면 null)
 
     public CsvProcessorService() {
         this.encodingDetector = new FileEncodingDetector();
@@ -24,6 +24,13 @@ public class CsvProcessorService {
         this.emailCrawler = new EmailCrawlerService();
     }
 
+    /**
+     * 행 처리가 끝날 때마다 알림을 받을 리스너를 설정합니다.
+     */
+    public void setCrawlListener(CrawlListener crawlListener) {
+        this.crawlListener = crawlListener;
+    }
+
     /**
      * CSV 파일을 처리하여 이메일을 크롤링하고 업데이트합니다.
      *
@@ -61,6 +68,7 @@ public class CsvProcessorService {
 
         System.out.println("═".repeat(60));
         System.out.println("🎉 처리 완료! 업데이트된 파일: " + outputPath);
+        CrawlMetrics.shared().printSummary();
     }
 
     /**
@@ -75,6 +83,7 @@ public class CsvProcessorService {
         for (int i = 1; i < rows.size(); i++) { // 헤더 스킵
             CsvRow row = rows.get(i);
             count++;
+            long rowStart = System.nanoTime();
 
             System.out.printf("\n[%d/%d] %s\n", count, total, row.getCompany());
             System.out.println("🌐 웹사이트: " + row.getWebsite());
@@ -82,6 +91,7 @@ public class CsvProcessorService {
             if (row.getWebsite().isEmpty()) {
                 System.out.println("❌ 웹사이트 URL이 비어있음"); //2초 대기 없이 넘기게 수정.
                 row.setFoundEmail("X");
+                notifyCompleted(row, rowStart);
                 continue; //🔥 NEW: 대기 없이 바로 다음 반복으로
             } else {
                 // 웹사이트 크롤링
@@ -93,6 +103,7 @@ public class CsvProcessorService {
                 } else {
                     System.out.println("❌ 이메일을 찾을 수 없음");
                 }
+                notifyCompleted(row, rowStart);
             }
 
             // 서버 부하 방지 (마지막이 아닌 경우만)
@@ -112,6 +123,14 @@ public class CsvProcessorService {
         }
     }
 
+    private void notifyCompleted(CsvRow row, long rowStart) {
+        long elapsedNanos = System.nanoTime() - rowStart;
+        CrawlMetrics.shared().record(CrawlMetrics.Phase.ROW, elapsedNanos);
+        if (crawlListener != null) {
+            crawlListener.onRowCompleted(row, elapsedNanos);
+        }
+    }
+
     /**
      * 출력 파일 경로 생성
      */
@@ -127,28 +146,13 @@ public class CsvProcessorService {
      * 업데이트된 CSV 데이터 저장
      */
     private void saveCsvData(List<CsvRow> rows, String outputPath) throws Exception {
-        try (FileWriter writer = new FileWriter(outputPath, StandardCharsets.UTF_8)) {
+        try (CsvOutputWriter writer = new CsvOutputWriter(outputPath)) {
             // UTF-8 BOM 추가 (Excel 호환)
             writer.write('\ufeff');
 
             for (CsvRow row : rows) {
-                if (row.isHeader()) {
-                    // 헤더 그대로 출력
-                    writer.write(String.join(",", row.getValues()) + "\n");
-                } else {
-                    // 데이터 행에서 Email 컬럼 업데이트
-                    String[] updatedValues = row.getValues();
-                    if (row.getEmailCol() >= 0 && row.getEmailCol() < updatedValues.length) {
-                        updatedValues[row.getEmailCol()] = row.getFoundEmail();
-                    }
-
-                    // CSV 형식으로 출력
-                    for (int i = 0; i < updatedValues.length; i++) {
-                        if (i > 0) writer.write(",");
-                        writer.write(csvParser.escapeCsvField(updatedValues[i]));
-                    }
-                    writer.write("\n");
-                }
+                // 헤더는 그대로, 데이터 행은 Email 컬럼만 교체해서 출력
+                csvParser.writeCsvRow(writer, row);
             }
         }
 
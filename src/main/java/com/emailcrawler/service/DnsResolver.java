@@ -0,0 +1,37 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.util.AppConfig;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * DNS 레코드 조회 방식의 공통 인터페이스
+ *
+ * - JndiDnsResolver : JDK 기본 JNDI DNS 제공자 (mx.dns.servers 가 비어 있으면 시스템 DNS 설정 사용) - 기본값
+ * - StubDnsResolver : 등록한 레코드만 돌려주는 메모리 구현 (네트워크 없이 확인할 때 사용)
+ */
+public interface DnsResolver {
+
+    /**
+     * 이름의 레코드를 조회합니다.
+     *
+     * @param name 조회할 도메인 이름 (예: example.co.kr)
+     * @param type 레코드 종류 (MX, A, AAAA)
+     * @return 레코드 값 목록 (MX는 "우선순위 메일서버" 형식), 이름은 있지만 해당 레코드가 없으면 빈 목록
+     * @throws UnknownHostException 이름이 없음 (NXDOMAIN)
+     * @throws IOException          조회 실패 (시간 초과, SERVFAIL 등)
+     */
+    List<String> lookup(String name, String type) throws IOException;
+
+    /**
+     * 설정에 맞는 DnsResolver를 반환합니다.
+     */
+    static DnsResolver fromConfig() {
+        return new JndiDnsResolver(
+                AppConfig.getString("mx.dns.servers", ""),
+                AppConfig.getInt("mx.dns.timeout-ms", 2000),
+                AppConfig.getInt("mx.dns.retries", 2));
+    }
+}
@@ -1,28 +1,108 @@
 package com.emailcrawler.service;
 
+import com.emailcrawler.model.CrawlResult;
+import com.emailcrawler.model.FetchOutcome;
+import com.emailcrawler.model.FetchResponse;
+import com.emailcrawler.service.CrawlMetrics.Phase;
+import com.emailcrawler.util.AppConfig;
+import com.emailcrawler.util.UrlUtils;
 import com.emailcrawler.util.ValidationUtils;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 웹사이트 크롤링 서비스
+ * 페이지 요청은 PageFetcher에 맡기고, 받은 본문은 HtmlPageScanner로 스트리밍 파싱합니다.
+ * 단계별 소요 시간(DNS, TTFB, 다운로드, 파싱, 추출)과 결과는 CrawlMetrics에 기록합니다.
+ * 요청 타임아웃은 관측한 응답 시간 분포로 정하고(AdaptiveTimeout), 사이트 하나(리다이렉트, 본문,
+ * 하위 페이지 포함)는 crawler.row-deadline-ms 안에 반드시 끝납니다. 처리 서비스가 행 시간 한도를 넘기면
+ * 재시도도 처음 요청과 같은 한도 안에서 끝납니다.
+ * 일시적인 실패(응답/연결 시간 초과, 연결 끊김, 5xx)는 처리 서비스가 RowCrawlState의 규칙으로
+ * 호스트 요청 간격(HostPolitenessScheduler)을 지키며 다시 실행하고, 응답할 수 없는 호스트(DNS 없음, 연결 거부 등)는 NegativeHostCache에 기억해 다음 행을 바로 실패시킵니다.
+ * 스킴이 없거나 깨진 웹사이트 값(example.co.kr, http//...)은 UrlResolver로 후보 URL을 동시에 요청해 보정합니다.
+ * 스레드 안전하므로 여러 작업이 하나의 인스턴스를 공유해도 됩니다.
  */
 public class EmailCrawlerService {
 
-    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
-    private static final int TIMEOUT = 15000; // 15초
-    private static final Pattern MAILTO_PATTERN = Pattern.compile("mailto:([^?&\\s]+)", Pattern.CASE_INSENSITIVE);
+    // 연락처 페이지 탐색 설정 (첫 페이지에서 이메일을 못 찾은 경우)
+    private static final boolean DISCOVERY_ENABLED = AppConfig.getBoolean("crawler.discovery.enabled", true);
+    private static final int DISCOVERY_MAX_PAGES = AppConfig.getInt("crawler.discovery.max-pages", 3);
+    private static final long DISCOVERY_TIME_BUDGET_MS = AppConfig.getLong("crawler.discovery.time-budget-ms", 20000);
 
-    private final EmailExtractorService emailExtractor;
+    // 같은 호스트에 대한 요청 사이 최소 간격 (하위 페이지도 이 간격을 지킴)
+    private static final long HOST_INTERVAL_MS = AppConfig.getLong("crawler.politeness.host-interval-ms", 1000);
+
+    // 사이트 하나의 전체 시간 한도 (넘으면 읽던 본문을 닫고 타임아웃으로 처리)
+    private static final long ROW_DEADLINE_MS = AppConfig.getLong("crawler.row-deadline-ms", 30000);
+
+    // 요청 타임아웃 자동 조절 (p99 x factor, [min-ms, crawler.timeout] 범위)
+    private static final boolean ADAPTIVE_TIMEOUT = AppConfig.getBoolean("crawler.timeout.adaptive", true);
+    private static final long TIMEOUT_MIN_MS = AppConfig.getLong("crawler.timeout.min-ms", 3000);
+    private static final double TIMEOUT_FACTOR = AppConfig.getDouble("crawler.timeout.factor", 3.0);
+    private static final int TIMEOUT_MIN_SAMPLES = AppConfig.getInt("crawler.timeout.min-samples", 50);
+
+    // 응답할 수 없는 호스트를 기억할 시간 (분, 0이면 사용 안 함), 연결 시간 초과는 연속 실패 횟수가 이만큼 되어야 기억
+    private static final long NEGATIVE_CACHE_TTL_MINUTES = AppConfig.getLong("crawler.negative-cache.ttl-minutes", 30);
+    private static final int NEGATIVE_CACHE_THRESHOLD = AppConfig.getInt("crawler.negative-cache.failure-threshold", 3);
+
+    // URL 보정: 다음 후보 URL을 시작하기 전에 앞 후보를 기다리는 시간 (ms)
+    private static final long URL_PROBE_STAGGER_MS = AppConfig.getLong("crawler.url-probe.stagger-ms", 250);
+
+    // 응답 하나에서 읽을 최대 본문 크기 (넘는 부분은 내려받지 않음)
+    private static final long MAX_BODY_BYTES = AppConfig.getLong("crawler.max-body-bytes", 2L * 1024 * 1024);
+
+    // 본문 스트림을 읽는 스레드 (HttpClient의 응답 스레드에서 블로킹으로 읽지 않도록 분리)
+    private static final ExecutorService SCAN_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "page-scan");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PageFetcher fetcher;
+    private final HtmlPageScanner pageScanner;
+    private final ContactPageDiscovery discovery; // 사용하지 않으면 null
+    private final HostPolitenessScheduler scheduler; // 하위 페이지 요청 슬롯 예약 (처리 서비스와 공유)
+    private final CrawlMetrics metrics = CrawlMetrics.shared();
+    private final AdaptiveTimeout requestTimeout = ADAPTIVE_TIMEOUT
+            ? new AdaptiveTimeout(TIMEOUT_MIN_MS, PageFetcher.TIMEOUT, TIMEOUT_FACTOR, TIMEOUT_MIN_SAMPLES)
+            : AdaptiveTimeout.fixed(PageFetcher.TIMEOUT);
+    private final NegativeHostCache negativeCache = NEGATIVE_CACHE_TTL_MINUTES > 0
+            ? new NegativeHostCache(NEGATIVE_CACHE_TTL_MINUTES, NEGATIVE_CACHE_THRESHOLD)
+            : null;
+    private final UrlResolver urlResolver = new UrlResolver(URL_PROBE_STAGGER_MS, SCAN_EXECUTOR);
 
     public EmailCrawlerService() {
-        this.emailExtractor = new EmailExtractorService();
+        this(PageFetcher.fromConfig(), null);
+    }
+
+    /**
+     * @param scheduler 처리 서비스가 첫 페이지 요청에 쓰는 호스트 요청 간격 스케줄러 (하위 페이지도 같은 슬롯을 예약)
+     */
+    public EmailCrawlerService(HostPolitenessScheduler scheduler) {
+        this(PageFetcher.fromConfig(), scheduler);
+    }
+
+    /**
+     * @param fetcher   페이지 요청 방식
+     * @param scheduler 호스트 요청 간격 스케줄러, null이면 이 인스턴스 전용 스케줄러 사용
+     */
+    public EmailCrawlerService(PageFetcher fetcher, HostPolitenessScheduler scheduler) {
+        this.fetcher = fetcher;
+        this.scheduler = scheduler != null ? scheduler : new HostPolitenessScheduler(HOST_INTERVAL_MS);
+        this.pageScanner = new HtmlPageScanner(new EmailExtractorService(), MAX_BODY_BYTES);
+        this.discovery = DISCOVERY_ENABLED ? new ContactPageDiscovery(DISCOVERY_MAX_PAGES) : null;
     }
 
     /**
@@ -32,65 +112,375 @@ public class EmailCrawlerService {
      * @return 발견된 첫 번째 유효한 이메일, 없으면 빈 문자열
      */
     public String crawlWebsiteForEmail(String url) {
-        if (!ValidationUtils.isValidUrl(url)) {
+        return crawl(url).getEmail();
+    }
+
+    /**
+     * 웹사이트에서 이메일을 크롤링하고 HTTP 상태와 Retry-After 정보를 함께 반환합니다.
+     *
+     * @param url 크롤링할 웹사이트 URL
+     * @return 크롤링 결과
+     */
+    public CrawlResult crawl(String url) {
+        return crawlAsync(url).join();
+    }
+
+    /**
+     * crawl과 같지만, 행 시간 한도를 넘기지 않습니다. (재시도는 남은 시간 안에서만 요청)
+     *
+     * @param url           크롤링할 웹사이트 URL
+     * @param deadlineNanos 행 시간 한도 (System.nanoTime 기준, 지금부터 crawler.row-deadline-ms보다 늦으면 그 시간까지)
+     * @return 크롤링 결과
+     */
+    public CrawlResult crawl(String url, long deadlineNanos) {
+        return crawlAsync(url, deadlineNanos).join();
+    }
+
+    /**
+     * 웹사이트에서 이메일을 비동기로 크롤링합니다.
+     *
+     * @param url 크롤링할 웹사이트 URL
+     * @return 크롤링 결과 Future (오류가 나도 예외 없이 실패 결과로 완료)
+     */
+    public CompletableFuture<CrawlResult> crawlAsync(String url) {
+        return crawlAsync(url, Long.MAX_VALUE);
+    }
+
+    /**
+     * 웹사이트에서 이메일을 비동기로 크롤링하되, 행 시간 한도를 넘기지 않습니다.
+     *
+     * @param url           크롤링할 웹사이트 URL
+     * @param deadlineNanos 행 시간 한도 (System.nanoTime 기준, 지금부터 crawler.row-deadline-ms보다 늦으면 그 시간까지)
+     * @return 크롤링 결과 Future (오류가 나도 예외 없이 실패 결과로 완료)
+     */
+    public CompletableFuture<CrawlResult> crawlAsync(String url, long deadlineNanos) {
+        // 스킴이 없거나 깨진 값은 https/http, www 유무 후보를 만들어 동시에 요청
+        List<String> candidates = ValidationUtils.isValidUrl(url)
+                ? Collections.singletonList(url.trim())
+                : UrlUtils.candidateUrls(url);
+        if (candidates.isEmpty()) {
             System.out.println("⚠️ 유효하지 않은 URL: " + url);
-            return "";
+            return CompletableFuture.completedFuture(CrawlResult.failed(FetchOutcome.ERROR, 0));
+        }
+
+        // 최근에 응답할 수 없었던 호스트/도메인이면 요청하지 않고 같은 결과로 끝냄
+        FetchOutcome knownFailure = negativeCache == null ? null : negativeCache.lookup(url);
+        if (knownFailure != null) {
+            System.out.println("⚠️ 크롤링 오류: 최근 실패한 호스트 (" + knownFailure.label() + ") - " + url);
+            metrics.recordNegativeCacheHit();
+            metrics.record(knownFailure);
+            return CompletableFuture.completedFuture(CrawlResult.failed(knownFailure, 0));
         }
 
+        long start = System.nanoTime();
+        SiteCrawl crawl = new SiteCrawl(start, deadlineNanos);
+
+        return crawlOnce(url.trim(), candidates, crawl)
+                .orTimeout(Math.max(1, crawl.remainingMillis()), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        // 행 시간 한도 초과: 읽고 있던 본문을 닫아 스캔 스레드도 풀어줌
+                        crawl.abort();
+                        System.out.println("⚠️ 크롤링 오류: 사이트 시간 한도 초과 (" + ROW_DEADLINE_MS + "ms) - " + url);
+                    } else {
+                        System.out.println("⚠️ 크롤링 오류: " + cause.getMessage());
+                    }
+                    return CrawlResult.failed(FetchOutcome.ofException(cause), 0);
+                })
+                .whenComplete((result, e) -> {
+                    metrics.record(Phase.SITE, System.nanoTime() - start);
+                    if (result != null) {
+                        metrics.record(result.getOutcome());
+                        if (negativeCache != null) {
+                            negativeCache.record(url, result.getOutcome());
+                        }
+                    }
+                });
+    }
+
+    /**
+     * 사이트를 한 번 크롤링합니다. 실패해도 예외 없이 결과 종류가 담긴 결과로 완료됩니다.
+     */
+    private CompletableFuture<CrawlResult> crawlOnce(String url, List<String> candidates, SiteCrawl crawl) {
         try {
-            // 웹페이지 가져오기
-            Document doc = Jsoup.connect(url)
-                    .userAgent(USER_AGENT)
-                    .timeout(TIMEOUT)
-                    .followRedirects(true)
-                    .get();
-
-            // 1. mailto 링크에서 우선 추출
-            String mailtoEmail = extractFromMailtoLinks(doc);
-            if (!mailtoEmail.isEmpty()) {
-                System.out.println("📧 mailto 링크에서 발견: " + mailtoEmail);
-                return mailtoEmail;
+            CompletableFuture<CrawlResult> scanned;
+            if (candidates.size() == 1) {
+                // 호스트 조회도 비동기로 해서 사이트 시간 한도(orTimeout) 안에 포함
+                String candidate = candidates.get(0);
+                scanned = CompletableFuture.supplyAsync(() -> resolveHost(candidate), SCAN_EXECUTOR)
+                        .thenCompose(resolved -> resolved
+                                ? fetchTimed(candidate, crawl)
+                                        .thenComposeAsync(response -> extractFromResponse(response, crawl), SCAN_EXECUTOR)
+                                : CompletableFuture.completedFuture(CrawlResult.failed(FetchOutcome.DNS_FAILURE, 0)));
+            } else {
+                scanned = probe(url, candidates, crawl)
+                        .thenComposeAsync(response -> extractFromResponse(response, crawl), SCAN_EXECUTOR);
             }
 
-            // 2. 페이지 텍스트에서 이메일 추출
-            String pageText = doc.text();
-            List<String> emails = emailExtractor.extractEmailsFromText(pageText);
+            return scanned
+                    .exceptionally(e -> {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        FetchOutcome outcome = FetchOutcome.ofException(cause);
+                        System.out.println("⚠️ 크롤링 오류 (" + outcome.label() + "): " + cause.getMessage() + " - " + url);
+                        return CrawlResult.failed(outcome, 0);
+                    });
+        } catch (Exception e) {
+            System.out.println("⚠️ 크롤링 오류: " + e.getMessage());
+            return CompletableFuture.completedFuture(CrawlResult.failed(FetchOutcome.ofException(e), 0));
+        }
+    }
+
+    /**
+     * 후보 URL을 동시에 요청해 처음 성공한 응답을 사용합니다. (늦게 온 응답은 UrlResolver가 닫음)
+     */
+    private CompletableFuture<FetchResponse> probe(String url, List<String> candidates, SiteCrawl crawl) {
+        return urlResolver.resolve(candidates, candidate -> fetchTimed(candidate, crawl, false), crawl.remainingMillis())
+                .thenApply(response -> {
+                    crawl.opened(response);
+                    System.out.println("🔎 URL 보정: " + url + " → " + response.getFinalUrl());
+                    return response;
+                });
+    }
+
+    /**
+     * 요청 전에 호스트 이름을 조회합니다. (DNS 시간을 따로 재고, 조회 결과는 JVM 캐시에 남아 요청에 그대로 쓰임)
+     *
+     * @return 조회에 성공했거나 조회할 호스트가 없으면 true, 호스트를 찾을 수 없으면 false
+     */
+    private boolean resolveHost(String url) {
+        String host = UrlUtils.extractHost(url);
+        if (host.isEmpty()) {
+            return true; // 요청 단계에서 오류 처리
+        }
+
+        long start = System.nanoTime();
+        try {
+            InetAddress.getAllByName(host);
+            return true;
+        } catch (UnknownHostException e) {
+            System.out.println("⚠️ 크롤링 오류: 호스트를 찾을 수 없음 - " + url);
+            return false;
+        } finally {
+            metrics.record(Phase.DNS, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 페이지를 요청하고 응답 헤더를 받기까지의 시간(TTFB)을 기록합니다.
+     * 타임아웃은 자동 조절 값과 사이트 남은 시간 중 짧은 쪽입니다.
+     */
+    private CompletableFuture<FetchResponse> fetchTimed(String url, SiteCrawl crawl) {
+        return fetchTimed(url, crawl, true);
+    }
+
+    /**
+     * @param track 받은 응답을 사이트 시간 한도 초과 시 닫을 응답으로 등록할지 여부 (후보 요청은 고른 뒤에 등록)
+     */
+    private CompletableFuture<FetchResponse> fetchTimed(String url, SiteCrawl crawl, boolean track) {
+        long adaptiveMs = requestTimeout.currentMillis();
+        long timeoutMs = Math.max(1, Math.min(adaptiveMs, crawl.remainingMillis()));
+        long start = System.nanoTime();
 
-            // 첫 번째 유효한 이메일 반환
-            for (String email : emails) {
-                email = email.toLowerCase().trim();
-                if (ValidationUtils.isValidEmail(email)) {
-//                    System.out.println("📧 페이지에서 발견: " + email);
-                    return email;
+        return fetcher.fetchAsync(url, timeoutMs).whenComplete((response, e) -> {
+            if (response != null) {
+                long elapsed = System.nanoTime() - start;
+                metrics.record(Phase.TTFB, elapsed);
+                requestTimeout.recordSuccess(elapsed);
+                if (track) {
+                    crawl.opened(response);
                 }
+            } else if (timeoutMs == adaptiveMs && FetchOutcome.ofException(e) == FetchOutcome.TIMEOUT) {
+                // 사이트 남은 시간 때문에 줄어든 타임아웃은 응답 시간 분포에 넣지 않음
+                requestTimeout.recordTimeout(timeoutMs);
             }
+        });
+    }
+
+    /**
+     * 첫 페이지 응답에서 이메일을 찾고, 없으면 연락처 후보 페이지를 탐색합니다.
+     *
+     * @param crawl 사이트 크롤링 상태 (시간 한도, 열린 응답)
+     */
+    private CompletableFuture<CrawlResult> extractFromResponse(FetchResponse response, SiteCrawl crawl) {
+        int status = response.getStatusCode();
+        if (status >= 400) {
+            System.out.println("⚠️ 크롤링 오류: HTTP " + status + " - " + response.getFinalUrl());
+            response.close();
+            return CompletableFuture.completedFuture(
+                    CrawlResult.httpError(status, parseRetryAfter(response.header("Retry-After"))));
+        }
 
-//            System.out.println("❌ 유효한 이메일을 찾을 수 없음");
-            return "";
+        String skipReason = checkBeforeDownload(response);
+        if (skipReason != null) {
+            response.close();
+            System.out.println("⚠️ 크롤링 오류: " + skipReason + " - " + response.getFinalUrl());
+            return CompletableFuture.completedFuture(CrawlResult.failed(FetchOutcome.SKIPPED, status));
+        }
 
+        HtmlPageScanner.PageScan scan;
+        try {
+            scan = pageScanner.scan(response);
+            recordScan(scan);
         } catch (Exception e) {
             System.out.println("⚠️ 크롤링 오류: " + e.getMessage());
-            return "";
+            return CompletableFuture.completedFuture(CrawlResult.failed(FetchOutcome.ofException(e), status));
+        }
+
+        String email = scan.getEmail();
+        if (!email.isEmpty() || discovery == null) {
+            return CompletableFuture.completedFuture(toResult(email, status));
         }
+
+        // 첫 페이지에 없으면 연락처/회사소개 등 같은 호스트의 후보 페이지 탐색
+        return crawlSubPages(discovery.findCandidates(scan.getDocument()), 0, crawl)
+                .thenApply(found -> toResult(found, status));
+    }
+
+    private CrawlResult toResult(String email, int status) {
+        return email.isEmpty() ? CrawlResult.failed(FetchOutcome.NOT_FOUND, status) : CrawlResult.found(email, status);
     }
 
     /**
-     * mailto 링크에서 이메일 추출
+     * 후보 페이지를 순서대로 방문하다가 이메일을 찾으면 멈춥니다. (시간 한도를 넘으면 중단)
+     * 페이지마다 호스트 요청 슬롯을 예약하고, 차례가 될 때까지 스레드를 붙잡지 않고 기다렸다가 요청합니다.
      */
-    private String extractFromMailtoLinks(Document doc) {
-        Elements mailtoLinks = doc.select("a[href^=mailto:]");
+    private CompletableFuture<String> crawlSubPages(List<String> urls, int index, SiteCrawl crawl) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(crawl.discoveryDeadline - System.nanoTime());
+        if (index >= urls.size() || remainingMs <= 0) {
+            return CompletableFuture.completedFuture("");
+        }
 
-        for (Element link : mailtoLinks) {
-            String href = link.attr("href");
-            Matcher matcher = MAILTO_PATTERN.matcher(href);
-            if (matcher.find()) {
-                String email = matcher.group(1).toLowerCase().trim();
-                if (ValidationUtils.isValidEmail(email)) {
-                    return email;
-                }
+        String url = urls.get(index);
+        long waitMs = scheduler.reserve(UrlUtils.extractHost(url));
+        if (waitMs >= remainingMs) {
+            return CompletableFuture.completedFuture(""); // 차례가 오기 전에 탐색 시간 한도를 넘김
+        }
+
+        CompletableFuture<FetchResponse> fetched = waitMs <= 0
+                ? fetchTimed(url, crawl)
+                : CompletableFuture.supplyAsync(() -> url, CompletableFuture.delayedExecutor(waitMs, TimeUnit.MILLISECONDS, SCAN_EXECUTOR))
+                        .thenCompose(ignored -> fetchTimed(url, crawl));
+        return fetched
+                .orTimeout(remainingMs, TimeUnit.MILLISECONDS)
+                .thenApplyAsync(response -> {
+                    if (response.getStatusCode() >= 400 || checkBeforeDownload(response) != null) {
+                        response.close();
+                        return "";
+                    }
+                    HtmlPageScanner.PageScan scan = scanPage(response);
+                    return scan == null ? "" : scan.getEmail();
+                }, SCAN_EXECUTOR)
+                .exceptionally(e -> "")
+                .thenCompose(email -> {
+                    if (!email.isEmpty()) {
+                        System.out.println("📧 하위 페이지에서 발견: " + url);
+                        return CompletableFuture.completedFuture(email);
+                    }
+                    return crawlSubPages(urls, index + 1, crawl);
+                });
+    }
+
+    /**
+     * 본문을 내려받기 전에 헤더만으로 건너뛸 응답인지 판단합니다.
+     * HTML이 아닌 응답(PDF, 이미지 등)이나 빈 본문은 받지 않고 바로 닫습니다.
+     *
+     * @return 건너뛸 이유, 본문을 읽어도 되면 null
+     */
+    private String checkBeforeDownload(FetchResponse response) {
+        if (!response.isHtml()) {
+            return "지원하지 않는 콘텐츠 형식 (" + response.getMimeType() + ")";
+        }
+
+        // 크기가 한도를 넘는 본문은 HtmlPageScanner가 앞부분만 읽고 끊음
+        if (response.getContentLength() == 0) {
+            return "빈 본문";
+        }
+        return null;
+    }
+
+    /**
+     * 응답 본문을 스트리밍으로 파싱하며 이메일을 찾습니다.
+     *
+     * @return 스캔 결과, 실패하면 null
+     */
+    private HtmlPageScanner.PageScan scanPage(FetchResponse response) {
+        try {
+            HtmlPageScanner.PageScan scan = pageScanner.scan(response);
+            recordScan(scan);
+            return scan;
+        } catch (Exception e) {
+            System.out.println("⚠️ 크롤링 오류: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void recordScan(HtmlPageScanner.PageScan scan) {
+        metrics.record(Phase.DOWNLOAD, scan.getDownloadNanos());
+        metrics.record(Phase.PARSE, scan.getParseNanos());
+        metrics.record(Phase.EXTRACT, scan.getExtractNanos());
+    }
+
+    /**
+     * Retry-After 헤더 값(초 또는 HTTP 날짜)을 밀리초로 변환합니다.
+     */
+    private long parseRetryAfter(String value) {
+        if (ValidationUtils.isEmpty(value)) {
+            return 0;
+        }
+
+        value = value.trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (Exception ignored) {
+                return 0;
             }
         }
+    }
+
+    /**
+     * 사이트 하나를 크롤링하는 동안의 상태 (시간 한도, 지금 읽고 있는 응답)
+     */
+    private static class SiteCrawl {
+        final long deadline;          // 사이트 전체 시간 한도 (System.nanoTime 기준)
+        final long discoveryDeadline; // 하위 페이지 탐색 시간 한도 (전체 한도를 넘지 않음)
+        private FetchResponse openResponse;
+        private boolean aborted = false;
+
+        SiteCrawl(long startNanos, long rowDeadlineNanos) {
+            long siteDeadline = startNanos + TimeUnit.MILLISECONDS.toNanos(ROW_DEADLINE_MS);
+            this.deadline = rowDeadlineNanos - siteDeadline < 0 ? rowDeadlineNanos : siteDeadline;
+            this.discoveryDeadline = Math.min(deadline, startNanos + TimeUnit.MILLISECONDS.toNanos(DISCOVERY_TIME_BUDGET_MS));
+        }
 
-        return "";
+        long remainingMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        }
+
+        /**
+         * 받은 응답을 기억합니다. 이미 시간 한도를 넘겼으면 바로 닫습니다.
+         */
+        synchronized void opened(FetchResponse response) {
+            if (aborted) {
+                response.close();
+            } else {
+                openResponse = response;
+            }
+        }
+
+        /**
+         * 시간 한도를 넘겼을 때 읽고 있던 응답을 닫습니다. (막혀 있던 본문 읽기가 끝남)
+         */
+        synchronized void abort() {
+            aborted = true;
+            if (openResponse != null) {
+                openResponse.close();
+                openResponse = null;
+            }
+        }
     }
-}
\ No newline at end of file
+}
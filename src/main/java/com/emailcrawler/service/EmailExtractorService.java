@@ -2,65 +2,273 @@ package com.emailcrawler.service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 텍스트에서 이메일을 추출하는 서비스
+ *
+ * 정규식 세 개를 차례로 돌리는 대신, 텍스트를 한 번만 훑으면서 "@", "[at]", "(at)" 위치를 기준으로
+ * 왼쪽(로컬 파트)과 오른쪽(도메인)으로 확장해 이메일을 찾습니다.
+ * 문자열은 검증을 통과한 결과에 대해서만 만듭니다.
+ *
+ * 인식하는 형식 (기존 정규식과 동일)
+ *   일반    : \b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}\b
+ *   난독화  : \b[A-Za-z0-9._%+-]+\s*[at]\s*[A-Za-z0-9.-]+\.[A-Za-z]{2,}\b  ("(at)"도 동일, 대소문자 무시)
+ * 단어 경계(\b)는 ASCII 영문/숫자/_ 기준입니다. (JDK 19 이상의 정규식과 같음, 한글에 바로 붙은 이메일도 찾음)
+ * "[AT]"처럼 대문자로 쓴 난독화 형식도 "@"로 바꿔 반환합니다.
  */
 public class EmailExtractorService {
 
-    // 이메일 정규식 패턴들
-    private static final Pattern EMAIL_PATTERN =
-            Pattern.compile("\\b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Z|a-z]{2,}\\b");
-    private static final Pattern OBFUSCATED_AT_PATTERN =
-            Pattern.compile("\\b[A-Za-z0-9._%+-]+\\s*\\[at\\]\\s*[A-Za-z0-9.-]+\\.[A-Z|a-z]{2,}\\b", Pattern.CASE_INSENSITIVE);
-    private static final Pattern OBFUSCATED_PAREN_PATTERN =
-            Pattern.compile("\\b[A-Za-z0-9._%+-]+\\s*\\(at\\)\\s*[A-Za-z0-9.-]+\\.[A-Z|a-z]{2,}\\b", Pattern.CASE_INSENSITIVE);
+    private static final int MAX_EMAIL_LENGTH = 254;
+
+    // 이메일로 보이지만 실제로는 파일명인 경우 (ValidationUtils.INVALID_EMAIL_EXTENSIONS와 동일)
+    private static final String[] INVALID_TLDS = {"png", "jpg", "jpeg", "gif", "pdf", "doc", "docx", "hwp"};
 
     /**
      * 텍스트에서 이메일 주소를 추출합니다.
+     * 일반 형식, "[at]" 형식, "(at)" 형식 순서로 반환합니다. (기존 정규식 세 개를 차례로 돌린 순서)
      *
      * @param text 검색할 텍스트
      * @return 발견된 이메일 리스트
      */
     public List<String> extractEmailsFromText(String text) {
+        List<String> emails = new ArrayList<>();
         if (text == null || text.trim().isEmpty()) {
-            return new ArrayList<>();
+            return emails;
         }
 
-        List<String> emails = new ArrayList<>();
+        List<String> bracket = new ArrayList<>();
+        List<String> paren = new ArrayList<>();
+        scan(text, emails, bracket, paren, false);
+        emails.addAll(bracket);
+        emails.addAll(paren);
+        return emails;
+    }
+
+    /**
+     * 텍스트에서 첫 번째 유효한 이메일을 찾습니다. (소문자로 반환)
+     * 일반 형식을 찾으면 바로 멈추고, 난독화 형식은 일반 형식이 없을 때만 사용합니다. ("[at]" 형식 우선)
+     *
+     * @param text 검색할 텍스트
+     * @return 유효한 이메일, 없으면 빈 문자열
+     */
+    public String findFirstValidEmail(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return "";
+        }
+
+        List<String> plain = new ArrayList<>(1);
+        List<String> bracket = new ArrayList<>(1);
+        List<String> paren = new ArrayList<>(1);
+        scan(text, plain, bracket, paren, true);
+
+        if (!plain.isEmpty()) {
+            return plain.get(0);
+        }
+        if (!bracket.isEmpty()) {
+            return bracket.get(0);
+        }
+        return paren.isEmpty() ? "" : paren.get(0);
+    }
+
+    /**
+     * 텍스트를 한 번 훑으며 이메일을 찾습니다.
+     *
+     * @param validOnly true면 유효성 검사(길이, 파일 확장자)를 통과한 것만 소문자로 모으고 첫 일반 이메일에서 멈춤
+     */
+    private void scan(CharSequence text, List<String> plain, List<String> bracket, List<String> paren, boolean validOnly) {
+        int length = text.length();
+        int plainEnd = 0;   // 일반 형식 매치가 겹치지 않도록 마지막 매치 끝 위치
+        int bracketEnd = 0; // "[at]" 형식 매치의 마지막 끝 위치 (형식마다 따로 매치하므로 따로 관리)
+        int parenEnd = 0;   // "(at)" 형식 매치의 마지막 끝 위치
 
-        // 1. 일반적인 이메일 패턴
-        addMatchesToList(emails, EMAIL_PATTERN.matcher(text));
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
 
-        // 2. [at] 형태의 난독화된 이메일
-        Matcher atMatcher = OBFUSCATED_AT_PATTERN.matcher(text);
-        while (atMatcher.find()) {
-            String email = atMatcher.group()
-                    .replaceAll("\\[at\\]", "@")
-                    .replaceAll("\\s", "");
-            emails.add(email);
+            if (c == '@') {
+                int end = matchAt(text, i, i, i + 1, plainEnd, plain, validOnly);
+                if (end > 0) {
+                    plainEnd = end;
+                    i = end - 1;
+                    if (validOnly && !plain.isEmpty()) {
+                        return;
+                    }
+                }
+            } else if ((c == '[' || c == '(') && isAtAnchor(text, i)) {
+                List<String> obfuscated = c == '[' ? bracket : paren;
+                if (validOnly && !obfuscated.isEmpty()) {
+                    continue; // 이미 후보가 있음, 일반 형식만 계속 찾음
+                }
+                int localEnd = skipWhitespaceBackward(text, i);
+                int domainStart = skipWhitespaceForward(text, i + 4);
+                int end = matchAt(text, localEnd, i, domainStart, c == '[' ? bracketEnd : parenEnd, obfuscated, validOnly);
+                if (end > 0) {
+                    if (c == '[') {
+                        bracketEnd = end;
+                    } else {
+                        parenEnd = end;
+                    }
+                }
+            }
         }
+    }
 
-        // 3. (at) 형태의 난독화된 이메일
-        Matcher parenMatcher = OBFUSCATED_PAREN_PATTERN.matcher(text);
-        while (parenMatcher.find()) {
-            String email = parenMatcher.group()
-                    .replaceAll("\\(at\\)", "@")
-                    .replaceAll("\\s", "");
-            emails.add(email);
+    /**
+     * 기준 위치에서 왼쪽(로컬 파트)과 오른쪽(도메인)으로 확장해 이메일인지 확인합니다.
+     *
+     * @param localEnd    로컬 파트 끝 (배타적)
+     * @param anchor      "@" 또는 "[at]"/"(at)" 시작 위치
+     * @param domainStart 도메인 시작 위치
+     * @param minStart    이전 매치와 겹치지 않도록 하는 시작 위치 하한
+     * @return 매치 끝 위치 (배타적), 매치가 없으면 -1
+     */
+    private int matchAt(CharSequence text, int localEnd, int anchor, int domainStart, int minStart,
+                        List<String> out, boolean validOnly) {
+        // 로컬 파트: 왼쪽으로 최대한 확장한 뒤, 단어 경계(\b)가 되는 가장 왼쪽 위치에서 시작
+        int localStart = localEnd;
+        while (localStart > minStart && isLocalChar(text.charAt(localStart - 1))) {
+            localStart--;
+        }
+        while (localStart < localEnd && !isWordBoundary(text, localStart)) {
+            localStart++;
+        }
+        if (localStart >= localEnd) {
+            return -1;
         }
 
-        return emails;
+        // 도메인: 오른쪽으로 최대한 확장한 뒤, ".영문2자 이상" + 단어 경계로 끝나는 가장 긴 위치를 찾음
+        int domainMax = domainStart;
+        while (domainMax < text.length() && isDomainChar(text.charAt(domainMax))) {
+            domainMax++;
+        }
+        int domainEnd = findDomainEnd(text, domainStart, domainMax);
+        if (domainEnd < 0) {
+            return -1;
+        }
+
+        if (validOnly && !isValidCandidate(text, localStart, localEnd, domainStart, domainEnd)) {
+            return domainEnd;
+        }
+
+        StringBuilder email = new StringBuilder((localEnd - localStart) + 1 + (domainEnd - domainStart));
+        email.append(text, localStart, localEnd).append('@').append(text, domainStart, domainEnd);
+        out.add(validOnly ? email.toString().toLowerCase() : email.toString());
+        return domainEnd;
     }
 
     /**
-     * 매처의 결과를 리스트에 추가
+     * 도메인 끝 위치를 찾습니다. ([A-Za-z0-9.-]+\.[A-Za-z]{2,}\b 를 만족하는 가장 긴 위치)
+     *
+     * @return 도메인 끝 위치 (배타적), 없으면 -1
      */
-    private void addMatchesToList(List<String> emails, Matcher matcher) {
-        while (matcher.find()) {
-            emails.add(matcher.group());
+    private int findDomainEnd(CharSequence text, int domainStart, int domainMax) {
+        for (int end = domainMax; end >= domainStart + 4; end--) {
+            if (!isAsciiLetter(text.charAt(end - 1))) {
+                continue;
+            }
+            if (end < text.length() && isWordChar(text.charAt(end))) {
+                continue; // \b 조건 불만족
+            }
+
+            int tldStart = end - 1;
+            while (tldStart > domainStart && isAsciiLetter(text.charAt(tldStart - 1))) {
+                tldStart--;
+            }
+            // 최상위 도메인 앞에 "."과 최소 한 글자의 도메인이 있어야 함
+            if (end - tldStart >= 2 && tldStart - 1 > domainStart && text.charAt(tldStart - 1) == '.') {
+                return end;
+            }
         }
+        return -1;
+    }
+
+    /**
+     * ValidationUtils.isValidEmail()과 같은 조건(길이, 파일 확장자)을 제자리에서 검사합니다.
+     */
+    private boolean isValidCandidate(CharSequence text, int localStart, int localEnd, int domainStart, int domainEnd) {
+        int length = (localEnd - localStart) + 1 + (domainEnd - domainStart);
+        if (length > MAX_EMAIL_LENGTH) {
+            return false;
+        }
+
+        int tldStart = domainEnd;
+        while (tldStart > domainStart && text.charAt(tldStart - 1) != '.') {
+            tldStart--;
+        }
+        for (String invalid : INVALID_TLDS) {
+            if (regionEqualsIgnoreCase(text, tldStart, domainEnd, invalid)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 위치 i에서 "[at]" 또는 "(at)"가 시작되는지 확인합니다. (대소문자 무시)
+     */
+    private boolean isAtAnchor(CharSequence text, int i) {
+        if (i + 3 >= text.length()) {
+            return false;
+        }
+        char open = text.charAt(i);
+        char close = open == '[' ? ']' : ')';
+        char a = text.charAt(i + 1);
+        char t = text.charAt(i + 2);
+        return (a == 'a' || a == 'A') && (t == 't' || t == 'T') && text.charAt(i + 3) == close;
+    }
+
+    private int skipWhitespaceBackward(CharSequence text, int i) {
+        while (i > 0 && isWhitespace(text.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private int skipWhitespaceForward(CharSequence text, int i) {
+        while (i < text.length() && isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean regionEqualsIgnoreCase(CharSequence text, int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase(text.charAt(start + i)) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isWordBoundary(CharSequence text, int i) {
+        boolean before = i > 0 && isWordChar(text.charAt(i - 1));
+        boolean after = i < text.length() && isWordChar(text.charAt(i));
+        return before != after;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '_';
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '.' || c == '-';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
-}
\ No newline at end of file
+}
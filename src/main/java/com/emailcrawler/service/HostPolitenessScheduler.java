@@ -0,0 +1,134 @@
+package com.emailcrawler.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 호스트별 요청 간격 스케줄러
+ *
+ * 같은 호스트에는 최소 간격(minIntervalMs)을 두고 요청하도록 시간 슬롯을 예약합니다.
+ * 아직 차례가 아닌 작업은 스레드를 붙잡고 sleep 하지 않고, 차례가 되었을 때 다시 제출되므로
+ * 작업 스레드는 항상 지금 요청 가능한 호스트의 행을 처리합니다.
+ * 429 / Retry-After 응답을 받으면 해당 호스트를 그 시간만큼 쉬게 합니다.
+ */
+public class HostPolitenessScheduler {
+
+    private static final int PRUNE_THRESHOLD = 10_000; // 이 개수를 넘으면 한가한 호스트 정보 정리
+    private static final int PRUNE_EVERY = 1_000;      // 정리 시도 주기 (예약 횟수)
+
+    private final long minIntervalNanos;
+    private final Map<String, HostState> hosts = new ConcurrentHashMap<>();
+    private final AtomicInteger reserveCount = new AtomicInteger(0);
+    private final ScheduledExecutorService timer;
+
+    /**
+     * @param minIntervalMs 같은 호스트에 대한 요청 사이 최소 간격 (ms)
+     */
+    public HostPolitenessScheduler(long minIntervalMs) {
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMs);
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "politeness-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 호스트의 다음 요청 슬롯을 예약합니다.
+     *
+     * @param host 요청할 호스트
+     * @return 예약된 슬롯까지 남은 시간 (ms), 지금 바로 요청 가능하면 0
+     */
+    public long reserve(String host) {
+        if (host == null || host.isEmpty()) {
+            return 0;
+        }
+        pruneIfNeeded();
+
+        HostState state = hosts.computeIfAbsent(host, h -> new HostState());
+        long now = System.nanoTime();
+        synchronized (state) {
+            long start = Math.max(now, Math.max(state.nextSlot, state.blockedUntil));
+            state.nextSlot = start + minIntervalNanos;
+            return TimeUnit.NANOSECONDS.toMillis(start - now);
+        }
+    }
+
+    /**
+     * 호스트가 Retry-After 대기 중인지 확인합니다.
+     */
+    public boolean isBlocked(String host) {
+        HostState state = hosts.get(host);
+        if (state == null) {
+            return false;
+        }
+        synchronized (state) {
+            return state.blockedUntil > System.nanoTime();
+        }
+    }
+
+    /**
+     * 429 / Retry-After 응답을 받은 호스트를 지정한 시간 동안 쉬게 합니다.
+     *
+     * @param host    대상 호스트
+     * @param delayMs 대기 시간 (ms)
+     */
+    public void backoff(String host, long delayMs) {
+        if (host == null || host.isEmpty()) {
+            return;
+        }
+
+        HostState state = hosts.computeIfAbsent(host, h -> new HostState());
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        synchronized (state) {
+            state.blockedUntil = Math.max(state.blockedUntil, until);
+        }
+    }
+
+    /**
+     * 지정한 시간이 지난 뒤 작업을 executor로 다시 제출합니다.
+     */
+    public void runLater(Runnable task, long delayMs, Executor executor) {
+        timer.schedule(() -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                System.err.println("❌ 작업 재제출 실패: " + e.getMessage());
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * 예약이 끝났고 대기 중이 아닌 호스트 정보를 정리합니다. (서로 다른 호스트가 많은 경우 메모리 관리)
+     */
+    private void pruneIfNeeded() {
+        if (reserveCount.incrementAndGet() % PRUNE_EVERY != 0 || hosts.size() < PRUNE_THRESHOLD) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        hosts.values().removeIf(state -> {
+            synchronized (state) {
+                return state.nextSlot < now && state.blockedUntil < now;
+            }
+        });
+    }
+
+    /**
+     * 호스트별 예약 상태
+     */
+    private static class HostState {
+        private long nextSlot = Long.MIN_VALUE;     // 다음 요청 가능 시각 (nanoTime)
+        private long blockedUntil = Long.MIN_VALUE; // Retry-After 대기 종료 시각 (nanoTime)
+    }
+}
@@ -0,0 +1,245 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.FetchResponse;
+import com.emailcrawler.util.LimitedInputStream;
+import com.emailcrawler.util.ValidationUtils;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Elements;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTML 응답을 스트리밍으로 파싱하면서 이메일을 찾는 스캐너
+ *
+ * 응답 본문을 전부 받아 Document와 doc.text()를 만드는 대신, Jsoup StreamParser로 요소가 닫힐 때마다
+ * mailto 링크와 텍스트 노드를 검사합니다. 유효한 이메일을 찾으면 파싱을 멈추고 스트림을 닫아
+ * 나머지 다운로드를 취소합니다.
+ * 끝까지 못 찾은 경우에만 완성된 문서로 기존 방식(mailto → 전체 텍스트) 검사를 한 번 더 합니다.
+ * (여러 인라인 태그로 쪼개진 이메일 처리, 연락처 페이지 탐색에 문서가 필요함)
+ * 본문은 응답당 바이트 한도까지만 읽고, 넘는 부분은 내려받지 않습니다.
+ * 스캔 시간은 다운로드(스트림 대기), 이메일 추출, 나머지(파싱)로 나눠 결과에 담습니다.
+ */
+public class HtmlPageScanner {
+
+    private static final Pattern MAILTO_PATTERN = Pattern.compile("mailto:([^?&\\s]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern META_CHARSET_PATTERN = Pattern.compile(
+            "<meta[^>]+charset\\s*=\\s*[\"']?\\s*([A-Za-z0-9._:-]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final int CHARSET_SNIFF_BYTES = 4096; // meta charset을 찾을 본문 앞부분 크기
+
+    private final EmailExtractorService emailExtractor;
+    private final long maxBodyBytes;
+
+    /**
+     * @param maxBodyBytes 응답 하나에서 읽을 최대 바이트 수
+     */
+    public HtmlPageScanner(EmailExtractorService emailExtractor, long maxBodyBytes) {
+        this.emailExtractor = emailExtractor;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * 응답 본문을 스트리밍으로 파싱하며 이메일을 찾습니다. 응답은 항상 닫힙니다.
+     *
+     * @param response HTML 응답
+     * @return 스캔 결과 (이메일을 중간에 찾았으면 문서는 null)
+     */
+    public PageScan scan(FetchResponse response) throws IOException {
+        long start = System.nanoTime();
+        long extractNanos = 0;
+
+        try (response;
+             StreamParser parser = new StreamParser(Parser.htmlParser())) {
+
+            LimitedInputStream body = new LimitedInputStream(response.getBodyStream(), maxBodyBytes);
+            parser.parse(openReader(body, response.getCharset()), response.getFinalUrl());
+
+            Iterator<Element> elements = parser.iterator();
+            while (elements.hasNext()) {
+                Element element = elements.next();
+                long extractStart = System.nanoTime();
+
+                if ("a".equals(element.normalName())) {
+                    String mailtoEmail = extractFromMailto(element);
+                    if (!mailtoEmail.isEmpty()) {
+                        System.out.println("📧 mailto 링크에서 발견: " + mailtoEmail);
+                        parser.stop();
+                        extractNanos += System.nanoTime() - extractStart;
+                        return new PageScan(mailtoEmail, null, body, start, extractNanos);
+                    }
+                }
+
+                for (TextNode textNode : element.textNodes()) {
+                    String email = emailExtractor.findFirstValidEmail(textNode.getWholeText());
+                    if (!email.isEmpty()) {
+                        parser.stop();
+                        extractNanos += System.nanoTime() - extractStart;
+                        return new PageScan(email, null, body, start, extractNanos);
+                    }
+                }
+                extractNanos += System.nanoTime() - extractStart;
+            }
+
+            if (body.isTruncated()) {
+                System.out.println("✂️ 본문이 " + maxBodyBytes + "바이트를 넘어 앞부분만 검사: " + response.getFinalUrl());
+            }
+
+            // 끝까지 읽었으면 완성된 문서로 한 번 더 확인
+            Document doc = parser.document();
+            long extractStart = System.nanoTime();
+            String email = findEmail(doc);
+            extractNanos += System.nanoTime() - extractStart;
+            return new PageScan(email, doc, body, start, extractNanos);
+        }
+    }
+
+    /**
+     * 문서에서 첫 번째 유효한 이메일을 찾습니다. (mailto 링크 우선, 다음은 페이지 텍스트)
+     *
+     * @return 이메일, 없으면 빈 문자열
+     */
+    public String findEmail(Document doc) {
+        Elements mailtoLinks = doc.select("a[href^=mailto:]");
+        for (Element link : mailtoLinks) {
+            String email = extractFromMailto(link);
+            if (!email.isEmpty()) {
+                System.out.println("📧 mailto 링크에서 발견: " + email);
+                return email;
+            }
+        }
+
+        return emailExtractor.findFirstValidEmail(doc.text());
+    }
+
+    /**
+     * mailto 링크에서 유효한 이메일을 추출합니다.
+     *
+     * @return 이메일, mailto 링크가 아니거나 유효하지 않으면 빈 문자열
+     */
+    private String extractFromMailto(Element link) {
+        String href = link.attr("href");
+        if (!href.regionMatches(true, 0, "mailto:", 0, 7)) {
+            return "";
+        }
+
+        Matcher matcher = MAILTO_PATTERN.matcher(href);
+        if (matcher.find()) {
+            String email = matcher.group(1).toLowerCase().trim();
+            if (ValidationUtils.isValidEmail(email)) {
+                return email;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * 본문 스트림을 문자셋에 맞는 Reader로 엽니다.
+     * 헤더에 문자셋이 없으면 BOM과 앞부분의 meta 태그로 판단하고, 그래도 없으면 UTF-8을 사용합니다.
+     */
+    private Reader openReader(InputStream body, String charset) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(body, CHARSET_SNIFF_BYTES * 2);
+
+        if (charset == null) {
+            charset = sniffCharset(in);
+        }
+        return new InputStreamReader(in, Charset.forName(charset));
+    }
+
+    /**
+     * 본문 앞부분을 미리 읽어 문자셋을 판단합니다. (읽은 위치는 되돌림)
+     */
+    private String sniffCharset(BufferedInputStream in) throws IOException {
+        in.mark(CHARSET_SNIFF_BYTES);
+        byte[] head = new byte[CHARSET_SNIFF_BYTES];
+        int length = readFully(in, head);
+        in.reset();
+
+        if (length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            in.skip(3);
+            return StandardCharsets.UTF_8.name();
+        }
+        if (length >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) {
+            return StandardCharsets.UTF_16BE.name();
+        }
+        if (length >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) {
+            return StandardCharsets.UTF_16LE.name();
+        }
+
+        Matcher matcher = META_CHARSET_PATTERN.matcher(new String(head, 0, length, StandardCharsets.ISO_8859_1));
+        if (matcher.find()) {
+            String charset = matcher.group(1);
+            try {
+                if (Charset.isSupported(charset)) {
+                    return charset;
+                }
+            } catch (IllegalArgumentException ignored) {
+                // 잘못된 문자셋 이름
+            }
+        }
+        return StandardCharsets.UTF_8.name();
+    }
+
+    private int readFully(InputStream in, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = in.read(buffer, total, buffer.length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * 페이지 스캔 결과
+     */
+    public static class PageScan {
+        private final String email;
+        private final Document document;
+        private final long bytesRead;
+        private final long downloadNanos;
+        private final long extractNanos;
+        private final long parseNanos;
+
+        PageScan(String email, Document document, LimitedInputStream body, long startNanos, long extractNanos) {
+            this.email = email == null ? "" : email;
+            this.document = document;
+            this.bytesRead = body.getBytesRead();
+            this.downloadNanos = body.getReadNanos();
+            this.extractNanos = extractNanos;
+            this.parseNanos = Math.max(0, System.nanoTime() - startNanos - downloadNanos - extractNanos);
+        }
+
+        /** 찾은 이메일, 없으면 빈 문자열 */
+        public String getEmail() { return email; }
+
+        /** 끝까지 파싱한 문서 (이메일을 중간에 찾았으면 null) */
+        public Document getDocument() { return document; }
+
+        /** 읽은 본문 바이트 수 */
+        public long getBytesRead() { return bytesRead; }
+
+        /** 본문 스트림을 기다린 시간 (나노초) */
+        public long getDownloadNanos() { return downloadNanos; }
+
+        /** 이메일 추출에 쓴 시간 (나노초) */
+        public long getExtractNanos() { return extractNanos; }
+
+        /** 다운로드와 추출을 뺀 파싱 시간 (나노초) */
+        public long getParseNanos() { return parseNanos; }
+    }
+}
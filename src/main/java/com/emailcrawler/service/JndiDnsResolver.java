@@ -0,0 +1,88 @@
+package com.emailcrawler.service;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+import javax.naming.Context;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+
+/**
+ * JDK 기본 JNDI DNS 제공자(com.sun.jndi.dns)로 레코드를 조회하는 DnsResolver
+ *
+ * DirContext는 스레드 간에 공유하지 않고 조회 스레드마다 하나씩 만들어 재사용합니다.
+ */
+public class JndiDnsResolver implements DnsResolver {
+
+    private final Hashtable<String, String> env = new Hashtable<>();
+    private final ThreadLocal<DirContext> contexts = new ThreadLocal<>();
+
+    /**
+     * @param servers   DNS 서버 목록 (공백으로 구분, 예: "8.8.8.8 1.1.1.1"), 비어 있으면 시스템 DNS 설정
+     * @param timeoutMs 첫 요청의 응답 대기 시간 (ms, 재시도마다 두 배)
+     * @param retries   서버마다 재시도 횟수
+     */
+    public JndiDnsResolver(String servers, int timeoutMs, int retries) {
+        env.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.dns.DnsContextFactory");
+        env.put(Context.PROVIDER_URL, providerUrl(servers));
+        env.put("com.sun.jndi.dns.timeout.initial", String.valueOf(timeoutMs));
+        env.put("com.sun.jndi.dns.timeout.retries", String.valueOf(retries));
+    }
+
+    @Override
+    public List<String> lookup(String name, String type) throws IOException {
+        try {
+            Attributes attributes = context().getAttributes(name, new String[]{type});
+            Attribute attribute = attributes.get(type);
+            if (attribute == null) {
+                return Collections.emptyList();
+            }
+
+            List<String> values = new ArrayList<>();
+            NamingEnumeration<?> all = attribute.getAll();
+            while (all.hasMore()) {
+                values.add(String.valueOf(all.next()));
+            }
+            return values;
+        } catch (NameNotFoundException e) {
+            throw new UnknownHostException(name);
+        } catch (NamingException e) {
+            contexts.remove(); // 통신 오류 뒤에는 새 컨텍스트로 다시 시작
+            throw new IOException("DNS 조회 실패 (" + name + " " + type + "): " + e.getMessage(), e);
+        }
+    }
+
+    private DirContext context() throws NamingException {
+        DirContext context = contexts.get();
+        if (context == null) {
+            context = new InitialDirContext(env);
+            contexts.set(context);
+        }
+        return context;
+    }
+
+    /**
+     * JNDI 제공자 URL (예: "dns://8.8.8.8 dns://1.1.1.1", 서버가 없으면 "dns:")
+     */
+    private static String providerUrl(String servers) {
+        StringBuilder url = new StringBuilder();
+        for (String server : servers.trim().split("[\\s,]+")) {
+            if (server.isEmpty()) {
+                continue;
+            }
+            if (url.length() > 0) {
+                url.append(' ');
+            }
+            url.append(server.startsWith("dns:") ? server : "dns://" + server);
+        }
+        return url.length() == 0 ? "dns:" : url.toString();
+    }
+}
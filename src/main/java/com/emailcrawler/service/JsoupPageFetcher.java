@@ -0,0 +1,43 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.FetchResponse;
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Jsoup.connect() 기반 PageFetcher (기존 방식)
+ * 요청마다 새 연결을 만들고 호출한 스레드에서 블로킹으로 처리합니다.
+ */
+public class JsoupPageFetcher implements PageFetcher {
+
+    @Override
+    public CompletableFuture<FetchResponse> fetchAsync(String url, long timeoutMs) {
+        try {
+            Connection.Response response = Jsoup.connect(url)
+                    .userAgent(USER_AGENT)
+                    .timeout((int) timeoutMs)
+                    .followRedirects(true)
+                    .ignoreHttpErrors(true)
+                    .ignoreContentType(true)
+                    .maxBodySize(0) // 본문 크기 한도는 HtmlPageScanner에서 적용
+                    .execute();
+
+            Map<String, List<String>> headers = response.multiHeaders();
+            return CompletableFuture.completedFuture(new FetchResponse(
+                    response.statusCode(),
+                    response.url().toString(),
+                    headers == null ? Collections.emptyMap() : headers,
+                    response.bodyStream()));
+
+        } catch (Exception e) {
+            CompletableFuture<FetchResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.MailDomainStatus;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이메일 도메인 MX 확인 단계 (크롤링이 끝난 뒤 찾은 이메일을 한 번에 확인)
+ *
+ * 찾은 이메일은 수천 개라도 도메인은 수백 개 정도라서, 도메인별로 한 번만 조회합니다.
+ * 1. MX 레코드가 있으면 메일 수신 가능 (단, "0 ." 하나뿐이면 수신하지 않는 도메인)
+ * 2. MX가 없으면 A/AAAA 레코드 확인 (도메인 자체가 메일 서버인 경우)
+ * 3. 도메인이 없거나(NXDOMAIN) 레코드가 하나도 없으면 제외 대상
+ *
+ * 확정된 결과는 TTL 동안 기억하고(수신 가능/불가능 TTL 따로), 같은 도메인을 동시에 요청하면 조회 하나를 공유합니다.
+ * 조회 실패(시간 초과 등)는 기억하지 않고 이메일을 유지합니다.
+ */
+public class MailDomainVerifier implements AutoCloseable {
+
+    private final DnsResolver resolver;
+    private final ExecutorService lookupExecutor;
+    private final long positiveTtlNanos;
+    private final long negativeTtlNanos;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<MailDomainStatus>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger lookupCount = new AtomicInteger(0);
+    private final AtomicInteger cacheHitCount = new AtomicInteger(0);
+    private final AtomicInteger sharedCount = new AtomicInteger(0);
+
+    /**
+     * @param resolver           DNS 조회 방식
+     * @param concurrency        동시에 진행할 도메인 조회 수
+     * @param positiveTtlMinutes 메일 수신 가능 결과를 기억할 시간 (분)
+     * @param negativeTtlMinutes 메일 수신 불가능 결과를 기억할 시간 (분)
+     */
+    public MailDomainVerifier(DnsResolver resolver, int concurrency, long positiveTtlMinutes, long negativeTtlMinutes) {
+        this.resolver = resolver;
+        this.positiveTtlNanos = TimeUnit.MINUTES.toNanos(positiveTtlMinutes);
+        this.negativeTtlNanos = TimeUnit.MINUTES.toNanos(negativeTtlMinutes);
+        this.lookupExecutor = Executors.newFixedThreadPool(Math.max(1, concurrency), r -> {
+            Thread thread = new Thread(r, "mx-lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 이메일 목록의 도메인을 한 번에 확인합니다. (같은 도메인은 한 번만 조회)
+     *
+     * @param emails 확인할 이메일 (형식이 잘못된 값은 무시)
+     * @return 도메인(소문자) → 확인 결과
+     */
+    public Map<String, MailDomainStatus> verifyAll(Collection<String> emails) {
+        Map<String, CompletableFuture<MailDomainStatus>> futures = new LinkedHashMap<>();
+        for (String email : emails) {
+            String domain = domainOf(email);
+            if (!domain.isEmpty() && !futures.containsKey(domain)) {
+                futures.put(domain, verifyAsync(domain));
+            }
+        }
+
+        Map<String, MailDomainStatus> results = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<MailDomainStatus>> future : futures.entrySet()) {
+            results.put(future.getKey(), future.getValue().join());
+        }
+        return results;
+    }
+
+    /**
+     * 이메일 하나의 도메인을 확인합니다. (다른 스레드가 같은 도메인을 조회 중이면 그 결과를 기다림)
+     *
+     * @param email 확인할 이메일
+     * @return 확인 결과, 형식이 잘못된 이메일은 LOOKUP_FAILED
+     */
+    public MailDomainStatus verify(String email) {
+        String domain = domainOf(email);
+        return domain.isEmpty() ? MailDomainStatus.LOOKUP_FAILED : verifyAsync(domain).join();
+    }
+
+    /**
+     * 도메인을 비동기로 확인합니다. 기억한 결과가 있으면 바로, 조회 중이면 그 조회를 공유합니다.
+     *
+     * @param domain 소문자 도메인
+     * @return 확인 결과 Future (예외로 완료되지 않음, 여러 호출자가 공유하므로 시간 한도를 붙이려면 copy() 사용)
+     */
+    public CompletableFuture<MailDomainStatus> verifyAsync(String domain) {
+        if (domain == null || domain.isEmpty()) {
+            return CompletableFuture.completedFuture(MailDomainStatus.LOOKUP_FAILED);
+        }
+        MailDomainStatus cached = cached(domain);
+        if (cached != null) {
+            cacheHitCount.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<MailDomainStatus> mine = new CompletableFuture<>();
+        CompletableFuture<MailDomainStatus> existing = pending.putIfAbsent(domain, mine);
+        if (existing != null) {
+            sharedCount.incrementAndGet();
+            return existing;
+        }
+
+        try {
+            lookupExecutor.execute(() -> {
+                MailDomainStatus status = lookup(domain);
+                if (status.isDefinite()) {
+                    long ttl = status.isKeep() ? positiveTtlNanos : negativeTtlNanos;
+                    cache.put(domain, new Entry(status, System.nanoTime() + ttl));
+                }
+                pending.remove(domain, mine);
+                mine.complete(status);
+            });
+        } catch (RuntimeException e) {
+            // 실행기가 닫힘 - 알 수 없으므로 이메일 유지
+            pending.remove(domain, mine);
+            mine.complete(MailDomainStatus.LOOKUP_FAILED);
+        }
+        return mine;
+    }
+
+    /**
+     * MX → A → AAAA 순서로 조회해서 메일 수신 가능 여부를 정합니다.
+     */
+    private MailDomainStatus lookup(String domain) {
+        lookupCount.incrementAndGet();
+        try {
+            List<String> mx = resolver.lookup(domain, "MX");
+            if (!mx.isEmpty()) {
+                return isNullMx(mx) ? MailDomainStatus.NULL_MX : MailDomainStatus.MX;
+            }
+            if (!resolver.lookup(domain, "A").isEmpty() || !resolver.lookup(domain, "AAAA").isEmpty()) {
+                return MailDomainStatus.ADDRESS;
+            }
+            return MailDomainStatus.NO_MAIL_HOST;
+        } catch (UnknownHostException e) {
+            return MailDomainStatus.NO_SUCH_DOMAIN;
+        } catch (IOException | RuntimeException e) {
+            return MailDomainStatus.LOOKUP_FAILED;
+        }
+    }
+
+    /**
+     * 메일을 받지 않는다는 선언인지 확인합니다. (RFC 7505: 메일서버가 "."인 MX 하나)
+     */
+    private static boolean isNullMx(List<String> mx) {
+        if (mx.size() != 1) {
+            return false;
+        }
+        String[] parts = mx.get(0).trim().split("\\s+");
+        return parts.length == 2 && ".".equals(parts[1]);
+    }
+
+    private MailDomainStatus cached(String domain) {
+        Entry entry = cache.get(domain);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - System.nanoTime() < 0) {
+            cache.remove(domain, entry);
+            return null;
+        }
+        return entry.status;
+    }
+
+    /**
+     * 이메일의 도메인 (소문자, 끝의 점 제거), 형식이 잘못되었으면 빈 문자열
+     */
+    public static String domainOf(String email) {
+        if (email == null) {
+            return "";
+        }
+        int at = email.lastIndexOf('@');
+        if (at < 0 || at == email.length() - 1) {
+            return "";
+        }
+        String domain = email.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+        if (domain.endsWith(".")) {
+            domain = domain.substring(0, domain.length() - 1);
+        }
+        return domain.indexOf('.') > 0 ? domain : "";
+    }
+
+    /**
+     * 실제로 DNS 조회를 한 도메인 수
+     */
+    public int getLookupCount() {
+        return lookupCount.get();
+    }
+
+    /**
+     * 기억한 결과를 사용한 횟수
+     */
+    public int getCacheHitCount() {
+        return cacheHitCount.get();
+    }
+
+    /**
+     * 진행 중인 조회를 공유한 횟수
+     */
+    public int getSharedCount() {
+        return sharedCount.get();
+    }
+
+    @Override
+    public void close() {
+        lookupExecutor.shutdownNow();
+    }
+
+    private static class Entry {
+        private final MailDomainStatus status;
+        private final long expiresAt; // nanoTime
+
+        Entry(MailDomainStatus status, long expiresAt) {
+            this.status = status;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
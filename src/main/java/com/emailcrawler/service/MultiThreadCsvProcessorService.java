@@ -1,10 +1,13 @@
 package com.emailcrawler.service;
 
+import com.emailcrawler.model.CrawlResult;
 import com.emailcrawler.model.CsvRow;
+import com.emailcrawler.util.AppConfig;
+import com.emailcrawler.util.CsvOutputWriter;
 import com.emailcrawler.util.CsvParser;
 import com.emailcrawler.util.FileEncodingDetector;
+import com.emailcrawler.util.InFlightCounter;
 
-import java.io.FileWriter;
 import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -16,16 +19,46 @@ public class MultiThreadCsvProcessorService {
 
     private final FileEncodingDetector encodingDetector;
     private final CsvParser csvParser;
+    private final EmailCrawlerService emailCrawler; // 모든 작업이 공유 (커넥션 풀 재사용)
     private final AtomicInteger completedCount = new AtomicInteger(0);
     private final AtomicInteger successCount = new AtomicInteger(0);
+    private final AtomicInteger deadlineSkippedCount = new AtomicInteger(0); // 실행 시간 한도 때문에 건너뛴 행
+    private volatile long runDeadlineNanos = Long.MAX_VALUE;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter = CrawlExecutors.createLimiter();
+    private final InFlightCounter inFlight; // 제출했지만 끝나지 않은 행 (최대 QUEUE_CAPACITY개)
+    private final HostPolitenessScheduler scheduler;
+    private volatile CrawlListener crawlListener; // 행 처리 완료 알림 (없으면 null)
 
-    // 스레드 풀 설정
-    private static final int THREAD_COUNT = 5; // 동시 실행 스레드 수
-    private static final int DELAY_MS = 200;   // 대기 시간 (ms)
+    // 호스트별 요청 간격 설정
+    private static final long HOST_INTERVAL_MS = AppConfig.getLong("crawler.politeness.host-interval-ms", 1000);
+
+    // 한 번에 제출해 둘 수 있는 최대 행 수 - 자리가 날 때마다 다음 행을 제출 (동시 요청 한도의 상한보다 작으면 상한 사용)
+    private static final int QUEUE_CAPACITY = AppConfig.getInt("crawler.queue.capacity", 1000);
+
+    // 실행 전체 시간 한도 (분, 0이면 제한 없음) - 넘으면 남은 행은 크롤링하지 않고 결과 파일을 마무리
+    private static final long RUN_DEADLINE_MINUTES = AppConfig.getLong("crawler.run-deadline-minutes", 180);
+    private static final long RUN_DEADLINE_GRACE_MS = AppConfig.getLong("crawler.row-deadline-ms", 30000) * 2;
 
     public MultiThreadCsvProcessorService() {
         this.encodingDetector = new FileEncodingDetector();
         this.csvParser = new CsvParser();
+        this.scheduler = new HostPolitenessScheduler(HOST_INTERVAL_MS);
+        this.emailCrawler = new EmailCrawlerService(scheduler); // 하위 페이지도 같은 호스트 요청 간격을 지킴
+        this.inFlight = new InFlightCounter(Math.max(QUEUE_CAPACITY, concurrencyLimiter.getMaxLimit()));
+    }
+
+    /**
+     * 행 처리가 끝날 때마다 알림을 받을 리스너를 설정합니다.
+     */
+    public void setCrawlListener(CrawlListener crawlListener) {
+        this.crawlListener = crawlListener;
+    }
+
+    /**
+     * 실행을 취소합니다. 새 행은 더 제출하지 않고, 이미 제출한 행이 끝나면 결과를 저장합니다.
+     */
+    public void cancel() {
+        inFlight.cancel();
     }
 
     /**
@@ -45,7 +78,7 @@ public class MultiThreadCsvProcessorService {
         int totalRows = dataRows.size();
 
         System.out.println("📊 총 " + totalRows + "개 회사 데이터 발견");
-        System.out.println("🚀 " + THREAD_COUNT + "개 스레드로 병렬 처리 시작");
+        System.out.println("🚀 " + CrawlExecutors.describe(concurrencyLimiter) + "로 병렬 처리 시작");
         System.out.println("═".repeat(60));
 
         long startTime = System.currentTimeMillis();
@@ -58,6 +91,7 @@ public class MultiThreadCsvProcessorService {
 
         // 4. 결과 저장
         String outputPath = generateOutputPath(csvPath);
+        keepOriginalEmails(dataRows); // 취소/대기 시간 초과로 제출하지 않았거나 끝나지 않은 행
         saveCsvData(rows, outputPath);
 
         // 5. 통계 출력
@@ -68,24 +102,43 @@ public class MultiThreadCsvProcessorService {
      * 멀티스레드로 크롤링 실행
      */
     private void crawlWithMultipleThreads(List<CsvRow> dataRows) throws InterruptedException {
-        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
-
-        try {
-            // 각 행을 별도 작업으로 제출
-            for (CsvRow row : dataRows) {
-                executor.submit(new CrawlingTask(row));
-            }
+        ExecutorService executor = CrawlExecutors.create(concurrencyLimiter);
+        if (RUN_DEADLINE_MINUTES > 0) {
+            runDeadlineNanos = System.nanoTime() + TimeUnit.MINUTES.toNanos(RUN_DEADLINE_MINUTES);
+        }
 
-            // 모든 작업 완료 대기
-            executor.shutdown();
+        // 실행 시간 한도 + 진행 중인 사이트가 끝날 여유 시간
+        long waitDeadlineNanos = runDeadlineNanos == Long.MAX_VALUE
+                ? Long.MAX_VALUE
+                : runDeadlineNanos + TimeUnit.MILLISECONDS.toNanos(RUN_DEADLINE_GRACE_MS);
 
+        try {
             // 진행 상황 모니터링
             monitorProgress(dataRows.size());
 
-            // 최대 1시간 대기 (20,000개 기준)
-            if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+            // 각 행을 별도 작업으로 제출 (제출한 행이 QUEUE_CAPACITY개면 하나가 끝날 때까지 대기)
+            int submitted = 0;
+            for (CsvRow row : dataRows) {
+                if (!inFlight.awaitSlot(waitDeadlineNanos)) {
+                    break;
+                }
+                executor.execute(new CrawlingTask(row, executor));
+                submitted++;
+            }
+            if (submitted < dataRows.size()) {
+                System.out.printf("⛔ %s: %,d개 행은 제출하지 않았습니다\n",
+                        inFlight.isCancelled() ? "취소됨" : "대기 시간 초과", dataRows.size() - submitted);
+            }
+
+            // 호스트 차례를 기다리는 작업은 나중에 다시 제출되므로 shutdown()은 모든 작업이 끝난 뒤에 호출
+            long waitNanos = waitDeadlineNanos == Long.MAX_VALUE
+                    ? TimeUnit.DAYS.toNanos(365) // 한도 없음
+                    : waitDeadlineNanos - System.nanoTime();
+            if (!inFlight.awaitZero(Math.max(0, waitNanos), TimeUnit.NANOSECONDS)) {
                 System.out.println("⚠️ 타임아웃! 일부 작업이 완료되지 않았습니다.");
                 executor.shutdownNow();
+            } else {
+                executor.shutdown();
             }
 
         } finally {
@@ -100,28 +153,83 @@ public class MultiThreadCsvProcessorService {
      */
     private class CrawlingTask implements Runnable {
         private final CsvRow row;
+        private final Executor executor;
+        private final RowCrawlState state; // 호스트 차례, 재시도 상태 (다시 제출되어도 유지)
 
-        public CrawlingTask(CsvRow row) {
+        public CrawlingTask(CsvRow row, Executor executor) {
             this.row = row;
+            this.executor = executor;
+            this.state = new RowCrawlState(row.getWebsite(), scheduler);
         }
 
         @Override
         public void run() {
+            state.start();
             try {
                 String threadName = Thread.currentThread().getName();
-                int current = completedCount.incrementAndGet();
+
+                // 실행 시간 한도를 넘겼으면 크롤링하지 않고 넘김 (원래 이메일 유지)
+                if (System.nanoTime() > runDeadlineNanos) {
+                    row.setFoundEmail(row.getOriginalEmail());
+                    deadlineSkippedCount.incrementAndGet();
+                    completedCount.incrementAndGet();
+                    inFlight.decrement();
+                    return;
+                }
 
                 if (row.getWebsite().isEmpty()) {
+                    int current = completedCount.incrementAndGet();
                     System.out.printf("[%s] [%d] %s - 웹사이트 URL 없음\n",
                             threadName, current, row.getCompany());
                     row.setFoundEmail("X");
                 } else {
-                    System.out.printf("[%s] [%d] %s - 크롤링 시작\n",
-                            threadName, current, row.getCompany());
+                    // 호스트 차례가 아니면 스레드를 반납하고 차례가 되었을 때 다시 실행
+                    if (!state.awaitHostTurn(this, executor)) {
+                        return;
+                    }
+
+                    System.out.printf("[%s] %s - 크롤링 시작\n",
+                            threadName, row.getCompany());
+
+                    // 재시도 차례를 기다리는 동안 행 시간 한도를 넘겼으면 다시 요청하지 않고 마지막 결과로 마무리
+                    CrawlResult result = state.expiredResult();
 
                     // 실제 크롤링 실행
-                    EmailCrawlerService emailCrawler = new EmailCrawlerService();
-                    String foundEmail = emailCrawler.crawlWebsiteForEmail(row.getWebsite());
+                    if (result == null) {
+                        long fetchStart = concurrencyLimiter.acquire(runDeadlineNanos); // 동시 요청 수 제한 (지연/타임아웃을 보고 자동 조절)
+                        if (fetchStart < 0) {
+                            // 슬롯을 기다리는 동안 실행 시간 한도를 넘김 (원래 이메일 유지)
+                            row.setFoundEmail(row.getOriginalEmail());
+                            deadlineSkippedCount.incrementAndGet();
+                            completedCount.incrementAndGet();
+                            inFlight.decrement();
+                            return;
+                        }
+                        try {
+                            result = emailCrawler.crawl(row.getWebsite(), state.attemptDeadlineNanos());
+                        } finally {
+                            // 서버까지 간 요청만 지연 표본으로 사용 (실패 캐시/즉시 실패 제외)
+                            concurrencyLimiter.release(fetchStart, result != null && result.isTimedOut(),
+                                    result != null && (result.getStatusCode() > 0 || result.isTimedOut()));
+                        }
+                    }
+
+                    // 429 / Retry-After 또는 일시적인 실패: 나중에 다시 실행 (호스트 요청 슬롯을 새로 예약)
+                    RowCrawlState.Retry retry = state.scheduleRetry(result, this, executor);
+                    if (retry == RowCrawlState.Retry.RATE_LIMITED) {
+                        System.out.printf("[%s] %s - ⏳ 요청 제한 (HTTP %d), 나중에 재시도\n",
+                                threadName, row.getCompany(), result.getStatusCode());
+                        return;
+                    }
+                    if (retry == RowCrawlState.Retry.TRANSIENT) {
+                        System.out.printf("[%s] %s - 🔁 재시도 %d/%d (%s, %dms 후)\n", threadName, row.getCompany(),
+                                state.getTransientRetries(), RowCrawlState.maxRetries(), result.getOutcome().label(),
+                                state.getRetryDelayMs());
+                        return;
+                    }
+
+                    int current = completedCount.incrementAndGet();
+                    String foundEmail = result.getEmail();
                     row.setFoundEmail(foundEmail.isEmpty() ? "X" : foundEmail);
 
                     if (!foundEmail.isEmpty()) {
@@ -132,14 +240,33 @@ public class MultiThreadCsvProcessorService {
                         System.out.printf("[%s] [%d] %s - ❌ 이메일 없음\n",
                                 threadName, current, row.getCompany());
                     }
-
-                    // 서버 부하 방지 대기
-                    Thread.sleep(DELAY_MS);
                 }
 
+                notifyCompleted();
+                inFlight.decrement();
+
+            } catch (InterruptedException e) {
+                // 대기 시간 초과로 작업을 중단함 (원래 이메일 유지)
+                Thread.currentThread().interrupt();
+                row.setFoundEmail(row.getOriginalEmail());
+                deadlineSkippedCount.incrementAndGet();
+                completedCount.incrementAndGet();
+                inFlight.decrement();
             } catch (Exception e) {
                 System.err.printf("❌ 크롤링 오류 [%s]: %s\n", row.getCompany(), e.getMessage());
                 row.setFoundEmail("X");
+                completedCount.incrementAndGet();
+                notifyCompleted();
+                inFlight.decrement();
+            }
+        }
+
+        private void notifyCompleted() {
+            long elapsedNanos = System.nanoTime() - state.getStartNanos();
+            CrawlMetrics.shared().record(CrawlMetrics.Phase.ROW, elapsedNanos);
+            CrawlListener listener = crawlListener;
+            if (listener != null) {
+                listener.onRowCompleted(row, elapsedNanos);
             }
         }
     }
@@ -186,11 +313,18 @@ public class MultiThreadCsvProcessorService {
         System.out.printf("📊 처리된 회사: %d/%d\n", completed, totalRows);
         System.out.printf("📧 이메일 발견: %d개 (성공률: %.1f%%)\n", success, successRate);
         System.out.printf("⏱️ 총 소요시간: %d시간 %d분 %d초\n", hours, minutes, seconds);
+        System.out.printf("🎚️ 동시 요청 한도: 종료 시 %d개 (범위 %d~%d)\n",
+                concurrencyLimiter.getLimit(), concurrencyLimiter.getMinLimit(), concurrencyLimiter.getMaxLimit());
+        if (deadlineSkippedCount.get() > 0) {
+            System.out.printf("⏰ 실행 시간 한도(%d분)에 도달해 %,d개 행은 크롤링하지 않았습니다\n",
+                    RUN_DEADLINE_MINUTES, deadlineSkippedCount.get());
+        }
 
         if (totalRows > 0) {
             double avgTimePerSite = (double) totalTimeMs / totalRows / 1000;
             System.out.printf("⚡ 사이트당 평균 처리 시간: %.2f초\n", avgTimePerSite);
         }
+        CrawlMetrics.shared().printSummary();
     }
 
     // 기타 헬퍼 메소드들.
@@ -198,42 +332,28 @@ public class MultiThreadCsvProcessorService {
         return originalPath.replace(".csv", "_updated.csv");
     }
 
+    /**
+     * 결과가 없는 행(처리하지 않은 행)은 원래 이메일을 그대로 저장하도록 채웁니다.
+     */
+    private void keepOriginalEmails(List<CsvRow> rows) {
+        for (CsvRow row : rows) {
+            if (!row.isHeader() && row.getFoundEmail().isEmpty()) {
+                row.setFoundEmail(row.getOriginalEmail());
+            }
+        }
+    }
+
     private void saveCsvData(List<CsvRow> rows, String outputPath) throws Exception {
-        try (FileWriter writer = new FileWriter(outputPath, java.nio.charset.StandardCharsets.UTF_8)) {
+        try (CsvOutputWriter writer = new CsvOutputWriter(outputPath)) {
             // UTF-8 BOM 추가 (Excel 호환)
             writer.write('\ufeff');
 
             for (CsvRow row : rows) {
-                if (row.isHeader()) {
-                    // 헤더 그대로 출력
-                    writer.write(String.join(",", row.getValues()) + "\n");
-                } else {
-                    // 데이터 행에서 Email 컬럼 업데이트
-                    String[] updatedValues = row.getValues();
-                    if (row.getEmailCol() >= 0 && row.getEmailCol() < updatedValues.length) {
-                        updatedValues[row.getEmailCol()] = row.getFoundEmail();
-                    }
-
-                    // CSV 형식으로 출력
-                    for (int i = 0; i < updatedValues.length; i++) {
-                        if (i > 0) writer.write(",");
-                        writer.write(escapeCsvField(updatedValues[i]));
-                    }
-                    writer.write("\n");
-                }
+                // 헤더는 그대로, 데이터 행은 Email 컬럼만 교체해서 출력
+                csvParser.writeCsvRow(writer, row);
             }
         }
 
         System.out.println("💾 파일 저장 완료: " + outputPath);
     }
-
-    // escapeCsvField 메소드도 추가 필요
-    private String escapeCsvField(String field) {
-        if (field == null) return "";
-
-        if (field.contains(",") || field.contains("\"") || field.contains("\n")) {
-            return "\"" + field.replace("\"", "\"\"") + "\"";
-        }
-        return field;
-    }
 }
\ No newline at end of file
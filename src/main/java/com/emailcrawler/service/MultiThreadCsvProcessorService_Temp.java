@@ -1,35 +1,146 @@
 package com.emailcrawler.service;
 
+import com.emailcrawler.model.CrawlResult;
 import com.emailcrawler.model.CsvRow;
+import com.emailcrawler.model.MailDomainStatus;
+import com.emailcrawler.util.AppConfig;
+import com.emailcrawler.util.CsvOutputWriter;
 import com.emailcrawler.util.CsvParser;
+import com.emailcrawler.util.CsvRowReader;
 import com.emailcrawler.util.FileEncodingDetector;
-
-import java.io.FileWriter;
+import com.emailcrawler.util.InFlightCounter;
+import com.emailcrawler.util.OrderedCsvWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class MultiThreadCsvProcessorService_Temp {
     private final FileEncodingDetector encodingDetector;
     private final CsvParser csvParser;
+    private final EmailCrawlerService emailCrawler; // 모든 작업이 공유 (커넥션 풀 재사용)
+    private final SingleFlightCrawler singleFlight;  // 같은 사이트 중복 크롤링 방지
+    private final CrawlResultStore resultStore;      // 실행 간 크롤링 결과 캐시 (사용하지 않으면 null)
+    private final MailDomainVerifier mailVerifier;   // 찾은 이메일의 도메인 MX 확인 (mx.verify=false 이면 null)
+    private boolean resume = false;                  // 이전 실행의 저널에서 이어서 처리할지 여부
+    private Map<Integer, String> resumedRows = Collections.emptyMap();
+    private volatile CrawlJournal journal;
+    private volatile boolean finished = false;
     private final AtomicInteger completedCount = new AtomicInteger(0);
     private final AtomicInteger successCount = new AtomicInteger(0);
-
-    // 스레드 풀 설정
-    private static final int THREAD_COUNT = 5; // 동시 실행 스레드 수
-    private static final int DELAY_MS = 200;   // 대기 시간 (ms)
+    private final AtomicInteger deadlineSkippedCount = new AtomicInteger(0); // 실행 시간 한도 때문에 건너뛴 행
+    private volatile long runDeadlineNanos = Long.MAX_VALUE;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter = CrawlExecutors.createLimiter();
+    private final InFlightCounter inFlight; // 제출했지만 끝나지 않은 행 (최대 QUEUE_CAPACITY개)
+    private final Map<Integer, CsvRow> unwrittenRows = new ConcurrentHashMap<>(); // 스트리밍 모드에서 제출했지만 아직 기록하지 않은 행
+    private final HostPolitenessScheduler scheduler;
+    private volatile CrawlListener crawlListener;    // 행 처리 완료 알림 (없으면 null)
+    private final int shardIndex;                    // 샤드 작업자 모드에서 담당하는 샤드 번호 (0부터)
+    private final int shardCount;                    // 전체 샤드 수 (1이면 샤드 모드 아님)
+
+    // 호스트별 요청 간격 설정
+    private static final long HOST_INTERVAL_MS = AppConfig.getLong("crawler.politeness.host-interval-ms", 1000);
+
+    // 한 번에 제출해 둘 수 있는 최대 행 수 - 자리가 날 때마다 다음 행을 제출 (동시 요청 한도의 상한보다 작으면 상한 사용)
+    private static final int QUEUE_CAPACITY = AppConfig.getInt("crawler.queue.capacity", 1000);
+
+    // 끝난 크롤링 결과를 기억할 최대 사이트 수 (가까이 있는 같은 사이트의 행이 재사용, 일시적인 실패는 기억하지 않음)
+    private static final int RECENT_RESULTS = AppConfig.getInt("crawler.dedup.recent-size", SingleFlightCrawler.DEFAULT_RECENT_SIZE);
+
+    // 실행 간 크롤링 결과 캐시 설정
+    private static final boolean CACHE_ENABLED = AppConfig.getBoolean("cache.enabled", true);
+    private static final String CACHE_PATH = AppConfig.getString("cache.path", "crawl-cache/results.log");
+    private static final long CACHE_TTL_HOURS = AppConfig.getLong("cache.ttl-hours", 168);
+
+    // 체크포인트 저널 fsync 주기 (ms)
+    private static final long JOURNAL_SYNC_MS = AppConfig.getLong("journal.sync-interval-ms", 1000);
+
+    // 스트리밍 모드에서 동시에 처리 중일 수 있는 최대 행 수 (재정렬 버퍼 크기)
+    private static final int STREAM_WINDOW = AppConfig.getInt("crawler.streaming.window", 500);
+
+    // 실행 전체 시간 한도 (분, 0이면 제한 없음) - 넘으면 남은 행은 크롤링하지 않고 결과 파일을 마무리
+    private static final long RUN_DEADLINE_MINUTES = AppConfig.getLong("crawler.run-deadline-minutes", 180);
+    private static final long ROW_DEADLINE_MS = AppConfig.getLong("crawler.row-deadline-ms", 30000);
+    private static final long RUN_DEADLINE_GRACE_MS = ROW_DEADLINE_MS * 2;
+
+    // 메일 도메인 확인 (크롤링이 끝난 뒤 찾은 이메일의 도메인을 한 번에 DNS MX/A 조회, 받을 수 없는 도메인은 "X")
+    private static final boolean MX_VERIFY = AppConfig.getBoolean("mx.verify", false);
+    private static final int MX_CONCURRENCY = AppConfig.getInt("mx.verify.concurrency", 16);
+    private static final long MX_TTL_MINUTES = AppConfig.getLong("mx.cache.ttl-minutes", 1440);
+    private static final long MX_NEGATIVE_TTL_MINUTES = AppConfig.getLong("mx.cache.negative-ttl-minutes", 60);
+    private static final int MX_REJECTED_PRINT_LIMIT = 20;
 
     public MultiThreadCsvProcessorService_Temp() {
+        this(0, 1);
+    }
+
+    /**
+     * 샤드 작업자용 처리기 (--shard-worker=K/N)
+     * 호스트 해시가 shardIndex인 행만 크롤링하고, 결과는 _updated.csv 대신 샤드 부분 결과 파일에 남깁니다.
+     *
+     * @param shardIndex 담당 샤드 번호 (0부터)
+     * @param shardCount 전체 샤드 수
+     */
+    public MultiThreadCsvProcessorService_Temp(int shardIndex, int shardCount) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("잘못된 샤드 번호: " + shardIndex + "/" + shardCount);
+        }
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
         this.encodingDetector = new FileEncodingDetector();
         this.csvParser = new CsvParser();
+        this.scheduler = new HostPolitenessScheduler(HOST_INTERVAL_MS);
+        this.emailCrawler = new EmailCrawlerService(scheduler); // 하위 페이지도 같은 호스트 요청 간격을 지킴
+        this.resultStore = openResultStore();
+        this.singleFlight = new SingleFlightCrawler(emailCrawler, resultStore, RECENT_RESULTS);
+        this.mailVerifier = MX_VERIFY
+                ? new MailDomainVerifier(DnsResolver.fromConfig(), MX_CONCURRENCY, MX_TTL_MINUTES, MX_NEGATIVE_TTL_MINUTES)
+                : null;
+        this.inFlight = new InFlightCounter(Math.max(QUEUE_CAPACITY, concurrencyLimiter.getMaxLimit()));
+    }
+
+    /**
+     * 이전 실행의 저널에 기록된 행을 건너뛰고 이어서 처리할지 설정합니다. (--resume)
+     */
+    public void setResume(boolean resume) {
+        this.resume = resume;
+    }
+
+    /**
+     * 행 처리가 끝날 때마다 알림을 받을 리스너를 설정합니다.
+     */
+    public void setCrawlListener(CrawlListener crawlListener) {
+        this.crawlListener = crawlListener;
+    }
+
+    /**
+     * 실행을 취소합니다. 새 행은 더 제출하지 않고, 이미 제출한 행이 끝나면 결과를 저장합니다.
+     * (제출하지 않은 행은 저널에 남지 않으므로 --resume 때 다시 처리)
+     */
+    public void cancel() {
+        inFlight.cancel();
     }
 
     /**
      * 멀티스레드로 CSV 파일 처리
      */
     public void processCsvFile(String csvPath) throws Exception {
+        if (shardCount > 1) {
+            processShard(csvPath);
+            return;
+        }
+
         // 1. CSV 데이터 읽기
         String bestEncoding = encodingDetector.detectEncoding(csvPath);
         System.out.println("✅ 최적 인코딩: " + bestEncoding);
@@ -52,48 +163,207 @@ public class MultiThreadCsvProcessorService_Temp {
         int totalRows = dataRows.size();
 
         System.out.println("📊 총 " + totalRows + "개 회사 데이터 발견");
-        System.out.println("🚀 " + THREAD_COUNT + "개 스레드로 병렬 처리 시작");
+        System.out.println("🚀 " + CrawlExecutors.describe(concurrencyLimiter) + "로 병렬 처리 시작");
 
         long startTime = System.currentTimeMillis();
+        startRunDeadline();
+        String outputPath = generateOutputPath(csvPath);
+
+        // 중단(Ctrl+C 등) 시 저널을 flush하고 지금까지의 결과를 저장
+        openJournal(outputPath);
+        Thread shutdownHook = registerShutdownHook(() -> savePartialCsvData(rows, outputPath));
 
         // 3. 멀티스레드 실행
-        crawlWithMultipleThreads(dataRows);
+        crawlWithMultipleThreads(dataRows.iterator(), totalRows);
 
         long endTime = System.currentTimeMillis();
         long totalTimeMs = endTime - startTime;
 
-        // 4. 결과 저장
-        String outputPath = generateOutputPath(csvPath);
+        // 4. 메일 도메인 확인 후 결과 저장
+        successCount.addAndGet(-verifyMailDomains(dataRows));
+        keepOriginalEmails(dataRows); // 취소/대기 시간 초과로 제출하지 않은 행
         saveCsvData(rows, outputPath);
+        finishJournal(shutdownHook, completedCount.get() - deadlineSkippedCount.get() >= totalRows);
 
         // 5. 통계 출력
         printStatistics(totalRows, totalTimeMs);
+        closeResultStore();
     }
 
     /**
-     * 멀티스레드로 크롤링 실행 (순서 보존)
+     * 샤드 작업자 처리 (--shard-worker=K/N)
+     * CSV 전체를 메모리에 올리지 않고 행을 하나씩 읽으면서 자기 샤드의 행만 제출합니다.
+     * 결과는 샤드 부분 결과 파일에만 남기고, 메일 도메인 확인과 저장은 병합 단계에서 합니다.
      */
-    private void crawlWithMultipleThreads(List<CsvRow> dataRows) throws InterruptedException {
-        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    private void processShard(String csvPath) throws Exception {
+        // 1. 인코딩 감지 및 담당 행 수 확인 (진행률 표시용)
+        String bestEncoding = encodingDetector.detectEncoding(csvPath);
+        System.out.println("✅ 최적 인코딩: " + bestEncoding);
+
+        int totalRows = countShardRows(csvPath, bestEncoding);
+        String outputPath = generateOutputPath(csvPath);
+
+        System.out.printf("🧩 샤드 %d/%d: %,d개 행 담당\n", shardIndex, shardCount, totalRows);
+        System.out.println("🚀 " + CrawlExecutors.describe(concurrencyLimiter) + "로 병렬 처리 시작");
+
+        long startTime = System.currentTimeMillis();
+        startRunDeadline();
+
+        // 중단(Ctrl+C 등) 시 저널(부분 결과 파일)만 flush
+        openJournal(outputPath);
+        Thread shutdownHook = registerShutdownHook(() -> { });
+
+        // 2. 읽으면서 자기 샤드의 행만 크롤링
+        try (CsvRowReader reader = csvParser.openCsvFile(csvPath, bestEncoding)) {
+            crawlWithMultipleThreads(reader, totalRows);
+        }
+
+        long totalTimeMs = System.currentTimeMillis() - startTime;
+        finishJournal(shutdownHook, completedCount.get() - deadlineSkippedCount.get() >= totalRows);
+        System.out.println("📦 샤드 부분 결과 저장: " + journalPathFor(outputPath));
+
+        // 3. 통계 출력
+        printStatistics(totalRows, totalTimeMs);
+        closeResultStore();
+    }
+
+    /**
+     * 스트리밍 방식으로 CSV 파일 처리
+     * 행을 필요할 때만 읽어 작업자에게 넘기고, 끝난 행은 입력 순서대로 바로 출력 파일에 기록합니다.
+     * 메모리 사용량은 파일 크기가 아니라 처리 중인 행 수(STREAM_WINDOW)에 비례합니다.
+     */
+    public void processCsvFileStreaming(String csvPath) throws Exception {
+        if (shardCount > 1) {
+            throw new IllegalStateException("샤드 작업자는 배치 모드로만 실행할 수 있습니다.");
+        }
+
+        // 1. 인코딩 감지 및 전체 행 수 확인 (진행률 표시용)
+        String bestEncoding = encodingDetector.detectEncoding(csvPath);
+        System.out.println("✅ 최적 인코딩: " + bestEncoding);
+
+        int totalRows = csvParser.countDataRows(csvPath, bestEncoding);
+        String outputPath = generateOutputPath(csvPath);
+
+        System.out.println("📊 총 " + totalRows + "개 회사 데이터 발견");
+        System.out.println("🚀 " + CrawlExecutors.describe(concurrencyLimiter) + "로 스트리밍 처리 시작 (최대 " + STREAM_WINDOW + "행 처리 중)");
+
+        long startTime = System.currentTimeMillis();
+        startRunDeadline();
+        openJournal(outputPath);
+        Thread shutdownHook = null;
+
+        // 2. 읽기 → 크롤링 → 순서대로 기록 (이어하기 시 출력 파일은 처음부터 다시 쓰고, 저널에 있는 행은 크롤링하지 않음)
+        try (CsvRowReader reader = csvParser.openCsvFile(csvPath, bestEncoding);
+             OrderedCsvWriter output = new OrderedCsvWriter(new CsvOutputWriter(outputPath), csvParser, STREAM_WINDOW)) {
+
+            // 중단(Ctrl+C 등) 시 저널과 지금까지 순서대로 기록된 행을 flush
+            shutdownHook = registerShutdownHook(() -> flushQuietly(output));
+
+            output.writeHeader(reader.getHeader());
+            crawlStreaming(reader, output, totalRows);
+        }
+
+        finishJournal(shutdownHook, completedCount.get() - deadlineSkippedCount.get() >= totalRows);
+        long totalTimeMs = System.currentTimeMillis() - startTime;
+        System.out.println("💾 파일 저장 완료: " + outputPath);
+
+        // 3. 통계 출력
+        printStatistics(totalRows, totalTimeMs);
+        closeResultStore();
+    }
+
+    /**
+     * 리더에서 행을 하나씩 꺼내 작업자에게 제출합니다. (재정렬 버퍼가 가득 차면 대기)
+     */
+    private void crawlStreaming(CsvRowReader reader, OrderedCsvWriter output, int totalRows)
+            throws InterruptedException, IOException {
+        ExecutorService executor = CrawlExecutors.create(concurrencyLimiter);
 
         try {
-            // 🔥 인덱스와 함께 작업 제출
-            for (int i = 0; i < dataRows.size(); i++) {
-                CsvRow row = dataRows.get(i);
-                executor.submit(new CrawlingTask(row, i + 1));
+            monitorProgressClean(totalRows);
+
+            int index = 0;
+            while (reader.hasNext()) {
+                // 실행 시간 한도를 넘긴 뒤의 행은 제출하지 않고 원래 이메일 그대로 순서에 맞춰 기록
+                if (System.nanoTime() > runDeadlineNanos) {
+                    writeUnchanged(output, reader.next(), ++index);
+                    continue;
+                }
+                if (!inFlight.awaitSlot(waitDeadlineNanos())) {
+                    System.out.printf("⛔ %s: %,d번째 행부터는 크롤링하지 않고 원래 이메일로 기록합니다\n",
+                            inFlight.isCancelled() ? "취소됨" : "대기 시간 초과", index + 1);
+                    break;
+                }
+                CsvRow row = reader.next();
+                output.reserve();
+                unwrittenRows.put(++index, row);
+                executor.execute(new CrawlingTask(row, index, executor, output));
             }
 
-            // 모든 작업 완료 대기
-            executor.shutdown();
+            awaitCompletion(executor);
 
-            // 깔끔한 진행 상황 모니터링
-            monitorProgressClean(dataRows.size());
+            // 끝나지 않은 행과 제출하지 못한 나머지 행도 원래 이메일 그대로 기록 (뒤의 행이 빠지지 않도록)
+            for (Integer unfinished : unwrittenRows.keySet()) {
+                CsvRow row = unwrittenRows.remove(unfinished);
+                if (row != null) {
+                    row.setFoundEmail(row.getOriginalEmail());
+                    output.complete(unfinished, row);
+                    deadlineSkippedCount.incrementAndGet();
+                    completedCount.incrementAndGet();
+                }
+            }
+            while (reader.hasNext()) {
+                writeUnchanged(output, reader.next(), ++index);
+            }
 
-            // 최대 3시간 대기
-            if (!executor.awaitTermination(3, TimeUnit.HOURS)) {
-                System.out.println("⚠️ 타임아웃! 일부 작업이 완료되지 않았습니다.");
+        } finally {
+            if (!executor.isShutdown()) {
                 executor.shutdownNow();
             }
+        }
+    }
+
+    /**
+     * 크롤링하지 않은 행을 원래 이메일 그대로 순서에 맞춰 기록합니다. (건너뛴 행으로 집계, 저널에는 남기지 않음)
+     */
+    private void writeUnchanged(OrderedCsvWriter output, CsvRow row, int index) throws InterruptedException, IOException {
+        row.setFoundEmail(row.getOriginalEmail());
+        output.reserve();
+        output.complete(index, row);
+        deadlineSkippedCount.incrementAndGet();
+        completedCount.incrementAndGet();
+    }
+
+    /**
+     * 멀티스레드로 크롤링 실행 (순서 보존)
+     *
+     * @param dataRows  데이터 행 (메모리의 목록 또는 파일을 읽는 CsvRowReader)
+     * @param totalRows 이 처리기가 담당하는 행 수 (샤드 작업자는 자기 샤드의 행 수)
+     */
+    private void crawlWithMultipleThreads(Iterator<CsvRow> dataRows, int totalRows) throws InterruptedException {
+        ExecutorService executor = CrawlExecutors.create(concurrencyLimiter);
+
+        try {
+            // 깔끔한 진행 상황 모니터링
+            monitorProgressClean(totalRows);
+
+            // 🔥 인덱스와 함께 작업 제출 (제출한 행이 QUEUE_CAPACITY개면 하나가 끝날 때까지 대기)
+            int submitted = 0;
+            for (int i = 0; dataRows.hasNext(); i++) {
+                CsvRow row = dataRows.next();
+                if (!isInShard(row, i + 1)) {
+                    continue;
+                }
+                if (!inFlight.awaitSlot(waitDeadlineNanos())) {
+                    System.out.printf("⛔ %s: %,d개 행은 제출하지 않았습니다\n",
+                            inFlight.isCancelled() ? "취소됨" : "대기 시간 초과", totalRows - submitted);
+                    break;
+                }
+                executor.execute(new CrawlingTask(row, i + 1, executor, null));
+                submitted++;
+            }
+
+            awaitCompletion(executor);
 
         } finally {
             if (!executor.isShutdown()) {
@@ -102,47 +372,251 @@ public class MultiThreadCsvProcessorService_Temp {
         }
     }
 
+    /**
+     * 행이 이 처리기가 담당하는 샤드에 속하는지 확인합니다. (샤드 모드가 아니면 항상 true)
+     */
+    private boolean isInShard(CsvRow row, int index) {
+        return shardCount == 1 || ShardedCrawlCoordinator.shardOf(row.getWebsite(), index, shardCount) == shardIndex;
+    }
+
+    /**
+     * 이 샤드가 담당하는 행 수를 셉니다. (행을 보관하지 않고 한 번 읽기만 함)
+     */
+    private int countShardRows(String csvPath, String encoding) throws Exception {
+        int count = 0;
+        try (CsvRowReader reader = csvParser.openCsvFile(csvPath, encoding)) {
+            for (int i = 0; reader.hasNext(); i++) {
+                if (isInShard(reader.next(), i + 1)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 샤드 작업자들의 부분 결과를 원래 행 순서대로 모아 결과 파일을 만듭니다. (--merge-shards=N)
+     * 부분 결과에 없는 행(중단/실행 시간 한도)은 원래 이메일을 유지하고, 모든 행이 있으면 부분 결과 파일을 삭제합니다.
+     *
+     * @param csvPath    입력 CSV 경로 (작업자와 같은 파일)
+     * @param shardCount 작업자를 실행할 때 사용한 샤드 수
+     */
+    public void mergeShards(String csvPath, int shardCount) throws Exception {
+        String bestEncoding = encodingDetector.detectEncoding(csvPath);
+        List<CsvRow> rows = csvParser.parseCsvFile(csvPath, bestEncoding);
+
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("CSV 데이터를 읽을 수 없습니다.");
+        }
+
+        String outputPath = generateOutputPath(csvPath);
+        Map<Integer, String> merged = new HashMap<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            String partialPath = ShardedCrawlCoordinator.partialPath(outputPath, shard, shardCount);
+            if (!Files.exists(Paths.get(partialPath))) {
+                System.out.printf("⚠️ 샤드 %d/%d 부분 결과 없음: %s\n", shard, shardCount, partialPath);
+                continue;
+            }
+            merged.putAll(CrawlJournal.load(partialPath));
+        }
+
+        int missing = 0;
+        List<CsvRow> crawledRows = new ArrayList<>();
+        for (int i = 1; i < rows.size(); i++) {
+            CsvRow row = rows.get(i);
+            String email = merged.get(i);
+            if (email == null) {
+                row.setFoundEmail(row.getOriginalEmail());
+                missing++;
+            } else {
+                row.setFoundEmail(email);
+                crawledRows.add(row);
+            }
+        }
+
+        // 크롤링한 행만 메일 도메인 확인 (원래 이메일을 유지한 행은 그대로)
+        verifyMailDomains(crawledRows);
+        int found = 0;
+        for (CsvRow row : crawledRows) {
+            if (hasFoundEmail(row)) {
+                found++;
+            }
+        }
+
+        saveCsvData(rows, outputPath);
+        System.out.printf("🧩 샤드 %d개 병합 완료: %,d개 행 | 이메일 발견: %,d개\n", shardCount, rows.size() - 1, found);
+
+        if (missing > 0) {
+            System.out.printf("💡 결과가 없는 %,d개 행은 원래 이메일을 유지했습니다. 작업자를 --resume 으로 다시 실행한 뒤 병합하세요.\n", missing);
+        } else {
+            for (int shard = 0; shard < shardCount; shard++) {
+                Files.deleteIfExists(Paths.get(ShardedCrawlCoordinator.partialPath(outputPath, shard, shardCount)));
+            }
+        }
+    }
+
+    /**
+     * 실행 시간 한도를 시작합니다. (crawler.run-deadline-minutes)
+     */
+    private void startRunDeadline() {
+        if (RUN_DEADLINE_MINUTES > 0) {
+            runDeadlineNanos = System.nanoTime() + TimeUnit.MINUTES.toNanos(RUN_DEADLINE_MINUTES);
+        }
+    }
+
+    /**
+     * 작업 제출/완료를 기다릴 마감 시각 (실행 시간 한도 + 진행 중인 사이트가 끝날 여유 시간)
+     */
+    private long waitDeadlineNanos() {
+        return runDeadlineNanos == Long.MAX_VALUE
+                ? Long.MAX_VALUE
+                : runDeadlineNanos + TimeUnit.MILLISECONDS.toNanos(RUN_DEADLINE_GRACE_MS);
+    }
+
+    /**
+     * 모든 작업이 끝날 때까지 대기한 뒤 스레드 풀을 종료합니다.
+     * 호스트 차례를 기다리는 작업은 나중에 다시 제출되므로 shutdown()은 모든 작업이 끝난 뒤에 호출합니다.
+     */
+    private void awaitCompletion(ExecutorService executor) throws InterruptedException {
+        long waitDeadlineNanos = waitDeadlineNanos();
+        long waitNanos = waitDeadlineNanos == Long.MAX_VALUE
+                ? TimeUnit.DAYS.toNanos(365) // 한도 없음
+                : waitDeadlineNanos - System.nanoTime();
+        if (!inFlight.awaitZero(Math.max(0, waitNanos), TimeUnit.NANOSECONDS)) {
+            System.out.println("⚠️ 타임아웃! 일부 작업이 완료되지 않았습니다.");
+            executor.shutdownNow();
+            return;
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
     /**
      * 개별 크롤링 작업 클래스 (조용한 버전)
      */
     private class CrawlingTask implements Runnable {
         private final CsvRow row;
         private final int index;
+        private final Executor executor;
+        private final OrderedCsvWriter output; // 스트리밍 모드에서만 사용 (배치 모드는 null)
+        private final RowCrawlState state;     // 호스트 차례, 재시도 상태 (다시 제출되어도 유지)
 
-        public CrawlingTask(CsvRow row, int index) {
+        public CrawlingTask(CsvRow row, int index, Executor executor, OrderedCsvWriter output) {
             this.row = row;
             this.index = index;
+            this.executor = executor;
+            this.output = output;
+            this.state = new RowCrawlState(row.getWebsite(), scheduler);
         }
 
         @Override
         public void run() {
+            state.start();
             try {
+                // 이전 실행의 저널에 있는 행은 크롤링하지 않고 결과만 복원
+                String journaled = resumedRows.get(index);
+                if (journaled != null) {
+                    row.setFoundEmail(journaled);
+                    if (!"X".equals(journaled)) {
+                        successCount.incrementAndGet();
+                    }
+                    finish(false);
+                    return;
+                }
+
+                // 실행 시간 한도를 넘겼으면 크롤링하지 않고 원래 이메일 유지 (저널에 남지 않으므로 --resume 때 다시 처리)
+                if (System.nanoTime() > runDeadlineNanos) {
+                    row.setFoundEmail(row.getOriginalEmail());
+                    deadlineSkippedCount.incrementAndGet();
+                    finish(false);
+                    return;
+                }
+
                 if (row.getWebsite().isEmpty()) {
                     row.setFoundEmail("X");
                 } else {
-                    // 실제 크롤링 실행
-                    EmailCrawlerService emailCrawler = new EmailCrawlerService();
-                    String foundEmail = emailCrawler.crawlWebsiteForEmail(row.getWebsite());
-                    row.setFoundEmail(foundEmail.isEmpty() ? "X" : foundEmail);
-
-                    if (!foundEmail.isEmpty()) {
-                        // 🔥 이메일 발견 시에만 출력
-                        synchronized(System.out) {
-                            System.out.printf("✅ [%d] %s → %s\n",
-                                    index, row.getCompany(), foundEmail);
+                    // 같은 사이트를 이미 크롤링했으면 요청 없이 결과 재사용
+                    CrawlResult result = singleFlight.getIfDone(row.getWebsite());
+
+                    if (result == null) {
+                        // 호스트 차례가 아니면 스레드를 반납하고 차례가 되었을 때 다시 실행
+                        if (!state.awaitHostTurn(this, executor)) {
+                            return;
+                        }
+
+                        // 재시도 차례를 기다리는 동안 행 시간 한도를 넘겼으면 다시 요청하지 않고 마지막 결과로 마무리
+                        result = state.expiredResult();
+                    }
+
+                    if (result == null) {
+                        // 실제 크롤링 실행 (같은 사이트를 다른 행이 가져오는 중이면 그 결과를 공유)
+                        long fetchStart = concurrencyLimiter.acquire(runDeadlineNanos); // 동시 요청 수 제한 (지연/타임아웃을 보고 자동 조절)
+                        if (fetchStart < 0) {
+                            // 슬롯을 기다리는 동안 실행 시간 한도를 넘김 (원래 이메일 유지)
+                            row.setFoundEmail(row.getOriginalEmail());
+                            deadlineSkippedCount.incrementAndGet();
+                            finish(false);
+                            return;
+                        }
+                        boolean fetched = false;
+                        try {
+                            SingleFlightCrawler.Flight flight = singleFlight.crawlFlight(row.getWebsite(), state.attemptDeadlineNanos());
+                            result = flight.getResult();
+                            fetched = flight.isFetched();
+                        } finally {
+                            // 직접 보내서 서버까지 간 요청만 지연 표본으로 사용 (공유/캐시/즉시 실패 제외)
+                            concurrencyLimiter.release(fetchStart, result != null && result.isTimedOut(),
+                                    fetched && (result.getStatusCode() > 0 || result.isTimedOut()));
                         }
-                        successCount.incrementAndGet();
                     }
 
-                    // 서버 부하 방지 대기
-                    Thread.sleep(DELAY_MS);
+                    // 429 / Retry-After 또는 일시적인 실패: 나중에 다시 실행 (호스트 요청 슬롯을 새로 예약)
+                    RowCrawlState.Retry retry = state.scheduleRetry(result, this, executor);
+                    if (retry != RowCrawlState.Retry.NONE) {
+                        if (retry == RowCrawlState.Retry.TRANSIENT) {
+                            synchronized(System.out) {
+                                System.out.printf("🔁 [%d] 재시도 %d/%d (%s, %dms 후) - %s\n", index, state.getTransientRetries(),
+                                        RowCrawlState.maxRetries(), result.getOutcome().label(), state.getRetryDelayMs(), row.getWebsite());
+                            }
+                        }
+                        return;
+                    }
+
+                    String foundEmail = result.getEmail();
+
+                    // 스트리밍 모드는 행을 바로 기록하므로 도메인 확인을 기다렸다가 마무리 (작업 스레드는 붙잡지 않음,
+                    // 같은 도메인은 기억한 결과/진행 중인 조회를 공유하고 사이트 시간 한도를 넘으면 이메일 유지)
+                    if (output != null && mailVerifier != null && !foundEmail.isEmpty()) {
+                        long remainingMs = state.remainingMillis();
+                        mailVerifier.verifyAsync(MailDomainVerifier.domainOf(foundEmail)).copy()
+                                .completeOnTimeout(MailDomainStatus.LOOKUP_FAILED, Math.max(1, remainingMs), TimeUnit.MILLISECONDS)
+                                .thenAccept(status -> {
+                                    if (!status.isKeep()) {
+                                        synchronized(System.out) {
+                                            System.out.printf("📭 [%d] %s → %s 제외 (%s)\n",
+                                                    index, row.getCompany(), foundEmail, status.label());
+                                        }
+                                    }
+                                    completeRow(status.isKeep() ? foundEmail : "");
+                                });
+                        return;
+                    }
+                    completeRow(foundEmail);
+                    return;
                 }
 
-                completedCount.incrementAndGet();
+                finish(true);
 
+            } catch (InterruptedException e) {
+                // 대기 시간 초과로 작업을 중단함 (원래 이메일 유지, 저널에 남기지 않으므로 --resume 때 다시 처리)
+                Thread.currentThread().interrupt();
+                row.setFoundEmail(row.getOriginalEmail());
+                deadlineSkippedCount.incrementAndGet();
+                finish(false);
             } catch (Exception e) {
                 row.setFoundEmail("X");
-                completedCount.incrementAndGet();
+                finish(true);
 
                 // 심각한 오류만 출력
                 synchronized(System.out) {
@@ -150,6 +624,60 @@ public class MultiThreadCsvProcessorService_Temp {
                 }
             }
         }
+
+        /**
+         * 크롤링 결과로 행을 마무리합니다.
+         *
+         * @param foundEmail 찾은 이메일, 없으면 빈 문자열
+         */
+        private void completeRow(String foundEmail) {
+            row.setFoundEmail(foundEmail.isEmpty() ? "X" : foundEmail);
+
+            if (!foundEmail.isEmpty()) {
+                // 🔥 이메일 발견 시에만 출력
+                synchronized(System.out) {
+                    System.out.printf("✅ [%d] %s → %s\n",
+                            index, row.getCompany(), foundEmail);
+                }
+                successCount.incrementAndGet();
+            }
+            finish(true);
+        }
+
+        /**
+         * 행 처리를 마무리합니다. (저널 기록, 스트리밍 모드면 출력 버퍼로 전달)
+         *
+         * @param record 저널에 기록할지 여부 (저널에서 복원한 행은 다시 기록하지 않음)
+         */
+        private void finish(boolean record) {
+            if (output != null && unwrittenRows.remove(index) == null) {
+                // 대기 시간 초과 뒤에 끝난 행: 이미 원래 이메일로 기록했으므로 결과를 버림 (--resume 때 다시 처리)
+                inFlight.decrement();
+                return;
+            }
+            completedCount.incrementAndGet();
+            try {
+                CrawlJournal currentJournal = journal;
+                if (record && currentJournal != null) {
+                    currentJournal.record(index, row.getFoundEmail());
+                }
+                if (output != null) {
+                    output.complete(index, row);
+                }
+                long elapsedNanos = System.nanoTime() - state.getStartNanos();
+                CrawlMetrics.shared().record(CrawlMetrics.Phase.ROW, elapsedNanos);
+                CrawlListener listener = crawlListener;
+                if (listener != null) {
+                    listener.onRowCompleted(row, elapsedNanos);
+                }
+            } catch (Exception e) {
+                synchronized(System.out) {
+                    System.err.printf("❌ [%d] 결과 기록 실패: %s\n", index, e.getMessage());
+                }
+            } finally {
+                inFlight.decrement();
+            }
+        }
     }
 
     /**
@@ -183,11 +711,12 @@ public class MultiThreadCsvProcessorService_Temp {
 
                     System.out.printf("⏰ 경과: %s | 남은시간: %s\n",
                             formatTime(elapsedSec), formatTime(remainingSec));
-                    System.out.printf("⚡ 속도: %.1f 사이트/분\n",
-                            completed > 0 ? (double)completed * 60 / elapsedSec : 0);
+                    System.out.printf("⚡ 속도: %.1f 사이트/분 | 동시 요청 %d / 한도 %d\n",
+                            completed > 0 ? (double)completed * 60 / elapsedSec : 0,
+                            concurrencyLimiter.getInFlight(), concurrencyLimiter.getLimit());
 
                     System.out.println("═".repeat(15));
-                    System.out.println("💡 Ctrl+C로 중단 가능");
+                    System.out.println("💡 Ctrl+C로 중단해도 진행 내용이 저장되며, --resume 으로 이어서 실행할 수 있습니다");
 
                     Thread.sleep(2000); // 2초마다 업데이트
                 }
@@ -278,16 +807,216 @@ public class MultiThreadCsvProcessorService_Temp {
         System.out.println("🎉 처리 완료!");
         System.out.printf("📊 처리된 회사: %,d/%,d\n", completed, totalRows);
         System.out.printf("📧 이메일 발견: %,d개 (성공률: %.1f%%)\n", success, successRate);
+        System.out.printf("♻️ 중복 사이트 결과 재사용: %,d개 | 캐시 사용: %,d개\n",
+                singleFlight.getSharedCount(), singleFlight.getCacheHitCount());
         System.out.printf("⏱️ 총 소요시간: %d시간 %d분 %d초\n", hours, minutes, seconds);
+        System.out.printf("🎚️ 동시 요청 한도: 종료 시 %d개 (범위 %d~%d)\n",
+                concurrencyLimiter.getLimit(), concurrencyLimiter.getMinLimit(), concurrencyLimiter.getMaxLimit());
+        if (deadlineSkippedCount.get() > 0) {
+            System.out.printf("⏰ 실행 시간 한도(%d분)에 도달해 %,d개 행은 크롤링하지 않았습니다\n",
+                    RUN_DEADLINE_MINUTES, deadlineSkippedCount.get());
+        }
 
         if (totalRows > 0) {
             double avgTimePerSite = (double) totalTimeMs / totalRows / 1000;
             System.out.printf("⚡ 사이트당 평균 처리 시간: %.2f초\n", avgTimePerSite);
         }
+        CrawlMetrics.shared().printSummary();
+    }
+
+    /**
+     * 체크포인트 저널을 엽니다. 이어하기 모드면 기존 저널의 완료 행을 읽어옵니다.
+     */
+    private void openJournal(String outputPath) throws Exception {
+        String journalPath = journalPathFor(outputPath);
+
+        if (resume) {
+            resumedRows = CrawlJournal.load(journalPath);
+            System.out.printf("🔁 이어하기: 이전 실행에서 완료된 %,d개 행은 건너뜁니다\n", resumedRows.size());
+        } else {
+            resumedRows = Collections.emptyMap();
+        }
+
+        journal = new CrawlJournal(journalPath, resume, JOURNAL_SYNC_MS);
+        finished = false;
+    }
+
+    /**
+     * 저널 경로 (샤드 작업자는 병합할 때 읽는 샤드 부분 결과 파일)
+     */
+    private String journalPathFor(String outputPath) {
+        return shardCount > 1
+                ? ShardedCrawlCoordinator.partialPath(outputPath, shardIndex, shardCount)
+                : CrawlJournal.pathFor(outputPath);
+    }
+
+    /**
+     * 종료 훅을 해제하고, 모든 행이 끝났으면 저널을 삭제합니다. (타임아웃 등으로 남은 행이 있으면 저널 유지)
+     * 샤드 작업자의 저널은 병합 단계에서 읽으므로 삭제하지 않습니다.
+     */
+    private void finishJournal(Thread shutdownHook, boolean allCompleted) throws Exception {
+        finished = true;
+        if (shutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ignored) {
+                // 이미 종료 중
+            }
+        }
+        if (allCompleted && shardCount == 1) {
+            journal.delete();
+        } else if (allCompleted) {
+            journal.close();
+        } else {
+            journal.close();
+            System.out.println("💡 처리되지 않은 행이 있습니다. --resume 으로 이어서 실행할 수 있습니다.");
+        }
+        journal = null;
+    }
+
+    /**
+     * 비정상 종료 시 저널을 flush하고 추가 저장 작업을 실행하는 종료 훅을 등록합니다.
+     */
+    private Thread registerShutdownHook(Runnable savePartial) {
+        Thread hook = new Thread(() -> {
+            if (finished) {
+                return;
+            }
+            System.out.println("\n⚠️ 중단 감지: 진행 내용을 저장합니다...");
+            inFlight.cancel(); // 새 행 제출 중단
+            try {
+                CrawlJournal currentJournal = journal;
+                if (currentJournal != null) {
+                    currentJournal.close();
+                }
+            } catch (Exception e) {
+                System.err.println("❌ 저널 저장 실패: " + e.getMessage());
+            }
+            savePartial.run();
+            System.out.println("💡 같은 파일로 --resume 옵션을 주고 실행하면 이어서 처리합니다.");
+        }, "crawl-shutdown");
+
+        Runtime.getRuntime().addShutdownHook(hook);
+        return hook;
+    }
+
+    /**
+     * 중단 시점까지의 결과를 저장합니다. (아직 처리하지 않은 행은 원래 이메일 유지)
+     */
+    private void savePartialCsvData(List<CsvRow> rows, String outputPath) {
+        try {
+            keepOriginalEmails(rows);
+            saveCsvData(rows, outputPath);
+        } catch (Exception e) {
+            System.err.println("❌ 부분 결과 저장 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 결과가 없는 행(처리하지 않은 행)은 원래 이메일을 그대로 저장하도록 채웁니다.
+     */
+    private void keepOriginalEmails(List<CsvRow> rows) {
+        for (CsvRow row : rows) {
+            if (!row.isHeader() && row.getFoundEmail().isEmpty()) {
+                row.setFoundEmail(row.getOriginalEmail());
+            }
+        }
+    }
+
+    private void flushQuietly(OrderedCsvWriter output) {
+        try {
+            output.flush();
+            System.out.printf("💾 %,d개 행까지 저장됨\n", output.getWrittenCount());
+        } catch (Exception e) {
+            System.err.println("❌ 출력 파일 flush 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 찾은 이메일의 도메인을 한 번에 확인해서 메일을 받을 수 없는 도메인의 이메일은 "X"로 바꿉니다. (mx.verify=true)
+     *
+     * @param rows 크롤링 결과가 들어 있는 행
+     * @return "X"로 바꾼 행 수
+     */
+    private int verifyMailDomains(List<CsvRow> rows) {
+        if (mailVerifier == null) {
+            return 0;
+        }
+        List<String> emails = new ArrayList<>();
+        for (CsvRow row : rows) {
+            if (hasFoundEmail(row)) {
+                emails.add(row.getFoundEmail());
+            }
+        }
+        if (emails.isEmpty()) {
+            return 0;
+        }
+
+        long startTime = System.currentTimeMillis();
+        int lookupsBefore = mailVerifier.getLookupCount();
+        Map<String, MailDomainStatus> statuses = mailVerifier.verifyAll(emails);
+
+        int rejected = 0;
+        for (CsvRow row : rows) {
+            if (!hasFoundEmail(row)) {
+                continue;
+            }
+            MailDomainStatus status = statuses.get(MailDomainVerifier.domainOf(row.getFoundEmail()));
+            if (status != null && !status.isKeep()) {
+                row.setFoundEmail("X");
+                rejected++;
+            }
+        }
+
+        System.out.printf("📮 메일 도메인 확인: 이메일 %,d개 / 도메인 %,d개 (DNS 조회 %,d개, %.1f초) | 제외한 이메일 %,d개\n",
+                emails.size(), statuses.size(), mailVerifier.getLookupCount() - lookupsBefore,
+                (System.currentTimeMillis() - startTime) / 1000.0, rejected);
+        int printed = 0;
+        for (Map.Entry<String, MailDomainStatus> entry : statuses.entrySet()) {
+            if (!entry.getValue().isKeep() && printed++ < MX_REJECTED_PRINT_LIMIT) {
+                System.out.printf("   📭 %s (%s)\n", entry.getKey(), entry.getValue().label());
+            }
+        }
+        if (printed > MX_REJECTED_PRINT_LIMIT) {
+            System.out.printf("   ... 외 %,d개 도메인\n", printed - MX_REJECTED_PRINT_LIMIT);
+        }
+        return rejected;
+    }
+
+    private static boolean hasFoundEmail(CsvRow row) {
+        return !row.getFoundEmail().isEmpty() && !"X".equals(row.getFoundEmail());
+    }
+
+    /**
+     * 실행 간 크롤링 결과 캐시 열기 (실패하면 캐시 없이 진행)
+     */
+    private CrawlResultStore openResultStore() {
+        if (!CACHE_ENABLED) {
+            return null;
+        }
+        try {
+            // 샤드 작업자는 샤드별 캐시 파일 사용 (같은 호스트는 항상 같은 샤드이므로 캐시가 그대로 유효)
+            String cachePath = shardCount > 1 ? CACHE_PATH + ".shard-" + shardIndex : CACHE_PATH;
+            return new CrawlResultStore(cachePath, CACHE_TTL_HOURS);
+        } catch (Exception e) {
+            System.out.println("⚠️ 크롤링 캐시를 열 수 없어 캐시 없이 진행합니다: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeResultStore() {
+        if (resultStore == null) {
+            return;
+        }
+        try {
+            resultStore.close();
+        } catch (Exception e) {
+            System.out.println("⚠️ 크롤링 캐시 저장 실패: " + e.getMessage());
+        }
     }
 
     // 기타 헬퍼 메소드들...
-    private String generateOutputPath(String originalPath) {
+    public static String generateOutputPath(String originalPath) {
         if (originalPath.toLowerCase().endsWith(".csv")) {
             return originalPath.substring(0, originalPath.length() - 4) + "_updated.csv";
         } else {
@@ -301,7 +1030,7 @@ public class MultiThreadCsvProcessorService_Temp {
     private void saveCsvData(List<CsvRow> rows, String outputPath) throws Exception {
         System.out.println("🔍 저장 시작: " + outputPath);
 
-        try (FileWriter writer = new FileWriter(outputPath, java.nio.charset.StandardCharsets.UTF_8)) {
+        try (CsvOutputWriter writer = new CsvOutputWriter(outputPath)) {
             // UTF-8 BOM 추가 (Excel 호환)
             writer.write('\ufeff');
 
@@ -310,37 +1039,23 @@ public class MultiThreadCsvProcessorService_Temp {
 
                 if (row.isHeader()) {
                     // 헤더 그대로 출력
-                    String headerLine = String.join(",", row.getValues());
-                    writer.write(headerLine + "\n");
-                    System.out.println("📋 헤더 저장: " + headerLine);
+                    csvParser.writeCsvRow(writer, row);
+                    System.out.println("📋 헤더 저장: " + String.join(",", row.getValues()));
                 } else {
-                    // 🔥 중요: 배열 복사해서 수정
-                    String[] updatedValues = row.getValues().clone();
-
                     // 🔍 디버깅 정보
                     if (i <= 5) { // 처음 5개만 디버깅 출력
                         System.out.printf("🔍 [%d] %s: emailCol=%d, foundEmail='%s'\n",
                                 i, row.getCompany(), row.getEmailCol(), row.getFoundEmail());
-                    }
-
-                    if (row.getEmailCol() >= 0 && row.getEmailCol() < updatedValues.length) {
-                        updatedValues[row.getEmailCol()] = row.getFoundEmail();
-                        if (i <= 5) {
+                        if (row.getEmailCol() >= 0 && row.getEmailCol() < row.getFieldCount()) {
                             System.out.printf("✅ [%d] Email 컬럼 업데이트: '%s'\n", i, row.getFoundEmail());
-                        }
-                    } else {
-                        if (i <= 5) {
-                            System.out.printf("❌ [%d] Email 컬럼 인덱스 오류: %d (배열 길이: %d)\n",
-                                    i, row.getEmailCol(), updatedValues.length);
+                        } else {
+                            System.out.printf("❌ [%d] Email 컬럼 인덱스 오류: %d (필드 수: %d)\n",
+                                    i, row.getEmailCol(), row.getFieldCount());
                         }
                     }
 
-                    // CSV 형식으로 출력
-                    for (int j = 0; j < updatedValues.length; j++) {
-                        if (j > 0) writer.write(",");
-                        writer.write(escapeCsvField(updatedValues[j]));
-                    }
-                    writer.write("\n");
+                    // 원본 레코드를 그대로 복사하고 Email 컬럼만 교체해서 출력
+                    csvParser.writeCsvRow(writer, row);
                 }
             }
         }
@@ -351,16 +1066,4 @@ public class MultiThreadCsvProcessorService_Temp {
         System.out.println("📂 저장된 파일 위치 확인: ");
         System.out.println("   " + new java.io.File(outputPath).getAbsolutePath());
     }
-
-    /**
-     * CSV 필드 이스케이프
-     */
-    private String escapeCsvField(String field) {
-        if (field == null) return "";
-
-        if (field.contains(",") || field.contains("\"") || field.contains("\n")) {
-            return "\"" + field.replace("\"", "\"\"") + "\"";
-        }
-        return field;
-    }
 }
\ No newline at end of file
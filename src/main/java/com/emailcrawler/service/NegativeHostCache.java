@@ -0,0 +1,149 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.FetchOutcome;
+import com.emailcrawler.util.UrlUtils;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 응답할 수 없는 호스트/도메인 캐시 (음성 캐시)
+ *
+ * DNS 조회 실패, 연결 거부, 연결 시간 초과, TLS 오류를 받은 호스트를 TTL 동안 기억해서
+ * 같은 호스트(포트가 있으면 호스트:포트)의 다음 행은 요청 없이 바로 같은 결과로 끝냅니다.
+ * 등록 도메인 자체(또는 www.등록도메인)가 DNS에 없으면 그 도메인의 모든 하위 호스트도 실패로 봅니다.
+ * 연결 시간 초과처럼 일시적일 수도 있는 실패는 같은 호스트에서 연속으로 failureThreshold번 나야 기록하고,
+ * 그 사이에 응답을 받으면 횟수를 다시 셉니다.
+ */
+public class NegativeHostCache {
+
+    private static final int PRUNE_THRESHOLD = 10_000; // 이 개수를 넘으면 만료된 항목 정리
+    private static final int PRUNE_EVERY = 1_000;      // 정리 시도 주기 (기록 횟수)
+
+    private final long ttlNanos;
+    private final int failureThreshold;
+    private final Map<String, Entry> hosts = new ConcurrentHashMap<>();
+    private final Map<String, Entry> domains = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> strikes = new ConcurrentHashMap<>(); // 호스트별 연속 일시적 실패 횟수
+    private final AtomicInteger putCount = new AtomicInteger(0);
+
+    /**
+     * @param ttlMinutes       실패를 기억할 시간 (분)
+     * @param failureThreshold 일시적일 수도 있는 실패(연결 시간 초과)를 기록하기 전까지 필요한 연속 실패 횟수
+     */
+    public NegativeHostCache(long ttlMinutes, int failureThreshold) {
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        this.failureThreshold = Math.max(1, failureThreshold);
+    }
+
+    /**
+     * URL의 호스트가 최근에 응답할 수 없었는지 확인합니다.
+     *
+     * @param url 요청할 URL
+     * @return 기억하고 있는 실패 종류, 없으면 null
+     */
+    public FetchOutcome lookup(String url) {
+        String host = UrlUtils.extractHost(url);
+        if (host.isEmpty()) {
+            return null;
+        }
+        long now = System.nanoTime();
+        FetchOutcome outcome = valid(hosts, hostKey(url, host), now);
+        return outcome != null ? outcome : valid(domains, UrlUtils.registrableDomain(host), now);
+    }
+
+    /**
+     * 크롤링 결과를 반영합니다. (응답할 수 없는 호스트로 보는 실패만 기록)
+     *
+     * @param url     요청한 URL
+     * @param outcome 크롤링 결과 종류
+     */
+    public void record(String url, FetchOutcome outcome) {
+        String host = UrlUtils.extractHost(url);
+        if (host.isEmpty()) {
+            return;
+        }
+        if (!outcome.isDeadHost()) {
+            if (!strikes.isEmpty()) {
+                strikes.remove(hostKey(url, host)); // 응답을 받았으면 연속 실패 횟수 초기화
+            }
+            return;
+        }
+        pruneIfNeeded();
+
+        if (outcome.isTransient()) {
+            String key = hostKey(url, host);
+            int count = strikes.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            if (count < failureThreshold) {
+                return;
+            }
+            strikes.remove(key);
+        }
+
+        Entry entry = new Entry(outcome, System.nanoTime() + ttlNanos);
+        String domain = UrlUtils.registrableDomain(host);
+        if (outcome == FetchOutcome.DNS_FAILURE) {
+            // 이름 조회 실패는 포트와 관계없음, 등록 도메인 자체가 없으면 하위 호스트 전체
+            if (host.equals(domain) || host.equals("www." + domain)) {
+                domains.put(domain, entry);
+            } else {
+                hosts.put(host, entry);
+            }
+        } else {
+            hosts.put(hostKey(url, host), entry);
+        }
+    }
+
+    public int size() {
+        return hosts.size() + domains.size();
+    }
+
+    /**
+     * 연결 단위 키 (기본 포트가 아니면 호스트:포트)
+     */
+    private static String hostKey(String url, String host) {
+        try {
+            int port = URI.create(url.trim()).getPort();
+            return port == -1 ? host : host + ":" + port;
+        } catch (IllegalArgumentException e) {
+            return host;
+        }
+    }
+
+    private static FetchOutcome valid(Map<String, Entry> entries, String key, long now) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - now < 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.outcome;
+    }
+
+    private void pruneIfNeeded() {
+        if (putCount.incrementAndGet() % PRUNE_EVERY != 0 || size() < PRUNE_THRESHOLD) {
+            return;
+        }
+        long now = System.nanoTime();
+        hosts.values().removeIf(entry -> entry.expiresAt - now < 0);
+        domains.values().removeIf(entry -> entry.expiresAt - now < 0);
+        if (strikes.size() >= PRUNE_THRESHOLD) {
+            strikes.clear(); // 연속 실패 횟수는 다시 세면 됨
+        }
+    }
+
+    private static class Entry {
+        private final FetchOutcome outcome;
+        private final long expiresAt; // nanoTime
+
+        Entry(FetchOutcome outcome, long expiresAt) {
+            this.outcome = outcome;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
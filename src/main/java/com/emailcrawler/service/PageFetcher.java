@@ -0,0 +1,52 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.FetchResponse;
+import com.emailcrawler.util.AppConfig;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 웹페이지를 가져오는 방식의 공통 인터페이스
+ *
+ * crawler.fetcher 설정으로 구현을 선택합니다.
+ * - httpclient : 공유 java.net.http.HttpClient (커넥션 풀, HTTP/2, 비동기) - 기본값
+ * - jsoup      : 요청마다 Jsoup.connect() 사용 (기존 방식)
+ */
+public interface PageFetcher {
+
+    String USER_AGENT = AppConfig.getString("crawler.user-agent",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+    int TIMEOUT = AppConfig.getInt("crawler.timeout", 15000); // 15초 (요청 타임아웃 상한)
+    int CONNECT_TIMEOUT = AppConfig.getInt("crawler.connect-timeout-ms", 2500); // 응답 없는 호스트를 빨리 구분하도록 요청 타임아웃보다 짧게
+
+    /**
+     * 웹페이지를 비동기로 가져옵니다. HTTP 오류 상태도 예외 없이 응답으로 반환합니다.
+     * 본문은 스트림으로 전달되므로 사용한 뒤 응답을 닫아야 합니다.
+     *
+     * @param url 요청할 URL
+     * @return 응답 Future (네트워크 오류 시 예외로 완료)
+     */
+    default CompletableFuture<FetchResponse> fetchAsync(String url) {
+        return fetchAsync(url, TIMEOUT);
+    }
+
+    /**
+     * 응답 헤더까지의 타임아웃을 지정해서 웹페이지를 비동기로 가져옵니다.
+     *
+     * @param url       요청할 URL
+     * @param timeoutMs 요청 타임아웃 (ms)
+     * @return 응답 Future (네트워크 오류/타임아웃 시 예외로 완료)
+     */
+    CompletableFuture<FetchResponse> fetchAsync(String url, long timeoutMs);
+
+    /**
+     * 설정에 맞는 PageFetcher를 반환합니다.
+     */
+    static PageFetcher fromConfig() {
+        String type = AppConfig.getString("crawler.fetcher", "httpclient");
+        if ("jsoup".equalsIgnoreCase(type)) {
+            return new JsoupPageFetcher();
+        }
+        return HttpClientPageFetcher.shared();
+    }
+}
@@ -0,0 +1,207 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.CrawlResult;
+import com.emailcrawler.util.AppConfig;
+import com.emailcrawler.util.UrlUtils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 행 하나의 크롤링 진행 상태 (호스트 차례 대기, 429 / Retry-After, 일시적인 실패 재시도)
+ *
+ * 두 CSV 처리 서비스의 작업이 같은 규칙으로 기다리고 다시 실행되도록 한 곳에 모았습니다.
+ * - 호스트 차례가 아니면 스레드를 붙잡지 않고, 차례가 되었을 때 작업을 다시 제출
+ * - 429 / Retry-After 응답은 호스트를 그 시간만큼 쉬게 한 뒤 다시 시도 (crawler.politeness.max-retries번까지)
+ * - 일시적인 실패(타임아웃, 연결 끊김, 5xx)는 지수 백오프 후 다시 시도 (crawler.retry.max-attempts번 요청까지)
+ * 다시 시도할 때도 호스트 요청 슬롯을 새로 예약하므로 호스트 요청 간격을 지킵니다.
+ * 행 시간 한도(crawler.row-deadline-ms)는 첫 요청을 시작할 때 한 번 정하고, 모든 재시도와 하위 페이지 요청이
+ * 그 안에서 끝납니다. 대기 후 한도를 넘게 되는 재시도는 하지 않습니다.
+ * 작업 하나가 한 번에 한 스레드에서만 실행되므로 동기화하지 않습니다.
+ */
+public class RowCrawlState {
+
+    // 행 하나의 전체 시간 한도 (재시도 포함, 대기 후 이 시간을 넘게 되면 다시 시도하지 않음)
+    private static final long ROW_DEADLINE_MS = AppConfig.getLong("crawler.row-deadline-ms", 30000);
+
+    // 429 / Retry-After 처리 (Retry-After가 없을 때 대기 시간, 최대 재시도 횟수)
+    private static final long DEFAULT_RETRY_AFTER_MS = AppConfig.getLong("crawler.politeness.retry-after-default-ms", 10000);
+    private static final int MAX_RATE_LIMIT_RETRIES = AppConfig.getInt("crawler.politeness.max-retries", 3);
+
+    // 일시적인 실패 재시도 (최대 시도 횟수, 백오프 기준/상한 ms)
+    private static final int RETRY_MAX_ATTEMPTS = AppConfig.getInt("crawler.retry.max-attempts", 3);
+    private static final long RETRY_BASE_DELAY_MS = AppConfig.getLong("crawler.retry.base-delay-ms", 500);
+    private static final long RETRY_MAX_DELAY_MS = AppConfig.getLong("crawler.retry.max-delay-ms", 5000);
+
+    /**
+     * scheduleRetry 결과
+     */
+    public enum Retry {
+        NONE,          // 다시 시도하지 않음 (결과로 행을 마무리)
+        RATE_LIMITED,  // 429 / Retry-After: 호스트 대기 후 다시 실행
+        TRANSIENT      // 일시적인 실패: 백오프 후 다시 실행
+    }
+
+    private final HostPolitenessScheduler scheduler;
+    private final String host;
+    private boolean slotReserved = false;  // 호스트 요청 슬롯을 이미 예약했는지
+    private int rateLimitRetries = 0;
+    private int transientRetries = 0;      // 일시적인 실패로 다시 시도한 횟수
+    private long retryDelayMs = 0;         // 마지막으로 예약한 재시도 대기 시간
+    private long startNanos = 0;           // 처음 실행된 시각 (다시 제출되어도 유지)
+    private long deadlineNanos = 0;        // 행 시간 한도 (첫 요청을 시작할 때 정함, 0이면 아직 요청 전)
+    private CrawlResult lastResult;        // 마지막 요청 결과 (재시도 전에 한도를 넘기면 이 결과로 마무리)
+
+    /**
+     * @param website   행의 웹사이트 값
+     * @param scheduler 호스트 요청 간격 스케줄러
+     */
+    public RowCrawlState(String website, HostPolitenessScheduler scheduler) {
+        this.scheduler = scheduler;
+        this.host = UrlUtils.extractHost(website);
+    }
+
+    /**
+     * 작업이 실행될 때마다 호출합니다. 처음 실행된 시각만 기억합니다.
+     */
+    public void start() {
+        if (startNanos == 0) {
+            startNanos = System.nanoTime();
+        }
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * 요청을 시작할 때 호출합니다. 첫 요청이면 행 시간 한도를 정하고, 재시도는 같은 한도를 씁니다.
+     *
+     * @return 행 시간 한도 (System.nanoTime 기준, 크롤러에 그대로 넘김)
+     */
+    public long attemptDeadlineNanos() {
+        if (deadlineNanos == 0) {
+            deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ROW_DEADLINE_MS);
+        }
+        return deadlineNanos;
+    }
+
+    /**
+     * 행 시간 한도까지 남은 시간 (ms), 아직 요청 전이면 한도 전체
+     */
+    public long remainingMillis() {
+        if (deadlineNanos == 0) {
+            return ROW_DEADLINE_MS;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * 재시도 차례를 기다리는 동안 행 시간 한도를 넘겼으면 마지막 요청 결과를 반환합니다.
+     *
+     * @return 마지막 요청 결과, 아직 한도 안이거나 요청한 적이 없으면 null
+     */
+    public CrawlResult expiredResult() {
+        return lastResult != null && System.nanoTime() - deadlineNanos >= 0 ? lastResult : null;
+    }
+
+    /**
+     * 호스트 요청 슬롯을 확인합니다.
+     *
+     * @param task     차례가 아니면 나중에 다시 실행할 작업
+     * @param executor 작업을 다시 제출할 실행기
+     * @return 지금 요청해도 되면 true, 나중에 다시 실행되도록 예약했으면 false
+     */
+    public boolean awaitHostTurn(Runnable task, Executor executor) {
+        // 이미 예약한 슬롯이 되었고 그 사이 Retry-After 대기가 생기지 않았으면 바로 진행
+        if (slotReserved && !scheduler.isBlocked(host)) {
+            slotReserved = false;
+            return true;
+        }
+
+        long waitMs = scheduler.reserve(host);
+        if (waitMs <= 0) {
+            slotReserved = false;
+            return true;
+        }
+
+        slotReserved = true;
+        scheduler.runLater(task, waitMs, executor);
+        return false;
+    }
+
+    /**
+     * 크롤링 결과를 보고 다시 시도할지 정하고, 다시 시도하면 작업을 예약합니다.
+     *
+     * @param result   이번 크롤링 결과
+     * @param task     다시 실행할 작업
+     * @param executor 작업을 다시 제출할 실행기
+     * @return 예약한 재시도 종류, 다시 시도하지 않으면 NONE
+     */
+    public Retry scheduleRetry(CrawlResult result, Runnable task, Executor executor) {
+        lastResult = result;
+        long remainingMs = remainingMillis();
+
+        // 429 / Retry-After: 호스트를 쉬게 하고, 행 시간 한도 안이면 나중에 다시 시도
+        if (result.isRateLimited()) {
+            long waitMs = result.getRetryAfterMs() > 0 ? result.getRetryAfterMs() : DEFAULT_RETRY_AFTER_MS;
+            scheduler.backoff(host, waitMs);
+            if (rateLimitRetries >= MAX_RATE_LIMIT_RETRIES || waitMs >= remainingMs) {
+                return Retry.NONE;
+            }
+            rateLimitRetries++;
+            scheduler.runLater(task, 0, executor);
+            return Retry.RATE_LIMITED;
+        }
+
+        // 일시적인 실패(타임아웃, 연결 끊김, 5xx): 백오프 후 다시 실행 (호스트 요청 슬롯을 새로 예약)
+        long delayMs = retryDelayMs(result, transientRetries, remainingMs);
+        if (delayMs < 0) {
+            return Retry.NONE;
+        }
+        transientRetries++;
+        retryDelayMs = delayMs;
+        CrawlMetrics.shared().recordRetry();
+        scheduler.runLater(task, delayMs, executor);
+        return Retry.TRANSIENT;
+    }
+
+    /** 일시적인 실패로 다시 시도한 횟수 */
+    public int getTransientRetries() {
+        return transientRetries;
+    }
+
+    /** 마지막으로 예약한 재시도 대기 시간 (ms) */
+    public long getRetryDelayMs() {
+        return retryDelayMs;
+    }
+
+    /**
+     * 일시적인 실패를 다시 시도할 때까지의 대기 시간을 정합니다.
+     * 429 / Retry-After 응답은 호스트 단위로 따로 기다리므로 여기서는 다시 시도하지 않습니다.
+     *
+     * 대기 시간: 지수 백오프(base x 2^retries, 상한 max)의 절반 + 나머지 절반 안에서 무작위 (equal jitter)
+     *
+     * @param result      이번 크롤링 결과
+     * @param retries     이 행에서 이미 다시 시도한 횟수
+     * @param remainingMs 행 시간 한도까지 남은 시간 (대기 후 한도를 넘으면 다시 시도하지 않음)
+     * @return 대기 시간 (ms), 다시 시도하지 않으면 -1
+     */
+    public static long retryDelayMs(CrawlResult result, int retries, long remainingMs) {
+        if (!result.getOutcome().isTransient() || result.isRateLimited() || retries >= RETRY_MAX_ATTEMPTS - 1) {
+            return -1;
+        }
+        long backoff = Math.min(RETRY_MAX_DELAY_MS, RETRY_BASE_DELAY_MS << Math.min(retries, 20));
+        long half = backoff / 2;
+        long delayMs = half + ThreadLocalRandom.current().nextLong(half + 1);
+        return delayMs < remainingMs ? delayMs : -1;
+    }
+
+    /**
+     * 한 행의 최대 재시도 횟수 (로그 표시용)
+     */
+    public static int maxRetries() {
+        return RETRY_MAX_ATTEMPTS - 1;
+    }
+}
@@ -0,0 +1,252 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.util.AppConfig;
+import com.emailcrawler.util.UrlUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드 모드 실행기 (입력을 호스트 해시로 N개 샤드로 나눠 작업자 JVM N개로 크롤링한 뒤 병합)
+ *
+ * 1. 행마다 웹사이트 호스트의 해시로 샤드를 정합니다. 같은 호스트는 항상 같은 샤드라서
+ *    호스트별 요청 간격/Retry-After 대기가 샤드를 넘어서도 그대로 지켜집니다.
+ * 2. 작업자(--shard-worker=K/N)는 자기 샤드의 행만 크롤링하고, 결과를 저널 형식("행번호\t이메일")의
+ *    부분 결과 파일에 남깁니다. (출력 파일 옆 .shard-K-of-N.journal, 중단되면 --resume 으로 이어하기)
+ * 3. 병합(--merge-shards=N)은 부분 결과를 원래 행 순서대로 모아 _updated.csv 를 만듭니다.
+ *
+ * 한 대에서는 --shards=N 으로 작업자 실행부터 병합까지 한 번에 진행하고,
+ * 여러 대에서는 공유 파일 시스템의 같은 CSV를 대상으로 노드마다 --shard-worker=K/N 을 실행한 뒤
+ * 한 노드에서 --merge-shards=N 을 실행합니다.
+ */
+public class ShardedCrawlCoordinator {
+
+    private static final long PROGRESS_INTERVAL_MS = 5000;
+    private static final long WORKER_EXIT_WAIT_MS = 10_000; // 중단 시 작업자가 부분 결과를 flush하고 끝나기를 기다리는 시간
+    private static final int METRICS_PORT = AppConfig.getInt("metrics.port", 0);
+
+    private ShardedCrawlCoordinator() {
+    }
+
+    /**
+     * 행이 속한 샤드를 정합니다. (웹사이트가 없는 행은 행 번호로 고르게 나눔)
+     *
+     * @param website    행의 웹사이트 URL
+     * @param rowIndex   1부터 시작하는 데이터 행 번호
+     * @param shardCount 전체 샤드 수
+     * @return 0부터 시작하는 샤드 번호
+     */
+    public static int shardOf(String website, int rowIndex, int shardCount) {
+        if (shardCount <= 1) {
+            return 0;
+        }
+        String host = UrlUtils.extractHost(website);
+        if (host.isEmpty()) {
+            return Math.floorMod(rowIndex, shardCount);
+        }
+        if (host.startsWith("www.")) {
+            host = host.substring(4); // www.example.com 과 example.com 은 같은 샤드
+        }
+
+        // String.hashCode는 JVM과 관계없이 같은 값이므로 노드가 달라도 같은 샤드가 됨 (하위 비트를 섞어서 사용)
+        int hash = host.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, shardCount);
+    }
+
+    /**
+     * 샤드의 부분 결과 파일 경로 (출력 파일 옆에 ".shard-K-of-N.journal"을 붙임)
+     */
+    public static String partialPath(String outputPath, int shardIndex, int shardCount) {
+        return outputPath + ".shard-" + shardIndex + "-of-" + shardCount + ".journal";
+    }
+
+    /**
+     * 작업자 JVM N개를 실행하고, 모두 끝나면 부분 결과를 병합합니다.
+     *
+     * @param csvPath    입력 CSV 경로
+     * @param shardCount 샤드(작업자 JVM) 수
+     * @param resume     작업자가 이전 실행의 부분 결과에서 이어서 처리할지 여부
+     */
+    public static void runLocal(String csvPath, int shardCount, boolean resume) throws Exception {
+        String outputPath = MultiThreadCsvProcessorService_Temp.generateOutputPath(csvPath);
+
+        System.out.printf("🧩 샤드 모드: 작업자 JVM %d개로 처리합니다 (호스트 해시로 분할)\n", shardCount);
+        long startTime = System.currentTimeMillis();
+
+        List<Process> workers = new CopyOnWriteArrayList<>();
+        // 중단(Ctrl+C 등) 시 작업자에게도 종료를 알리고, 부분 결과를 flush하고 끝날 때까지 기다림
+        Thread shutdownHook = new Thread(() -> stopWorkers(workers), "shard-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                workers.add(startWorker(csvPath, outputPath, shard, shardCount, resume));
+            }
+
+            int failed = awaitWorkers(workers, outputPath, shardCount, startTime);
+            if (failed > 0) {
+                System.out.printf("⚠️ 작업자 %d개가 비정상 종료되었습니다. 끝난 행까지만 병합합니다. (로그: %s)\n",
+                        failed, outputPath + ".shard-*.log");
+            }
+        } finally {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ignored) {
+                // 이미 종료 중 (종료 훅이 작업자를 정리함)
+            }
+            for (Process worker : workers) {
+                if (worker.isAlive()) {
+                    worker.destroy();
+                }
+            }
+        }
+
+        new MultiThreadCsvProcessorService_Temp().mergeShards(csvPath, shardCount);
+    }
+
+    /**
+     * 작업자에게 종료를 요청하고(작업자의 종료 훅이 부분 결과를 flush) 끝날 때까지 기다립니다.
+     * WORKER_EXIT_WAIT_MS 안에 끝나지 않은 작업자는 강제로 종료합니다.
+     */
+    private static void stopWorkers(List<Process> workers) {
+        boolean stopping = false;
+        for (Process worker : workers) {
+            if (worker.isAlive()) {
+                worker.destroy();
+                stopping = true;
+            }
+        }
+        if (!stopping) {
+            return;
+        }
+        System.out.println("\n⚠️ 중단 감지: 작업자 JVM을 종료합니다...");
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WORKER_EXIT_WAIT_MS);
+        for (Process worker : workers) {
+            try {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (!worker.waitFor(Math.max(0, remainingMs), TimeUnit.MILLISECONDS)) {
+                    worker.destroyForcibly().waitFor(1, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                worker.destroyForcibly();
+            }
+        }
+        System.out.println("💡 같은 파일로 --resume 옵션을 주고 실행하면 이어서 처리합니다.");
+    }
+
+    /**
+     * 작업자 JVM 하나를 실행합니다. (현재 JVM 옵션과 클래스패스를 그대로 사용, 출력은 샤드별 로그 파일로)
+     */
+    private static Process startWorker(String csvPath, String outputPath, int shard, int shardCount,
+                                       boolean resume) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!arg.startsWith("-agentlib") && !arg.startsWith("-Dmetrics.port=")) {
+                command.add(arg); // 디버거는 포트가 겹치므로 제외
+            }
+        }
+        if (METRICS_PORT > 0) {
+            command.add("-Dmetrics.port=" + (METRICS_PORT + 1 + shard)); // 작업자마다 다른 포트
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("com.emailcrawler.Main");
+        command.add(csvPath);
+        command.add("--shard-worker=" + shard + "/" + shardCount);
+        if (resume) {
+            command.add("--resume");
+        }
+
+        Path log = Paths.get(logPath(outputPath, shard));
+        System.out.printf("▶️ 샤드 %d/%d 시작 (로그: %s)\n", shard, shardCount, log.toAbsolutePath());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    /**
+     * 모든 작업자가 끝날 때까지 기다리며 부분 결과 파일로 진행 상황을 표시합니다.
+     *
+     * @return 비정상 종료한 작업자 수
+     */
+    private static int awaitWorkers(List<Process> workers, String outputPath, int shardCount,
+                                    long startTime) throws InterruptedException {
+        int failed = 0;
+        boolean[] reported = new boolean[workers.size()];
+        int remaining = workers.size();
+
+        while (remaining > 0) {
+            for (int shard = 0; shard < workers.size(); shard++) {
+                Process worker = workers.get(shard);
+                if (reported[shard] || worker.isAlive()) {
+                    continue;
+                }
+                reported[shard] = true;
+                remaining--;
+                int exitCode = worker.exitValue();
+                if (exitCode != 0) {
+                    failed++;
+                }
+                System.out.printf("%s 샤드 %d/%d 종료 (종료 코드 %d, %s)\n", exitCode == 0 ? "✅" : "❌",
+                        shard, shardCount, exitCode, formatElapsed(System.currentTimeMillis() - startTime));
+            }
+            if (remaining > 0) {
+                for (Process worker : workers) {
+                    if (worker.isAlive()) {
+                        worker.waitFor(PROGRESS_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                        break;
+                    }
+                }
+                System.out.printf("📊 샤드 진행 상황: %,d개 행 완료 | 실행 중인 작업자 %d개\n",
+                        countCompleted(outputPath, shardCount), workers.stream().filter(Process::isAlive).count());
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 부분 결과 파일에 기록된 행 수 (진행률 표시용, 아직 fsync 하지 않은 행은 빠질 수 있음)
+     */
+    private static long countCompleted(String outputPath, int shardCount) {
+        long total = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            Path partial = Paths.get(partialPath(outputPath, shard, shardCount));
+            if (!Files.exists(partial)) {
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(partial, StandardCharsets.UTF_8)) {
+                while (reader.readLine() != null) {
+                    total++;
+                }
+            } catch (IOException ignored) {
+                // 작업자가 쓰는 중이면 다음 주기에 다시 셈
+            }
+        }
+        return total;
+    }
+
+    private static String logPath(String outputPath, int shard) {
+        return outputPath + ".shard-" + shard + ".log";
+    }
+
+    private static String formatElapsed(long millis) {
+        long seconds = millis / 1000;
+        return String.format("%d분 %d초", seconds / 60, seconds % 60);
+    }
+}
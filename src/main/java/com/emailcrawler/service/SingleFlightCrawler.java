@@ -0,0 +1,227 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.CrawlResult;
+import com.emailcrawler.model.FetchOutcome;
+import com.emailcrawler.util.UrlUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 같은 사이트 중복 크롤링 방지 래퍼 (single-flight)
+ *
+ * URL을 정규화한 키로 결과를 공유합니다.
+ * 같은 사이트를 동시에 요청하면 먼저 시작한 요청 하나만 실제로 가져오고 나머지는 그 결과를 기다립니다.
+ * 진행 중인 요청은 끝나는 즉시 맵에서 빠지므로 메모리는 처리 중인 사이트 수에 비례합니다.
+ * 끝난 결과는 최근 recentSize개만 기억해서 가까이 있는 같은 사이트의 행이 재사용하고,
+ * 일시적인 실패(타임아웃, 연결 끊김, 429/5xx)는 기억하지 않아 다음 행이 다시 요청합니다.
+ * CrawlResultStore가 주어지면 이전 실행의 결과도 재사용하고, 새 결과를 저장합니다.
+ */
+public class SingleFlightCrawler {
+
+    private final EmailCrawlerService delegate;
+    public static final int DEFAULT_RECENT_SIZE = 10_000;
+
+    private final Map<String, CompletableFuture<CrawlResult>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CrawlResult> recent;  // 최근에 끝난 결과 (LRU, recentSize개까지)
+    private final CrawlResultStore store; // 실행 간 캐시 (사용하지 않으면 null)
+    private final AtomicInteger sharedCount = new AtomicInteger(0);
+    private final AtomicInteger cacheHitCount = new AtomicInteger(0);
+
+    public SingleFlightCrawler(EmailCrawlerService delegate) {
+        this(delegate, null);
+    }
+
+    public SingleFlightCrawler(EmailCrawlerService delegate, CrawlResultStore store) {
+        this(delegate, store, DEFAULT_RECENT_SIZE);
+    }
+
+    /**
+     * @param delegate   실제 크롤러
+     * @param store      실행 간 캐시 (사용하지 않으면 null)
+     * @param recentSize 끝난 결과를 기억할 최대 사이트 수 (0이면 기억하지 않음)
+     */
+    public SingleFlightCrawler(EmailCrawlerService delegate, CrawlResultStore store, int recentSize) {
+        this.delegate = delegate;
+        this.store = store;
+        this.recent = new LinkedHashMap<String, CrawlResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CrawlResult> eldest) {
+                return size() > recentSize;
+            }
+        };
+    }
+
+    /**
+     * 이미 끝난 결과가 있으면 반환합니다. (요청을 시작하지 않음)
+     *
+     * @param url 웹사이트 URL
+     * @return 완료된 결과, 없거나 아직 진행 중이면 null
+     */
+    public CrawlResult getIfDone(String url) {
+        String key = UrlUtils.normalize(url);
+        if (key.isEmpty()) {
+            return null;
+        }
+        CrawlResult result = recent(key);
+        if (result != null) {
+            sharedCount.incrementAndGet();
+            return result;
+        }
+        return inFlight.containsKey(key) ? null : loadFromStore(key);
+    }
+
+    /**
+     * 웹사이트를 크롤링합니다. 같은 사이트의 결과가 있거나 진행 중이면 그 결과를 공유합니다.
+     *
+     * @param url 웹사이트 URL
+     * @return 크롤링 결과
+     */
+    public CrawlResult crawl(String url) {
+        return crawlFlight(url).getResult();
+    }
+
+    /**
+     * crawl과 같지만, 이 호출이 직접 요청했는지(다른 행의 결과/캐시를 쓰지 않았는지)도 함께 반환합니다.
+     * 동시 요청 수 제한기는 직접 요청한 경우의 소요 시간만 표본으로 씁니다.
+     *
+     * @param url 웹사이트 URL
+     * @return 크롤링 결과와 직접 요청 여부
+     */
+    public Flight crawlFlight(String url) {
+        return crawlFlight(url, Long.MAX_VALUE);
+    }
+
+    /**
+     * crawlFlight와 같지만, 행 시간 한도를 넘기지 않습니다. (다른 행의 요청을 기다릴 때도 한도까지만 기다림)
+     *
+     * @param url           웹사이트 URL
+     * @param deadlineNanos 행 시간 한도 (System.nanoTime 기준, Long.MAX_VALUE면 크롤러의 사이트 시간 한도만 적용)
+     * @return 크롤링 결과와 직접 요청 여부
+     */
+    public Flight crawlFlight(String url, long deadlineNanos) {
+        String key = UrlUtils.normalize(url);
+        if (key.isEmpty()) {
+            return new Flight(delegate.crawl(url, deadlineNanos), true);
+        }
+
+        CrawlResult cached = recent(key);
+        if (cached != null) {
+            sharedCount.incrementAndGet();
+            return new Flight(cached, false);
+        }
+        cached = loadFromStore(key);
+        if (cached != null) {
+            return new Flight(cached, false);
+        }
+
+        CompletableFuture<CrawlResult> mine = new CompletableFuture<>();
+        CompletableFuture<CrawlResult> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            sharedCount.incrementAndGet();
+            CompletableFuture<CrawlResult> shared = deadlineNanos == Long.MAX_VALUE
+                    ? existing
+                    : existing.copy().completeOnTimeout(CrawlResult.failed(FetchOutcome.TIMEOUT, 0),
+                            Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            try {
+                return new Flight(shared.join(), false);
+            } catch (CompletionException e) {
+                // 먼저 시작한 요청이 Error로 끝남 (그 행이 Error를 처리하고, 이 행은 실패로 기록)
+                return new Flight(CrawlResult.failed(FetchOutcome.ERROR, 0), false);
+            }
+        }
+
+        CrawlResult result;
+        try {
+            result = delegate.crawl(url, deadlineNanos);
+        } catch (RuntimeException e) {
+            result = CrawlResult.failed(FetchOutcome.ERROR, 0);
+        } catch (Throwable t) {
+            // Error는 그대로 던지되, 같은 사이트를 기다리던 행이 join에서 멈추지 않도록 먼저 끝냄
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(t);
+            throw t;
+        }
+
+        // 일시적인 실패/요청 제한 응답은 다음 행이 다시 시도해야 하므로 기억하지 않음 (지금 기다리던 행만 공유)
+        if (!result.getOutcome().isTransient() && !result.isRateLimited()) {
+            remember(key, result);
+        }
+        inFlight.remove(key, mine);
+        mine.complete(result);
+
+        // 응답을 정상적으로 받은 결과만 다음 실행을 위해 저장 (네트워크/HTTP 오류는 일시적일 수 있음)
+        if (store != null && (result.hasEmail() || (result.getStatusCode() >= 200 && result.getStatusCode() < 400))) {
+            store.put(key, result.getEmail());
+        }
+        return new Flight(result, true);
+    }
+
+    /**
+     * 실행 간 캐시에서 결과를 찾아 메모리 결과에 올립니다.
+     */
+    private CrawlResult loadFromStore(String key) {
+        if (store == null || key.isEmpty()) {
+            return null;
+        }
+
+        String email = store.get(key);
+        if (email == null) {
+            return null;
+        }
+
+        CrawlResult result = email.isEmpty() ? CrawlResult.failed(FetchOutcome.NOT_FOUND, 200) : CrawlResult.found(email, 200);
+        remember(key, result);
+        cacheHitCount.incrementAndGet();
+        return result;
+    }
+
+    private CrawlResult recent(String key) {
+        synchronized (recent) {
+            return recent.get(key);
+        }
+    }
+
+    private void remember(String key, CrawlResult result) {
+        synchronized (recent) {
+            recent.put(key, result);
+        }
+    }
+
+    /**
+     * crawlFlight 결과 (크롤링 결과와 이 호출이 직접 요청했는지 여부)
+     */
+    public static class Flight {
+        private final CrawlResult result;
+        private final boolean fetched;
+
+        Flight(CrawlResult result, boolean fetched) {
+            this.result = result;
+            this.fetched = fetched;
+        }
+
+        public CrawlResult getResult() { return result; }
+
+        /** 이 호출이 직접 요청했는지 여부 (다른 행의 결과나 캐시를 썼으면 false) */
+        public boolean isFetched() { return fetched; }
+    }
+
+    /**
+     * 다른 행의 결과를 재사용한 횟수
+     */
+    public int getSharedCount() {
+        return sharedCount.get();
+    }
+
+    /**
+     * 실행 간 캐시에서 결과를 가져온 횟수
+     */
+    public int getCacheHitCount() {
+        return cacheHitCount.get();
+    }
+}
@@ -0,0 +1,94 @@
+package com.emailcrawler.service;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 등록한 레코드만 돌려주는 메모리 DnsResolver (네트워크 없이 MX 확인 단계를 점검할 때 사용)
+ *
+ * - 등록하지 않은 이름은 NXDOMAIN (UnknownHostException)
+ * - 이름은 있지만 해당 종류의 레코드를 등록하지 않았으면 빈 목록
+ * - fail()로 지정한 이름은 조회 실패 (IOException)
+ */
+public class StubDnsResolver implements DnsResolver {
+
+    private final Map<String, Map<String, List<String>>> records = new ConcurrentHashMap<>();
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger lookupCount = new AtomicInteger(0);
+    private volatile long delayMs = 0;
+
+    /**
+     * 레코드를 등록합니다.
+     *
+     * @param name   도메인 이름
+     * @param type   레코드 종류 (MX, A, AAAA)
+     * @param values 레코드 값 (MX는 "10 mail.example.com" 형식, 없으면 레코드 없는 이름만 등록)
+     * @return this
+     */
+    public StubDnsResolver add(String name, String type, String... values) {
+        Map<String, List<String>> byType = records.computeIfAbsent(key(name), k -> new ConcurrentHashMap<>());
+        if (values.length > 0) {
+            byType.put(type.toUpperCase(Locale.ROOT), Arrays.asList(values.clone()));
+        }
+        return this;
+    }
+
+    /**
+     * 이름의 조회가 항상 실패하도록 지정합니다. (SERVFAIL/시간 초과 흉내)
+     */
+    public StubDnsResolver fail(String name) {
+        failing.add(key(name));
+        return this;
+    }
+
+    /**
+     * 조회마다 지연 시간을 줍니다. (동시 조회 합치기 확인용)
+     */
+    public StubDnsResolver delay(long delayMs) {
+        this.delayMs = delayMs;
+        return this;
+    }
+
+    @Override
+    public List<String> lookup(String name, String type) throws IOException {
+        lookupCount.incrementAndGet();
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("조회 중단: " + name, e);
+            }
+        }
+
+        String key = key(name);
+        if (failing.contains(key)) {
+            throw new IOException("DNS 조회 실패 (stub): " + name);
+        }
+        Map<String, List<String>> byType = records.get(key);
+        if (byType == null) {
+            throw new UnknownHostException(name);
+        }
+        return byType.getOrDefault(type.toUpperCase(Locale.ROOT), Collections.emptyList());
+    }
+
+    /**
+     * 지금까지 받은 조회 요청 수
+     */
+    public int getLookupCount() {
+        return lookupCount.get();
+    }
+
+    private static String key(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        return key.endsWith(".") ? key.substring(0, key.length() - 1) : key;
+    }
+}
@@ -0,0 +1,147 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.FetchResponse;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 후보 URL(https/http, www 유무)을 동시에 요청해 처음 성공한 응답을 고르는 URL 보정 단계 (Happy Eyeballs 방식)
+ *
+ * 첫 후보를 바로 요청하고, 다음 후보는 staggerMs 뒤에 시작하거나 앞 후보가 실패하면 즉시 시작합니다.
+ * 그래서 앞 후보가 빨리 성공하면 요청은 하나뿐이고, 응답하지 않는 후보가 있어도 타임아웃을 차례로 기다리지 않습니다.
+ * - 성공(상태 코드 400 미만)한 첫 응답을 반환하고, 나중에 도착한 응답은 바로 닫으며 남은 후보는 시작하지 않음
+ * - 모두 실패하면 먼저 받은 HTTP 오류 응답을, 그것도 없으면 마지막 오류로 완료
+ * 요청 함수는 probeExecutor에서 호출하므로, 응답을 받을 때까지 블로킹하는 요청 방식(jsoup)이어도 후보가 동시에 진행됩니다.
+ */
+public class UrlResolver {
+
+    private final long staggerMs;
+    private final Executor probeExecutor;
+
+    /**
+     * @param staggerMs     다음 후보를 시작하기 전에 앞 후보를 기다리는 시간 (ms)
+     * @param probeExecutor 후보 요청 함수를 호출할 실행기 (블로킹 요청 방식이면 후보 수만큼 스레드가 필요)
+     */
+    public UrlResolver(long staggerMs, Executor probeExecutor) {
+        this.staggerMs = staggerMs;
+        this.probeExecutor = probeExecutor;
+    }
+
+    /**
+     * 후보 URL을 요청해 처음 성공한 응답을 반환합니다.
+     *
+     * @param candidates 요청 순서대로 정렬한 후보 URL
+     * @param fetch      URL 하나를 요청하는 함수
+     * @param timeoutMs  전체 시간 한도 (넘으면 TimeoutException으로 완료되고 늦은 응답은 닫힘)
+     * @return 고른 응답 Future
+     */
+    public CompletableFuture<FetchResponse> resolve(List<String> candidates,
+                                                    Function<String, CompletableFuture<FetchResponse>> fetch,
+                                                    long timeoutMs) {
+        if (candidates.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("요청할 URL 후보가 없습니다."));
+        }
+
+        Probe probe = new Probe(candidates, fetch);
+        probe.winner.orTimeout(Math.max(1, timeoutMs), TimeUnit.MILLISECONDS);
+        probe.winner.whenComplete((response, e) -> probe.closeFallback(response));
+        probe.start(0);
+        return probe.winner;
+    }
+
+    /**
+     * 사이트 하나의 후보 요청 상태
+     */
+    private class Probe {
+        private final List<String> candidates;
+        private final Function<String, CompletableFuture<FetchResponse>> fetch;
+        private final CompletableFuture<FetchResponse> winner = new CompletableFuture<>();
+        private int started = 0;
+        private int finished = 0;
+        private FetchResponse fallback; // 먼저 받은 HTTP 오류 응답 (모두 실패했을 때 사용)
+        private Throwable lastError;
+
+        Probe(List<String> candidates, Function<String, CompletableFuture<FetchResponse>> fetch) {
+            this.candidates = candidates;
+            this.fetch = fetch;
+        }
+
+        /**
+         * index번째 후보를 시작합니다. (이미 시작했거나 결과가 정해졌으면 무시)
+         */
+        void start(int index) {
+            synchronized (this) {
+                if (winner.isDone() || started != index || index >= candidates.size()) {
+                    return;
+                }
+                started++;
+            }
+
+            // 요청 함수가 블로킹해도 다음 후보 시작(지연 실행기/앞 후보의 완료 스레드)을 막지 않도록 실행기에서 호출
+            String url = candidates.get(index);
+            CompletableFuture.supplyAsync(() -> fetch.apply(url), probeExecutor)
+                    .thenCompose(Function.identity())
+                    .whenComplete(this::onResult);
+
+            if (index + 1 < candidates.size()) {
+                CompletableFuture.delayedExecutor(staggerMs, TimeUnit.MILLISECONDS)
+                        .execute(() -> start(index + 1));
+            }
+        }
+
+        private void onResult(FetchResponse response, Throwable error) {
+            if (response != null && response.getStatusCode() < 400) {
+                if (!winner.complete(response)) {
+                    response.close(); // 이미 다른 후보가 성공했거나 시간 한도를 넘김
+                }
+                return;
+            }
+
+            int next;
+            FetchResponse give = null;
+            boolean allFailed;
+            synchronized (this) {
+                finished++;
+                if (response != null) {
+                    if (fallback == null && !winner.isDone()) {
+                        fallback = response;
+                        response = null;
+                    }
+                } else {
+                    lastError = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                }
+                allFailed = finished == candidates.size();
+                if (allFailed) {
+                    give = fallback;
+                }
+                next = started;
+            }
+
+            if (response != null) {
+                response.close();
+            }
+            if (!allFailed) {
+                start(next); // 실패했으면 다음 후보를 기다리지 않고 바로 시작
+            } else if (give != null) {
+                winner.complete(give);
+            } else {
+                winner.completeExceptionally(lastError);
+            }
+        }
+
+        /**
+         * 골라지지 않은 HTTP 오류 응답을 닫습니다.
+         */
+        synchronized void closeFallback(FetchResponse chosen) {
+            if (fallback != null && fallback != chosen) {
+                fallback.close();
+            }
+            fallback = null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.emailcrawler.util;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * application.properties 설정 조회 유틸리티
+ * 같은 키의 시스템 프로퍼티(-Dkey=value)가 있으면 그 값을 우선 사용합니다.
+ */
+public class AppConfig {
+
+    private static final String RESOURCE = "/application.properties";
+    private static final Properties PROPERTIES = load();
+
+    private AppConfig() {
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = AppConfig.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (Exception e) {
+            System.out.println("⚠️ 설정 파일 로드 실패: " + e.getMessage());
+        }
+        return properties;
+    }
+
+    /**
+     * 설정 값을 문자열로 반환합니다.
+     *
+     * @param key          설정 키
+     * @param defaultValue 값이 없을 때 사용할 기본값
+     * @return 설정 값
+     */
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (ValidationUtils.isEmpty(value)) {
+            value = PROPERTIES.getProperty(key);
+        }
+        return ValidationUtils.isEmpty(value) ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        try {
+            return Double.parseDouble(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(getString(key, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,223 @@
+package com.emailcrawler.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * CSV 결과 파일용 UTF-8 출력 스트림
+ *
+ * 문자를 char 버퍼에 모았다가 한 번에 재사용하는 다이렉트 ByteBuffer로 인코딩하고, 버퍼가 차면 FileChannel로 쓰는 일은
+ * 백그라운드 스레드에 넘깁니다. 버퍼를 두 개 번갈아 쓰므로 디스크에 쓰는 동안에도 다음 행을 계속 인코딩할 수 있습니다.
+ * (백그라운드 쓰기가 밀리면 버퍼가 비워질 때까지 대기)
+ */
+public class CsvOutputWriter extends Writer {
+
+    private static final int BUFFER_BYTES = 256 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 16 * 1024;
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final BlockingQueue<ByteBuffer> freeBuffers = new ArrayBlockingQueue<>(2);
+    private final ExecutorService flusher;
+
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE); // 인코딩 전 문자를 모으는 버퍼
+
+    private ByteBuffer active;
+    private Future<?> lastWrite;
+    private volatile IOException writeError;
+    private boolean closed = false;
+
+    /**
+     * @param path 출력 파일 경로 (이미 있으면 덮어씀)
+     */
+    public CsvOutputWriter(String path) throws IOException {
+        this.channel = FileChannel.open(Paths.get(path),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.active = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        this.freeBuffers.add(ByteBuffer.allocateDirect(BUFFER_BYTES));
+        this.flusher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "csv-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            if (!chars.hasRemaining()) {
+                encodeChars(false);
+            }
+            chars.put((char) c);
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            while (len > 0) {
+                if (!chars.hasRemaining()) {
+                    encodeChars(false);
+                }
+                int n = Math.min(len, chars.remaining());
+                chars.put(cbuf, off, n);
+                off += n;
+                len -= n;
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            while (len > 0) {
+                if (!chars.hasRemaining()) {
+                    encodeChars(false);
+                }
+                int n = Math.min(len, chars.remaining());
+                chars.put(str, off, off + n);
+                off += n;
+                len -= n;
+            }
+        }
+    }
+
+    /**
+     * 지금까지 쓴 내용을 백그라운드 스레드에 넘기고 바로 반환합니다.
+     */
+    public void flushInBackground() throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            encodeChars(false);
+            if (active.position() > 0) {
+                handOff();
+            }
+        }
+    }
+
+    /**
+     * 지금까지 쓴 내용이 파일에 기록될 때까지 기다립니다.
+     */
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            flushInBackground();
+            awaitLastWrite();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            try {
+                ensureOpen();
+                encodeChars(true); // 입력 끝 (짝 없는 서로게이트 앞부분은 대체 문자로)
+                encodeEnd();
+                if (active.position() > 0) {
+                    handOff();
+                }
+                awaitLastWrite();
+            } finally {
+                closed = true;
+                flusher.shutdown();
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * 모아 둔 문자를 바이트 버퍼로 인코딩합니다.
+     * 끝에서 잘린 서로게이트 쌍의 앞부분은 다음 문자와 함께 인코딩하도록 char 버퍼에 남깁니다.
+     */
+    private void encodeChars(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (encoder.encode(chars, active, endOfInput).isOverflow()) {
+            handOff();
+        }
+        chars.compact();
+    }
+
+    private void encodeEnd() throws IOException {
+        while (encoder.flush(active).isOverflow()) {
+            handOff();
+        }
+    }
+
+    /**
+     * 가득 찬(또는 flush할) 버퍼를 백그라운드 스레드에 넘기고 빈 버퍼로 바꿉니다.
+     */
+    private void handOff() throws IOException {
+        throwIfFailed();
+
+        ByteBuffer full = active;
+        full.flip();
+        lastWrite = flusher.submit(() -> {
+            try {
+                while (full.hasRemaining()) {
+                    channel.write(full);
+                }
+            } catch (IOException e) {
+                writeError = e;
+            } finally {
+                full.clear();
+                freeBuffers.add(full);
+            }
+        });
+
+        try {
+            active = freeBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("CSV 출력 대기 중 인터럽트", e);
+        }
+    }
+
+    private void awaitLastWrite() throws IOException {
+        if (lastWrite != null) {
+            try {
+                lastWrite.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("CSV 출력 대기 중 인터럽트", e);
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+        throwIfFailed();
+    }
+
+    private void throwIfFailed() throws IOException {
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("CSV 출력 파일이 이미 닫혔습니다.");
+        }
+    }
+}
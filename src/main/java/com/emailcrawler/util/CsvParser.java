@@ -4,8 +4,15 @@ import com.emailcrawler.model.CsvRow;
 
 import java.io.BufferedReader;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -13,6 +20,9 @@ import java.util.List;
  */
 public class CsvParser {
 
+    // 이 크기 이상인 파일은 ParallelCsvParser로 파싱
+    private static final long PARALLEL_THRESHOLD_BYTES = AppConfig.getLong("csv.parallel.threshold-mb", 64) * 1024 * 1024;
+
     /**
      * CSV 파일을 파싱하여 CsvRow 리스트로 반환합니다.
      *
@@ -22,58 +32,38 @@ public class CsvParser {
      * @throws Exception 파싱 중 오류 발생 시
      */
     public List<CsvRow> parseCsvFile(String filePath, String encoding) throws Exception {
+        // 큰 파일은 메모리 매핑 후 여러 스레드로 나눠서 파싱 (코어가 하나뿐이면 이득이 없음)
+        if (Files.size(Paths.get(filePath)) >= PARALLEL_THRESHOLD_BYTES
+                && Runtime.getRuntime().availableProcessors() > 1
+                && ParallelCsvParser.supports(encoding)) {
+            return new ParallelCsvParser(this).parse(filePath, encoding);
+        }
+        return parseSequential(filePath, encoding);
+    }
+
+    /**
+     * 한 스레드로 처음부터 끝까지 읽으며 파싱합니다. (ParallelCsvParser가 경계를 찾을 수 없는 파일에도 사용)
+     */
+    List<CsvRow> parseSequential(String filePath, String encoding) throws IOException {
         List<CsvRow> rows = new ArrayList<>();
 
         try (BufferedReader br = new BufferedReader(
                 new InputStreamReader(new FileInputStream(filePath), encoding))) {
 
             String line;
-            boolean isHeader = true;
-            int companyCol = -1, websiteCol = -1, emailCol = -1;
+            CsvRow header = null;
 
-            while ((line = br.readLine()) != null) {
+            while ((line = readRecord(br)) != null) {
                 // BOM 제거
                 if (line.startsWith("\ufeff")) {
                     line = line.substring(1);
                 }
 
-                String[] values = parseCsvLine(line);
-
-                if (isHeader) {
-                    // 헤더에서 컬럼 인덱스 찾기
-                    for (int i = 0; i < values.length; i++) {
-                        String col = values[i].toLowerCase().trim();
-                        if (col.contains("company") || col.contains("회사") || col.contains("업체")) {
-                            companyCol = i;
-                        } else if (col.contains("website") || col.contains("홈페이지") || col.contains("url") || col.contains("사이트")) {
-                            websiteCol = i;
-                        } else if (col.contains("email") || col.contains("이메일") || col.contains("메일")) {
-                            emailCol = i;
-                        }
-                    }
-
-                    System.out.println("📋 컬럼 매핑:");
-                    System.out.println("   Company: " + (companyCol >= 0 ? (companyCol + 1) + "번째 (" + values[companyCol] + ")" : "찾지 못함"));
-                    System.out.println("   Website: " + (websiteCol >= 0 ? (websiteCol + 1) + "번째 (" + values[websiteCol] + ")" : "찾지 못함"));
-                    System.out.println("   Email: " + (emailCol >= 0 ? (emailCol + 1) + "번째 (" + values[emailCol] + ")" : "찾지 못함"));
-
-                    rows.add(new CsvRow(values, true)); // 헤더 저장
-                    isHeader = false;
+                if (header == null) {
+                    header = createHeaderRow(line);
+                    rows.add(header); // 헤더 저장
                 } else {
-                    // 데이터 행 처리
-                    String company = companyCol >= 0 && companyCol < values.length ? values[companyCol].trim() : "";
-                    String website = websiteCol >= 0 && websiteCol < values.length ? values[websiteCol].trim() : "";
-                    String email = emailCol >= 0 && emailCol < values.length ? values[emailCol].trim() : "";
-
-                    CsvRow row = new CsvRow(values, false);
-                    row.setCompany(company);
-                    row.setWebsite(website);
-                    row.setOriginalEmail(email);
-                    row.setCompanyCol(companyCol);
-                    row.setWebsiteCol(websiteCol);
-                    row.setEmailCol(emailCol);
-
-                    rows.add(row);
+                    rows.add(createDataRow(line, header));
                 }
             }
         }
@@ -81,6 +71,190 @@ public class CsvParser {
         return rows;
     }
 
+    /**
+     * CSV 파일을 한 행씩 지연 로딩하는 리더를 엽니다.
+     * 전체 파일을 메모리에 올리지 않으므로 대용량 파일의 스트리밍 처리에 사용합니다.
+     *
+     * @param filePath CSV 파일 경로
+     * @param encoding 파일 인코딩
+     * @return 헤더를 읽은 상태의 CsvRowReader
+     * @throws Exception 파일을 열 수 없는 경우
+     */
+    public CsvRowReader openCsvFile(String filePath, String encoding) throws Exception {
+        BufferedReader br = new BufferedReader(
+                new InputStreamReader(new FileInputStream(filePath), encoding));
+        try {
+            return new CsvRowReader(this, br);
+        } catch (Exception e) {
+            br.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 헤더를 제외한 데이터 행 수를 셉니다. (진행률 표시용, 행을 보관하지 않음)
+     *
+     * @param filePath CSV 파일 경로
+     * @param encoding 파일 인코딩
+     * @return 데이터 행 수
+     * @throws Exception 읽기 오류 발생 시
+     */
+    public int countDataRows(String filePath, String encoding) throws Exception {
+        int count = 0;
+        try (BufferedReader br = new BufferedReader(
+                new InputStreamReader(new FileInputStream(filePath), encoding))) {
+            while (readRecord(br) != null) {
+                count++;
+            }
+        }
+        return Math.max(0, count - 1);
+    }
+
+    /**
+     * CSV 레코드 하나를 읽습니다.
+     * 따옴표 안에 줄바꿈이 있는 필드는 따옴표가 닫힐 때까지 다음 줄을 이어 붙입니다.
+     *
+     * @return 레코드 (줄바꿈 제외), 파일 끝이면 null
+     */
+    static String readRecord(BufferedReader br) throws IOException {
+        String line = br.readLine();
+        if (line == null || !hasOpenQuote(line, false)) {
+            return line;
+        }
+
+        StringBuilder record = new StringBuilder(line);
+        boolean inQuotes = true;
+        while (inQuotes && (line = br.readLine()) != null) {
+            record.append('\n').append(line);
+            inQuotes = hasOpenQuote(line, true);
+        }
+        return record.toString();
+    }
+
+    /**
+     * 줄 끝에서 따옴표가 열려 있는지 확인합니다. ("" 이스케이프는 두 번 토글되므로 따로 처리할 필요 없음)
+     */
+    private static boolean hasOpenQuote(String line, boolean inQuotes) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                inQuotes = !inQuotes;
+            }
+        }
+        return inQuotes;
+    }
+
+    /**
+     * 헤더 행을 만들고 Company/Website/Email 컬럼 인덱스를 찾습니다.
+     *
+     * @param record 헤더 레코드 (BOM, 줄바꿈 제외)
+     */
+    CsvRow createHeaderRow(String record) {
+        CsvRow header = new CsvRow(record, splitCsvRecord(record), true);
+        String[] values = header.getValues();
+        int companyCol = -1, websiteCol = -1, emailCol = -1;
+
+        // 헤더에서 컬럼 인덱스 찾기
+        for (int i = 0; i < values.length; i++) {
+            String col = values[i].toLowerCase().trim();
+            if (col.contains("company") || col.contains("회사") || col.contains("업체")) {
+                companyCol = i;
+            } else if (col.contains("website") || col.contains("홈페이지") || col.contains("url") || col.contains("사이트")) {
+                websiteCol = i;
+            } else if (col.contains("email") || col.contains("이메일") || col.contains("메일")) {
+                emailCol = i;
+            }
+        }
+
+        System.out.println("📋 컬럼 매핑:");
+        System.out.println("   Company: " + (companyCol >= 0 ? (companyCol + 1) + "번째 (" + values[companyCol] + ")" : "찾지 못함"));
+        System.out.println("   Website: " + (websiteCol >= 0 ? (websiteCol + 1) + "번째 (" + values[websiteCol] + ")" : "찾지 못함"));
+        System.out.println("   Email: " + (emailCol >= 0 ? (emailCol + 1) + "번째 (" + values[emailCol] + ")" : "찾지 못함"));
+
+        header.setCompanyCol(companyCol);
+        header.setWebsiteCol(websiteCol);
+        header.setEmailCol(emailCol);
+        return header;
+    }
+
+    /**
+     * 헤더의 컬럼 매핑을 사용해 데이터 행을 만듭니다.
+     * 필드 값은 Company/Website/Email 컬럼만 꺼내고 나머지는 원본 레코드에 그대로 둡니다.
+     *
+     * @param record 데이터 레코드 (줄바꿈 제외)
+     */
+    CsvRow createDataRow(String record, CsvRow header) {
+        CsvRow row = new CsvRow(record, splitCsvRecord(record), false);
+        row.setCompany(row.getValue(header.getCompanyCol()));
+        row.setWebsite(row.getValue(header.getWebsiteCol()));
+        row.setOriginalEmail(row.getValue(header.getEmailCol()));
+        row.setCompanyCol(header.getCompanyCol());
+        row.setWebsiteCol(header.getWebsiteCol());
+        row.setEmailCol(header.getEmailCol());
+        return row;
+    }
+
+    /**
+     * 행을 CSV 한 줄로 변환합니다. (데이터 행은 Email 컬럼을 찾은 이메일로 교체)
+     *
+     * @param row 출력할 행
+     * @return 줄바꿈을 포함한 CSV 라인
+     */
+    public String formatCsvRow(CsvRow row) {
+        StringWriter line = new StringWriter();
+        try {
+            writeCsvRow(line, row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter에서는 발생하지 않음
+        }
+        return line.toString();
+    }
+
+    /**
+     * 행을 CSV 한 줄로 씁니다. (데이터 행은 Email 컬럼을 찾은 이메일로 교체)
+     * 원본 레코드가 있으면 Email 필드 앞뒤는 원본 그대로 복사하고 Email 필드만 새로 씁니다.
+     *
+     * @param out 출력 대상
+     * @param row 출력할 행
+     */
+    public void writeCsvRow(Writer out, CsvRow row) throws IOException {
+        String record = row.getRecord();
+        int emailCol = row.getEmailCol();
+
+        if (record == null) {
+            writeFromValues(out, row);
+        } else if (row.isHeader() || emailCol < 0 || emailCol >= row.getFieldCount()) {
+            // 헤더이거나 Email 컬럼이 없는 행은 그대로 출력
+            out.write(record);
+        } else {
+            int start = row.getFieldStart(emailCol);
+            int end = row.getFieldEnd(emailCol);
+            out.write(record, 0, start);
+            writeCsvField(out, row.getFoundEmail());
+            out.write(record, end, record.length() - end);
+        }
+        out.write('\n');
+    }
+
+    /**
+     * 원본 레코드 없이 값 배열로 만든 행을 출력합니다.
+     */
+    private void writeFromValues(Writer out, CsvRow row) throws IOException {
+        String[] values = row.getValues();
+        if (row.isHeader()) {
+            // 헤더 그대로 출력
+            out.write(String.join(",", values));
+            return;
+        }
+
+        if (row.getEmailCol() >= 0 && row.getEmailCol() < values.length) {
+            values[row.getEmailCol()] = row.getFoundEmail();
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.write(',');
+            writeCsvField(out, values[i]);
+        }
+    }
+
     /**
      * CSV 라인을 파싱합니다.
      *
@@ -88,38 +262,79 @@ public class CsvParser {
      * @return 파싱된 필드 배열
      */
     public String[] parseCsvLine(String line) {
-        if (line == null || line.trim().isEmpty()) {
+        if (line == null) {
             return new String[0];
         }
+        return parseCsvLine(line, 0, line.length());
+    }
 
-        List<String> result = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder currentField = new StringBuilder();
+    /**
+     * 문자열의 일부 구간을 CSV 레코드 하나로 파싱합니다.
+     *
+     * @param text  레코드가 들어 있는 텍스트
+     * @param start 레코드 시작 위치
+     * @param end   레코드 끝 위치 (배타적, 줄바꿈 제외)
+     * @return 파싱된 필드 배열 (빈 레코드면 길이 0)
+     */
+    public String[] parseCsvLine(CharSequence text, int start, int end) {
+        int[] fieldEnds = splitCsvRecord(text, start, end);
+        String[] result = new String[fieldEnds.length];
+        int fieldStart = start;
+        for (int i = 0; i < fieldEnds.length; i++) {
+            result[i] = CsvRow.decodeField(text, fieldStart, start + fieldEnds[i]);
+            fieldStart = start + fieldEnds[i] + 1;
+        }
+        return result;
+    }
 
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
+    /**
+     * 레코드를 필드로 나눕니다. (따옴표 밖의 쉼표 위치만 찾고 값은 만들지 않음)
+     *
+     * @param record 레코드 (줄바꿈 제외)
+     * @return 각 필드의 끝 위치 (빈 레코드면 길이 0)
+     */
+    public int[] splitCsvRecord(String record) {
+        return splitCsvRecord(record, 0, record.length());
+    }
+
+    /**
+     * @return start 기준 상대 위치로 나타낸 각 필드의 끝 위치
+     */
+    private int[] splitCsvRecord(CharSequence text, int start, int end) {
+        if (isBlank(text, start, end)) {
+            return new int[0];
+        }
+
+        int[] fieldEnds = new int[8];
+        int count = 0;
+        boolean inQuotes = false; // "" 이스케이프는 두 번 토글되므로 상태가 유지됨
 
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
             if (c == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    // 이스케이프된 따옴표 ""
-                    currentField.append('"');
-                    i++; // 다음 따옴표 스킵
-                } else {
-                    // 따옴표 시작/끝
-                    inQuotes = !inQuotes;
-                }
+                inQuotes = !inQuotes;
             } else if (c == ',' && !inQuotes) {
-                // 필드 구분자
-                result.add(currentField.toString().trim());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
+                if (count == fieldEnds.length) {
+                    fieldEnds = Arrays.copyOf(fieldEnds, count * 2);
+                }
+                fieldEnds[count++] = i - start;
             }
         }
 
-        // 마지막 필드 추가
-        result.add(currentField.toString().trim());
-        return result.toArray(new String[0]);
+        if (count == fieldEnds.length) {
+            fieldEnds = Arrays.copyOf(fieldEnds, count + 1);
+        }
+        fieldEnds[count++] = end - start; // 마지막 필드
+        return fieldEnds.length == count ? fieldEnds : Arrays.copyOf(fieldEnds, count);
+    }
+
+    private boolean isBlank(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -133,11 +348,51 @@ public class CsvParser {
             return "";
         }
 
-        // 쉼표, 따옴표, 개행문자가 포함된 경우 따옴표로 감싸기
-        if (field.contains(",") || field.contains("\"") || field.contains("\n") || field.contains("\r")) {
-            return "\"" + field.replace("\"", "\"\"") + "\"";
+        StringWriter escaped = new StringWriter(field.length() + 2);
+        try {
+            writeCsvField(escaped, field);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter에서는 발생하지 않음
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * CSV 필드를 이스케이프해서 씁니다.
+     * 필드를 한 번만 훑어서 쉼표, 따옴표, 개행문자가 없으면 그대로 쓰고, 있으면 따옴표로 감싸고 따옴표는 두 번 씁니다.
+     *
+     * @param out   출력 대상
+     * @param field 쓸 필드 (null이면 빈 필드)
+     */
+    public void writeCsvField(Writer out, String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+
+        int length = field.length();
+        int special = 0;
+        while (special < length) {
+            char c = field.charAt(special);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                break;
+            }
+            special++;
+        }
+        if (special == length) {
+            out.write(field);
+            return;
         }
 
-        return field;
+        out.write('"');
+        int segmentStart = 0;
+        for (int i = special; i < length; i++) {
+            if (field.charAt(i) == '"') {
+                out.write(field, segmentStart, i + 1 - segmentStart);
+                out.write('"');
+                segmentStart = i + 1;
+            }
+        }
+        out.write(field, segmentStart, length - segmentStart);
+        out.write('"');
     }
-}
\ No newline at end of file
+}
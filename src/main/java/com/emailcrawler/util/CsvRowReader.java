@@ -0,0 +1,76 @@
+package com.emailcrawler.util;
+
+import com.emailcrawler.model.CsvRow;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * CSV 파일을 한 행씩 읽어오는 리더
+ * 생성 시 헤더를 읽고, 이후 데이터 행은 요청할 때마다 읽어옵니다.
+ * 따옴표 안에 줄바꿈이 있는 필드는 여러 줄을 하나의 행으로 읽습니다.
+ */
+public class CsvRowReader implements Iterator<CsvRow>, Closeable {
+
+    private final CsvParser csvParser;
+    private final BufferedReader reader;
+    private final CsvRow header;
+    private String nextLine;
+
+    CsvRowReader(CsvParser csvParser, BufferedReader reader) throws IOException {
+        this.csvParser = csvParser;
+        this.reader = reader;
+
+        String headerLine = readLine();
+        if (headerLine == null) {
+            throw new IllegalStateException("CSV 데이터를 읽을 수 없습니다.");
+        }
+        this.header = csvParser.createHeaderRow(headerLine);
+        this.nextLine = readLine();
+    }
+
+    /**
+     * 헤더 행 (컬럼 매핑 포함)
+     */
+    public CsvRow getHeader() {
+        return header;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public CsvRow next() {
+        if (nextLine == null) {
+            throw new NoSuchElementException();
+        }
+
+        CsvRow row = csvParser.createDataRow(nextLine, header);
+        try {
+            nextLine = readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return row;
+    }
+
+    private String readLine() throws IOException {
+        String line = CsvParser.readRecord(reader);
+        // BOM 제거
+        if (line != null && line.startsWith("\ufeff")) {
+            line = line.substring(1);
+        }
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
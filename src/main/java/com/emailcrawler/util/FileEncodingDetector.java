@@ -1,15 +1,31 @@
 package com.emailcrawler.util;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * 파일 인코딩 자동 감지 유틸리티
+ *
+ * 파일 앞부분과 파일 곳곳에서 몇 개의 블록을 바이트 그대로 읽어 판단합니다. (파일 전체를 읽지 않음)
+ * 1. BOM이 있으면 그 인코딩
+ * 2. UTF-8로 엄격하게(REPORT) 디코딩해서 오류가 없고 멀티바이트 문자가 있으면 UTF-8
+ * 3. 아니면 바이트 쌍 빈도로 EUC-KR/MS949와 CP1252 중 점수가 높은 쪽
+ * 4. ASCII만 있으면 판단할 근거가 없으므로 기본 인코딩(file.encoding.default)
  */
 public class FileEncodingDetector {
 
-    private static final String[] ENCODINGS = {"CP1252", "EUC-KR", "MS949", "UTF-8", "ISO-8859-1"};
+    private static final int HEAD_BYTES = AppConfig.getInt("file.encoding.sample-kb", 64) * 1024;
+    private static final int BLOCK_BYTES = 16 * 1024;   // 파일 중간에서 읽는 블록 크기
+    private static final int SPREAD_BLOCKS = 4;          // 파일 중간에서 읽는 블록 수
+    private static final String DEFAULT_ENCODING = AppConfig.getString("file.encoding.default", "EUC-KR");
 
     /**
      * CSV 파일의 최적 인코딩을 감지합니다.
@@ -20,58 +36,242 @@ public class FileEncodingDetector {
     public String detectEncoding(String filePath) {
         System.out.println("🔍 인코딩 감지 중...");
 
- /*       for (String encoding : ENCODINGS) {
-            try (BufferedReader br = new BufferedReader(
-                    new InputStreamReader(new FileInputStream(filePath), encoding))) {
+        Result result = detect(filePath);
+        System.out.printf("🔍 %s (신뢰도 %.2f, %s)%n", result.getEncoding(), result.getConfidence(), result.getReason());
+        if (result.getConfidence() < 0.5) {
+            System.out.println("⚠️ 인코딩 판단 근거가 부족합니다. 결과가 깨지면 파일 인코딩을 확인하세요.");
+        }
+        return result.getEncoding();
+    }
 
-                String headerLine = br.readLine();
-                String dataLine = br.readLine();
+    /**
+     * CSV 파일의 인코딩을 감지하고 신뢰도를 함께 반환합니다.
+     *
+     * @param filePath 파일 경로
+     * @return 감지 결과 (읽기 실패 시 기본 인코딩, 신뢰도 0)
+     */
+    public Result detect(String filePath) {
+        try {
+            return detect(readSample(filePath));
+        } catch (IOException e) {
+            System.out.println("⚠️ 인코딩 감지 실패: " + e.getMessage());
+            return new Result(DEFAULT_ENCODING, 0.0, "읽기 실패");
+        }
+    }
 
-                if (headerLine != null && dataLine != null) {
-                    // BOM 제거
-                    if (headerLine.startsWith("\ufeff")) {
-                        headerLine = headerLine.substring(1);
-                    }
+    /**
+     * 바이트 샘플의 인코딩을 감지합니다.
+     *
+     * @param sample 샘플 블록들 (첫 블록은 파일 맨 앞부분)
+     */
+    Result detect(byte[][] sample) {
+        if (sample.length == 0 || sample[0].length == 0) {
+            return new Result(DEFAULT_ENCODING, 0.0, "빈 파일");
+        }
 
-                    System.out.println(encoding + ": " + headerLine + " | " + dataLine.substring(0, Math.min(dataLine.length(), 30)) + "...");
+        Result bom = detectBom(sample[0]);
+        if (bom != null) {
+            return bom;
+        }
 
-                    // 한글이 제대로 읽혔거나 깨진 문자가 없으면 선택
-                    if (containsValidKorean(dataLine) || !containsBrokenChars(dataLine)) {
-                        System.out.println("✅ " + encoding + " 선택됨");
-                        return encoding;
-                    }
+        int nonAscii = 0;
+        for (byte[] block : sample) {
+            for (byte b : block) {
+                if (b < 0) {
+                    nonAscii++;
                 }
-            } catch (Exception e) {
-                System.out.println(encoding + ": 읽기 실패 - " + e.getMessage());
             }
         }
-*/
-//        System.out.println("⚠️ 최적 인코딩을 찾지 못함. UTF-8 사용");
-        System.out.println("⚠️ 최적 인코딩을 찾지 못함. EUC-KR 사용");
-//        return "UTF-8";
-        return "EUC-KR";
+        if (nonAscii == 0) {
+            return new Result(DEFAULT_ENCODING, 0.3, "ASCII만 있음");
+        }
+
+        if (isValidUtf8(sample)) {
+            // 멀티바이트 문자가 많을수록 우연히 UTF-8로 읽힐 가능성이 낮음
+            double confidence = Math.min(1.0, 0.9 + nonAscii / 1000.0);
+            return new Result("UTF-8", confidence, "UTF-8 검증 통과");
+        }
+
+        return scoreKoreanVersusLatin(sample);
+    }
+
+    /**
+     * 파일 앞부분과 파일 곳곳의 블록을 읽습니다.
+     */
+    private byte[][] readSample(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= HEAD_BYTES + (long) SPREAD_BLOCKS * BLOCK_BYTES) {
+                return new byte[][]{read(channel, 0, (int) size)};
+            }
+
+            byte[][] blocks = new byte[SPREAD_BLOCKS + 1][];
+            blocks[0] = read(channel, 0, HEAD_BYTES);
+            long step = (size - HEAD_BYTES) / SPREAD_BLOCKS;
+            for (int i = 1; i <= SPREAD_BLOCKS; i++) {
+                long position = Math.min(HEAD_BYTES + step * i - BLOCK_BYTES, size - BLOCK_BYTES);
+                blocks[i] = read(channel, position, BLOCK_BYTES);
+            }
+            return blocks;
+        }
+    }
+
+    private byte[] read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                break;
+            }
+        }
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip();
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private Result detectBom(byte[] head) {
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            return new Result("UTF-8", 1.0, "BOM");
+        }
+        if (head.length >= 2 && (((head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF)
+                || ((head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE))) {
+            return new Result("UTF-16", 1.0, "BOM");
+        }
+        return null;
     }
 
     /**
-     * 텍스트에 유효한 한글이 포함되어 있는지 확인
+     * 모든 블록이 UTF-8로 오류 없이 디코딩되는지 확인합니다.
+     * 블록 끝에서 잘린 문자는 오류로 보지 않고, 중간 블록 앞쪽의 이어지는 바이트(10xxxxxx)는 건너뜁니다.
      */
-    private boolean containsValidKorean(String text) {
-        if (text == null || text.isEmpty()) {
-            return false;
+    private boolean isValidUtf8(byte[][] sample) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer out = CharBuffer.allocate(Math.max(HEAD_BYTES, BLOCK_BYTES));
+
+        for (int i = 0; i < sample.length; i++) {
+            byte[] block = sample[i];
+            int start = 0;
+            if (i > 0) {
+                while (start < block.length && start < 3 && (block[start] & 0xC0) == 0x80) {
+                    start++;
+                }
+            }
+
+            decoder.reset();
+            out.clear();
+            ByteBuffer in = ByteBuffer.wrap(block, start, block.length - start);
+            CoderResult result = decoder.decode(in, out, false); // false: 끝에서 잘린 문자는 남겨둠
+            if (result.isError()) {
+                return false;
+            }
+            if (in.remaining() > 3) {
+                return false; // 출력 버퍼가 부족한 경우는 없으므로 여기까지 오면 잘못된 바이트
+            }
         }
+        return true;
+    }
+
+    /**
+     * 바이트 쌍 빈도로 EUC-KR/MS949와 CP1252 중 어느 쪽인지 판단합니다.
+     *
+     * 한글 문서는 0x80 이상 바이트가 (선행, 후행) 쌍으로 나오고 대부분 완성형 한글 범위(B0-C8, A1-FE)에 있습니다.
+     * CP1252 문서는 0x80 이상 바이트가 대부분 한 개씩 ASCII 사이에 떨어져 나옵니다.
+     */
+    private Result scoreKoreanVersusLatin(byte[][] sample) {
+        int highBytes = 0;       // 0x80 이상 바이트 수
+        int hangulPairs = 0;     // EUC-KR 완성형 한글 범위(B0-C8, A1-FE)의 쌍
+        int highPairs = 0;       // 그 밖에 두 바이트 모두 0x80 이상인 쌍
+        int asciiTrailPairs = 0; // 후행 바이트가 영문자인 쌍 (MS949 확장 한글 또는 CP1252 악센트 문자 + 영문자)
+        int strayBytes = 0;      // 쌍을 이루지 못한 0x80 이상 바이트
 
-        for (char c : text.toCharArray()) {
-            if (c >= 0xAC00 && c <= 0xD7AF) { // 한글 유니코드 범위
-                return true;
+        for (int blockIndex = 0; blockIndex < sample.length; blockIndex++) {
+            byte[] block = sample[blockIndex];
+            int i = 0;
+            if (blockIndex > 0) {
+                // 중간 블록은 쌍의 경계를 모르므로 첫 ASCII 바이트부터 시작
+                while (i < block.length && block[i] < 0) {
+                    i++;
+                }
             }
+
+            for (; i < block.length; i++) {
+                int lead = block[i] & 0xFF;
+                if (lead < 0x80) {
+                    continue;
+                }
+                if (i + 1 >= block.length) {
+                    break; // 블록 끝에서 잘린 쌍
+                }
+
+                int trail = block[i + 1] & 0xFF;
+                if (!isMs949Lead(lead) || !isMs949Trail(trail)) {
+                    highBytes++;
+                    strayBytes++;
+                    continue;
+                }
+
+                if (trail < 0x80) {
+                    highBytes++;
+                    asciiTrailPairs++;
+                } else {
+                    highBytes += 2;
+                    if (lead >= 0xB0 && lead <= 0xC8 && trail >= 0xA1) {
+                        hangulPairs++;
+                    } else {
+                        highPairs++;
+                    }
+                }
+                i++;
+            }
+        }
+
+        if (highBytes == 0) {
+            return new Result(DEFAULT_ENCODING, 0.3, "ASCII만 있음");
         }
-        return false;
+
+        // 각 바이트가 어느 쪽 해석에 더 잘 맞는지 가중치를 주어 비율로 계산
+        double koreanScore = (2.0 * hangulPairs + 1.6 * highPairs + 0.3 * asciiTrailPairs) / highBytes;
+        double latinScore = (0.4 * highPairs + strayBytes + 0.7 * asciiTrailPairs) / highBytes;
+
+        if (koreanScore >= latinScore) {
+            String encoding = asciiTrailPairs > 0 || highPairs > hangulPairs ? "MS949" : "EUC-KR";
+            return new Result(encoding, Math.min(1.0, koreanScore), "한글 바이트 쌍 " + (hangulPairs + highPairs + asciiTrailPairs) + "개");
+        }
+        return new Result("CP1252", Math.min(1.0, latinScore), "단일 바이트 문자 " + (strayBytes + asciiTrailPairs) + "개");
+    }
+
+    private static boolean isMs949Lead(int b) {
+        return b >= 0x81 && b <= 0xFE;
+    }
+
+    private static boolean isMs949Trail(int b) {
+        return (b >= 0x41 && b <= 0x5A) || (b >= 0x61 && b <= 0x7A) || (b >= 0x81 && b <= 0xFE);
     }
 
     /**
-     * 텍스트에 깨진 문자가 있는지 확인
+     * 인코딩 감지 결과
      */
-    private boolean containsBrokenChars(String text) {
-        return text != null && (text.contains("�") || text.contains("??"));
+    public static class Result {
+        private final String encoding;
+        private final double confidence;
+        private final String reason;
+
+        Result(String encoding, double confidence, String reason) {
+            this.encoding = encoding;
+            this.confidence = confidence;
+            this.reason = reason;
+        }
+
+        /** 감지된 인코딩 이름 */
+        public String getEncoding() { return encoding; }
+
+        /** 신뢰도 (0.0 ~ 1.0) */
+        public double getConfidence() { return confidence; }
+
+        /** 판단 근거 */
+        public String getReason() { return reason; }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.emailcrawler.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 아직 끝나지 않은 작업 수를 세고, 모두 끝날 때까지 기다릴 수 있게 해주는 카운터
+ * 작업이 나중에 다시 제출될 수 있어 executor.awaitTermination()을 쓸 수 없는 경우에 사용합니다.
+ *
+ * 용량을 주면 생산자-소비자 사이의 경계 역할도 합니다.
+ * 생산자는 awaitSlot()으로 자리가 날 때까지 기다렸다가 작업을 제출하므로,
+ * 실행기 큐에 쌓이는 작업 수가 입력 크기와 관계없이 용량 이하로 유지됩니다.
+ */
+public class InFlightCounter {
+
+    private final int capacity;
+    private int count = 0;
+    private boolean cancelled = false;
+
+    /**
+     * 용량 제한 없는 카운터
+     */
+    public InFlightCounter() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param capacity 동시에 진행 중일 수 있는 최대 작업 수 (awaitSlot 기준)
+     */
+    public InFlightCounter(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public synchronized void increment() {
+        count++;
+    }
+
+    public synchronized void decrement() {
+        if (--count <= 0) {
+            count = 0;
+        }
+        notifyAll();
+    }
+
+    public synchronized int get() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 진행 중인 작업이 용량보다 적어질 때까지 기다린 뒤 작업 하나를 등록합니다.
+     *
+     * @param deadlineNanos 마감 시각 (System.nanoTime 기준, Long.MAX_VALUE면 제한 없음)
+     * @return 등록했으면 true, 마감 시각이 지났거나 취소되었으면 false
+     */
+    public synchronized boolean awaitSlot(long deadlineNanos) throws InterruptedException {
+        while (!cancelled && count >= capacity) {
+            if (deadlineNanos == Long.MAX_VALUE) {
+                wait();
+                continue;
+            }
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+        }
+        if (cancelled) {
+            return false;
+        }
+        count++;
+        return true;
+    }
+
+    /**
+     * 새 작업 등록을 멈춥니다. (기다리던 생산자는 바로 false를 받음, 이미 등록된 작업은 그대로 진행)
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        notifyAll();
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 남은 작업이 0이 될 때까지 대기합니다.
+     *
+     * @return 시간 안에 모두 끝나면 true
+     */
+    public synchronized boolean awaitZero(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (count > 0) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,134 @@
+package com.emailcrawler.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 여러 키워드를 한 번에 찾는 매처 (Aho-Corasick)
+ *
+ * 생성 시 키워드들로 오토마타를 한 번 만들어 두고, 텍스트는 한 번만 훑어서
+ * 포함된 키워드들의 가중치 합을 계산합니다. 대소문자는 구분하지 않습니다.
+ */
+public class KeywordMatcher {
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final int[] weights;
+
+    /**
+     * @param keywordWeights 키워드 → 가중치
+     */
+    public KeywordMatcher(Map<String, Integer> keywordWeights) {
+        this.weights = new int[keywordWeights.size()];
+        nodes.add(new Node());
+
+        int id = 0;
+        for (Map.Entry<String, Integer> entry : keywordWeights.entrySet()) {
+            addKeyword(entry.getKey().toLowerCase(Locale.ROOT), id);
+            weights[id++] = entry.getValue();
+        }
+        buildFailureLinks();
+    }
+
+    /**
+     * 키워드 목록을 만들기 위한 편의 메소드
+     *
+     * @param keywordsAndWeights "키워드", 가중치, "키워드", 가중치, ... 순서
+     */
+    public static KeywordMatcher of(Object... keywordsAndWeights) {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keywordsAndWeights.length; i += 2) {
+            map.put((String) keywordsAndWeights[i], (Integer) keywordsAndWeights[i + 1]);
+        }
+        return new KeywordMatcher(map);
+    }
+
+    /**
+     * 텍스트에 포함된 키워드들의 가중치 합을 계산합니다. (같은 키워드는 한 번만 계산)
+     *
+     * @param text 검사할 텍스트
+     * @return 가중치 합, 일치하는 키워드가 없으면 0
+     */
+    public int score(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return 0;
+        }
+
+        boolean[] seen = new boolean[weights.length];
+        int total = 0;
+        int state = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+
+            Integer next;
+            while ((next = nodes.get(state).children.get(c)) == null && state != 0) {
+                state = nodes.get(state).failure;
+            }
+            state = next == null ? 0 : next;
+
+            for (int keywordId : nodes.get(state).outputs) {
+                if (!seen[keywordId]) {
+                    seen[keywordId] = true;
+                    total += weights[keywordId];
+                }
+            }
+        }
+        return total;
+    }
+
+    private void addKeyword(String keyword, int id) {
+        int state = 0;
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+            Integer next = nodes.get(state).children.get(c);
+            if (next == null) {
+                next = nodes.size();
+                nodes.add(new Node());
+                nodes.get(state).children.put(c, next);
+            }
+            state = next;
+        }
+        nodes.get(state).outputs.add(id);
+    }
+
+    private void buildFailureLinks() {
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : nodes.get(0).children.values()) {
+            nodes.get(child).failure = 0;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : nodes.get(state).children.entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+
+                int fallback = nodes.get(state).failure;
+                while (fallback != 0 && !nodes.get(fallback).children.containsKey(c)) {
+                    fallback = nodes.get(fallback).failure;
+                }
+                Integer target = nodes.get(fallback).children.get(c);
+                nodes.get(child).failure = target == null || target == child ? 0 : target;
+                nodes.get(child).outputs.addAll(nodes.get(nodes.get(child).failure).outputs);
+
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * 오토마타 노드
+     */
+    private static class Node {
+        private final Map<Character, Integer> children = new HashMap<>();
+        private final List<Integer> outputs = new ArrayList<>();
+        private int failure = 0;
+    }
+}
@@ -0,0 +1,138 @@
+package com.emailcrawler.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 소요 시간 히스토그램 (HdrHistogram 방식의 로그-선형 버킷)
+ *
+ * 마이크로초 단위 값을 2의 거듭제곱 구간마다 16개의 하위 버킷으로 나눠 셉니다.
+ * 값의 크기와 상관없이 상대 오차가 약 6% 이내이고, 기록은 잠금 없이 배열 칸 하나만 증가시킵니다.
+ * 여러 스레드가 동시에 기록해도 되며, 조회 값은 조회 시점의 근삿값입니다.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40; // 2^40 마이크로초 (약 12일) 이상은 마지막 버킷에 기록
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * 소요 시간을 기록합니다.
+     *
+     * @param nanos 나노초 단위 소요 시간 (음수는 0으로 기록)
+     */
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * 기록된 값의 합 (초)
+     */
+    public double getSumSeconds() {
+        return totalMicros.sum() / 1_000_000.0;
+    }
+
+    public double getMeanMillis() {
+        long count = getCount();
+        return count == 0 ? 0 : totalMicros.sum() / 1000.0 / count;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * 분위수 값을 밀리초로 반환합니다. (해당 버킷의 상한값, 기록이 없으면 0)
+     *
+     * @param percentile 0.0 ~ 1.0 (예: 0.99)
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] snapshot = snapshot();
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile * total));
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= target) {
+                return Math.min(upperBoundOf(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * 지정한 값 이하로 기록된 개수 (버킷 경계 기준 근삿값, Prometheus 누적 버킷용)
+     *
+     * @param seconds 기준 값 (초)
+     */
+    public long getCountAtOrBelow(double seconds) {
+        long limitMicros = (long) (seconds * 1_000_000);
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (upperBoundOf(i) > limitMicros) {
+                break;
+            }
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    private long[] snapshot() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 값이 들어갈 버킷 번호 (16 미만은 값 그대로, 그 이상은 지수 구간 + 상위 4비트)
+     */
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * 버킷에 들어가는 가장 큰 값 (마이크로초)
+     */
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (1L << exponent) + subBucket * width;
+        return lower + width - 1;
+    }
+}
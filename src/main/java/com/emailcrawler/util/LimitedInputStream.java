@@ -0,0 +1,120 @@
+package com.emailcrawler.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 정해진 바이트 수까지만 읽고 그 뒤는 스트림 끝으로 취급하는 InputStream
+ *
+ * 너무 큰 응답 본문을 끝까지 내려받지 않도록 잘라낼 때 사용합니다.
+ * 닫으면 원래 스트림도 닫히므로 남은 다운로드는 취소됩니다.
+ * 원래 스트림을 읽느라 기다린 시간을 함께 기록합니다. (다운로드 시간 측정용)
+ */
+public class LimitedInputStream extends FilterInputStream {
+
+    private final long limit;
+    private long remaining;
+    private boolean truncated = false;
+    private long readNanos = 0;
+
+    /**
+     * @param in    원래 스트림
+     * @param limit 읽을 수 있는 최대 바이트 수
+     */
+    public LimitedInputStream(InputStream in, long limit) {
+        super(in);
+        this.limit = limit;
+        this.remaining = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!hasRemaining()) {
+            return -1;
+        }
+        long start = System.nanoTime();
+        int b = super.read();
+        readNanos += System.nanoTime() - start;
+        if (b >= 0) {
+            remaining--;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!hasRemaining()) {
+            return -1;
+        }
+        long start = System.nanoTime();
+        int read = super.read(b, off, (int) Math.min(len, remaining));
+        readNanos += System.nanoTime() - start;
+        if (read > 0) {
+            remaining -= read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(super.available(), remaining);
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // 남은 바이트 수를 되돌릴 수 없으므로 지원하지 않음
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * 한도에 도달해서 본문이 잘렸는지 확인합니다. (본문이 정확히 한도 크기인 경우도 포함)
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * 지금까지 읽은 바이트 수
+     */
+    public long getBytesRead() {
+        return limit - remaining;
+    }
+
+    /**
+     * 원래 스트림의 read()에서 기다린 시간의 합 (나노초)
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    /**
+     * 한도가 남았는지 확인합니다. 한도에 도달한 뒤 더 읽으려고 하면 잘린 것으로 기록합니다.
+     * (남은 데이터가 있는지 확인하려고 원래 스트림을 더 읽지는 않음)
+     */
+    private boolean hasRemaining() {
+        if (remaining > 0) {
+            return true;
+        }
+        truncated = true;
+        return false;
+    }
+}
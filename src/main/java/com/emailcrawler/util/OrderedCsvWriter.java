@@ -0,0 +1,102 @@
+package com.emailcrawler.util;
+
+import com.emailcrawler.model.CsvRow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 완료 순서와 관계없이 입력 순서대로 행을 출력하는 CSV 라이터 (크기 제한 재정렬 버퍼)
+ *
+ * 생산자는 행을 제출하기 전에 {@link #reserve()}로 자리를 확보하고,
+ * 작업자는 처리가 끝난 행을 {@link #complete(int, CsvRow)}로 넘깁니다.
+ * 앞선 행이 끝나지 않았으면 버퍼에 보관했다가 순서가 맞을 때 기록하므로
+ * 메모리 사용량은 처리 중인 행 수(window)로 제한됩니다.
+ */
+public class OrderedCsvWriter implements Closeable {
+
+    private static final int FLUSH_INTERVAL_ROWS = 100; // 이 행 수마다 백그라운드로 flush
+
+    private final CsvOutputWriter writer;
+    private final CsvParser csvParser;
+    private final Semaphore window;
+    private final Map<Integer, CsvRow> pending = new HashMap<>();
+    private int nextIndex = 1; // 다음에 기록할 행 번호 (1부터 시작)
+    private int writtenSinceFlush = 0;
+
+    /**
+     * @param writer     출력 대상 (UTF-8, 백그라운드 flush)
+     * @param csvParser  행 포맷에 사용할 파서
+     * @param windowSize 동시에 처리 중일 수 있는 최대 행 수
+     */
+    public OrderedCsvWriter(CsvOutputWriter writer, CsvParser csvParser, int windowSize) {
+        this.writer = writer;
+        this.csvParser = csvParser;
+        this.window = new Semaphore(windowSize);
+    }
+
+    /**
+     * UTF-8 BOM과 헤더를 기록합니다.
+     */
+    public synchronized void writeHeader(CsvRow header) throws IOException {
+        // UTF-8 BOM 추가 (Excel 호환)
+        writer.write('\ufeff');
+        csvParser.writeCsvRow(writer, header);
+        writer.flush();
+    }
+
+    /**
+     * 새 행을 제출하기 전에 호출합니다. 버퍼가 가득 차 있으면 앞선 행이 기록될 때까지 대기합니다.
+     */
+    public void reserve() throws InterruptedException {
+        window.acquire();
+    }
+
+    /**
+     * 처리가 끝난 행을 전달합니다. 순서가 맞는 행들은 즉시 기록됩니다.
+     *
+     * @param index 1부터 시작하는 입력 순서
+     * @param row   처리된 행
+     */
+    public synchronized void complete(int index, CsvRow row) throws IOException {
+        pending.put(index, row);
+
+        CsvRow next;
+        while ((next = pending.remove(nextIndex)) != null) {
+            csvParser.writeCsvRow(writer, next);
+            nextIndex++;
+            window.release();
+
+            if (++writtenSinceFlush >= FLUSH_INTERVAL_ROWS) {
+                writer.flushInBackground(); // 디스크 쓰기는 백그라운드 스레드에서
+                writtenSinceFlush = 0;
+            }
+        }
+    }
+
+    /**
+     * 지금까지 순서대로 기록된 행을 디스크로 flush 합니다.
+     */
+    public synchronized void flush() throws IOException {
+        writer.flush();
+        writtenSinceFlush = 0;
+    }
+
+    /**
+     * 지금까지 기록된 데이터 행 수
+     */
+    public synchronized int getWrittenCount() {
+        return nextIndex - 1;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!pending.isEmpty()) {
+            System.out.println("⚠️ 순서가 맞지 않아 기록되지 못한 행: " + pending.size() + "개");
+        }
+        writer.close();
+    }
+}
@@ -0,0 +1,297 @@
+package com.emailcrawler.util;
+
+import com.emailcrawler.model.CsvRow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * 대용량 CSV 파일을 여러 스레드로 나눠서 파싱하는 파서
+ *
+ * 파일을 일정 크기의 청크로 메모리 매핑하고 다음 순서로 처리합니다.
+ * 1. 청크마다 따옴표 개수와 "따옴표 밖에 있는 첫 줄바꿈" 위치를 병렬로 찾음
+ *    (청크가 따옴표 안에서 시작하는 경우와 밖에서 시작하는 경우 두 가지 모두)
+ * 2. 앞 청크들의 따옴표 개수 누적 홀짝으로 각 청크의 실제 시작 상태를 정해 레코드 경계를 확정
+ * 3. 경계로 나눈 구간을 ForkJoinPool에서 디코딩/파싱하고, 결과는 파일 순서대로 묶음(batch)으로 전달
+ * 1번과 3번은 몇 개 청크씩 앞서가며 겹쳐서 실행되므로 같은 청크를 두 번 읽어도 대부분 페이지 캐시에서 읽습니다.
+ *
+ * 따옴표(0x22), 쉼표, 줄바꿈이 ASCII와 같은 바이트인 인코딩(UTF-8, EUC-KR, MS949, CP1252 등)만 지원합니다.
+ * 레코드 경계는 '\n'으로만 찾으므로, 첫 청크에 따옴표 밖의 '\n'이 없으면(CR만 쓰는 파일, 청크보다 긴 헤더)
+ * CsvParser의 순차 파싱으로 처리합니다.
+ */
+public class ParallelCsvParser {
+
+    private static final long CHUNK_BYTES = AppConfig.getLong("csv.parallel.chunk-mb", 16) * 1024 * 1024;
+
+    private final CsvParser csvParser;
+    private final ForkJoinPool pool;
+    private final int window; // 동시에 진행하는 청크 작업 수
+
+    public ParallelCsvParser(CsvParser csvParser) {
+        this(csvParser, ForkJoinPool.commonPool());
+    }
+
+    public ParallelCsvParser(CsvParser csvParser, ForkJoinPool pool) {
+        this.csvParser = csvParser;
+        this.pool = pool;
+        this.window = Math.max(2, pool.getParallelism() * 2);
+    }
+
+    /**
+     * 바이트 단위로 레코드 경계를 찾을 수 있는 인코딩인지 확인합니다.
+     */
+    public static boolean supports(String encoding) {
+        try {
+            byte[] delimiters = "\",\n\r".getBytes(Charset.forName(encoding));
+            return Arrays.equals(delimiters, new byte[]{'"', ',', '\n', '\r'});
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * CSV 파일을 파싱하여 CsvRow 리스트로 반환합니다. (첫 행은 헤더)
+     *
+     * @param filePath CSV 파일 경로
+     * @param encoding 파일 인코딩
+     * @return CsvRow 리스트
+     */
+    public List<CsvRow> parse(String filePath, String encoding) throws IOException {
+        List<CsvRow> rows = new ArrayList<>();
+        CsvRow header = parse(filePath, encoding, rows::addAll);
+        if (header != null) {
+            rows.add(0, header);
+        }
+        return rows;
+    }
+
+    /**
+     * CSV 파일을 파싱하면서 데이터 행을 파일 순서대로 묶음 단위로 전달합니다.
+     *
+     * @param filePath CSV 파일 경로
+     * @param encoding 파일 인코딩
+     * @param consumer 데이터 행 묶음을 받을 콜백 (호출한 스레드에서 순서대로 호출됨)
+     * @return 헤더 행, 빈 파일이면 null
+     */
+    public CsvRow parse(String filePath, String encoding, Consumer<List<CsvRow>> consumer) throws IOException {
+        Charset charset = Charset.forName(encoding);
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunkCount = (int) Math.max(1, (size + CHUNK_BYTES - 1) / CHUNK_BYTES);
+
+            Deque<ForkJoinTask<ChunkScan>> scans = new ArrayDeque<>();
+            Deque<ForkJoinTask<List<CsvRow>>> parses = new ArrayDeque<>();
+            int nextScan = 0;
+
+            // 헤더: 첫 청크에서 따옴표 밖의 첫 줄바꿈까지
+            while (nextScan < chunkCount && scans.size() < window) {
+                scans.add(pool.submit(scanTask(channel, nextScan++, size)));
+            }
+            ChunkScan first = scans.poll().join();
+            if (first.firstBoundary[0] < 0) {
+                // 헤더 끝을 찾지 못함 (CR 줄바꿈 파일 등): 청크로 나눌 수 없으므로 순차 파싱
+                cancelAll(scans);
+                return parseSequential(filePath, encoding, consumer);
+            }
+            long dataStart = first.firstBoundary[0];
+            CsvRow header = parseHeader(channel, dataStart, charset);
+            boolean inQuotes = first.oddQuotes;
+
+            long segmentStart = dataStart;
+            for (int chunk = 1; chunk < chunkCount; chunk++) {
+                if (nextScan < chunkCount) {
+                    scans.add(pool.submit(scanTask(channel, nextScan++, size)));
+                }
+                ChunkScan scan = scans.poll().join();
+
+                long boundary = scan.firstBoundary[inQuotes ? 1 : 0];
+                inQuotes ^= scan.oddQuotes;
+                if (boundary < 0 || boundary <= segmentStart) {
+                    continue; // 이 청크 안에서는 레코드가 끝나지 않음 (앞 구간에 이어붙임)
+                }
+
+                parses.add(pool.submit(parseTask(channel, segmentStart, boundary, charset, header)));
+                segmentStart = boundary;
+                while (parses.size() >= window) {
+                    consumer.accept(parses.poll().join());
+                }
+            }
+
+            if (segmentStart < size) {
+                parses.add(pool.submit(parseTask(channel, segmentStart, size, charset, header)));
+            }
+            while (!parses.isEmpty()) {
+                consumer.accept(parses.poll().join());
+            }
+            return header;
+
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private CsvRow parseSequential(String filePath, String encoding, Consumer<List<CsvRow>> consumer) throws IOException {
+        List<CsvRow> rows = csvParser.parseSequential(filePath, encoding);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        consumer.accept(rows.subList(1, rows.size()));
+        return rows.get(0);
+    }
+
+    private static void cancelAll(Deque<? extends ForkJoinTask<?>> tasks) {
+        for (ForkJoinTask<?> task : tasks) {
+            task.cancel(false);
+        }
+        tasks.clear();
+    }
+
+    /**
+     * 청크 하나를 훑어 따옴표 개수의 홀짝과 레코드 경계 후보를 찾는 작업
+     */
+    private ForkJoinTask<ChunkScan> scanTask(FileChannel channel, int chunk, long size) {
+        return ForkJoinTask.adapt(() -> {
+            long start = chunk * CHUNK_BYTES;
+            MappedByteBuffer buffer = map(channel, start, Math.min(CHUNK_BYTES, size - start));
+
+            ChunkScan scan = new ChunkScan();
+            boolean odd = false;
+            int limit = buffer.limit();
+            for (int i = 0; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    odd = !odd;
+                } else if (b == '\n') {
+                    // odd == false: 청크가 따옴표 밖에서 시작했다면 여기는 따옴표 밖
+                    int state = odd ? 1 : 0;
+                    if (scan.firstBoundary[state] < 0) {
+                        scan.firstBoundary[state] = start + i + 1;
+                        if (scan.firstBoundary[1 - state] >= 0) {
+                            odd = countRemainingQuotes(buffer, i + 1, limit, odd);
+                            break;
+                        }
+                    }
+                }
+            }
+            scan.oddQuotes = odd;
+            return scan;
+        });
+    }
+
+    /**
+     * 경계를 모두 찾은 뒤 나머지 구간의 따옴표만 셉니다.
+     */
+    private boolean countRemainingQuotes(MappedByteBuffer buffer, int from, int limit, boolean odd) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == '"') {
+                odd = !odd;
+            }
+        }
+        return odd;
+    }
+
+    /**
+     * 레코드 경계로 나눈 구간을 디코딩해서 데이터 행으로 파싱하는 작업
+     */
+    private ForkJoinTask<List<CsvRow>> parseTask(FileChannel channel, long start, long end, Charset charset, CsvRow header) {
+        return ForkJoinTask.adapt(() -> {
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IllegalStateException("CSV 레코드가 너무 큽니다. (따옴표가 닫히지 않았을 수 있음)");
+            }
+
+            CharBuffer chars = decode(map(channel, start, end - start), charset);
+            List<CsvRow> rows = new ArrayList<>();
+            int length = chars.length();
+            int recordStart = 0;
+            boolean inQuotes = false;
+
+            for (int i = 0; i < length; i++) {
+                char c = chars.charAt(i);
+                if (c == '"') {
+                    inQuotes = !inQuotes;
+                } else if (!inQuotes && (c == '\n' || c == '\r')) {
+                    rows.add(csvParser.createDataRow(substring(chars, recordStart, i), header));
+                    if (c == '\r' && i + 1 < length && chars.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                    recordStart = i + 1;
+                }
+            }
+            if (recordStart < length) {
+                rows.add(csvParser.createDataRow(substring(chars, recordStart, length), header));
+            }
+            return rows;
+        });
+    }
+
+    private CsvRow parseHeader(FileChannel channel, long end, Charset charset) throws IOException {
+        String line = decode(map(channel, 0, end), charset).toString();
+        // BOM과 줄바꿈 제거
+        if (line.startsWith("\ufeff")) {
+            line = line.substring(1);
+        }
+        int length = line.length();
+        while (length > 0 && (line.charAt(length - 1) == '\n' || line.charAt(length - 1) == '\r')) {
+            length--;
+        }
+        return csvParser.createHeaderRow(line.substring(0, length));
+    }
+
+    /**
+     * 디코딩된 버퍼의 일부를 레코드 문자열로 복사합니다.
+     */
+    private static String substring(CharBuffer chars, int start, int end) {
+        if (chars.hasArray()) {
+            return new String(chars.array(), chars.arrayOffset() + chars.position() + start, end - start);
+        }
+        return chars.subSequence(start, end).toString();
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static CharBuffer decode(ByteBuffer bytes, Charset charset) {
+        try {
+            return charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(bytes);
+        } catch (CharacterCodingException e) {
+            // REPLACE 설정에서는 발생하지 않음
+            return StandardCharsets.ISO_8859_1.decode(bytes);
+        }
+    }
+
+    /**
+     * 청크 스캔 결과
+     */
+    private static class ChunkScan {
+        // [0]: 청크가 따옴표 밖에서 시작할 때, [1]: 안에서 시작할 때의 첫 레코드 시작 위치 (없으면 -1)
+        private final long[] firstBoundary = {-1, -1};
+        private boolean oddQuotes; // 청크 안의 따옴표 개수가 홀수인지
+    }
+}
@@ -0,0 +1,239 @@
+package com.emailcrawler.util;
+
+import java.net.IDN;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * URL 관련 유틸리티 클래스
+ */
+public class UrlUtils {
+
+    // 국가 도메인 아래에서 등록 단위가 한 단계 더 깊은 2단계 라벨 (예: example.co.kr, example.com.au)
+    private static final Set<String> SECOND_LEVEL_LABELS = new HashSet<>(Arrays.asList(
+            "co", "or", "ne", "go", "ac", "re", "pe", "ms", "hs", "es", "sc", "kg",
+            "com", "net", "org", "gov", "edu", "mil"));
+
+    // 깨진 http/https 접두사 (예: "http//", "https:/", "http:")
+    private static final Pattern LOOSE_SCHEME = Pattern.compile("^(?i)(https?)(?::/{0,3}|/{2,3})");
+    private static final Pattern HOST_NAME = Pattern.compile("^[a-z0-9-]+(\\.[a-z0-9-]+)+$");
+
+    private UrlUtils() {
+    }
+
+    /**
+     * URL에서 호스트 이름을 소문자로 추출합니다.
+     *
+     * @param url 대상 URL
+     * @return 호스트 이름, 추출할 수 없으면 빈 문자열
+     */
+    public static String extractHost(String url) {
+        if (ValidationUtils.isEmpty(url)) {
+            return "";
+        }
+
+        try {
+            String host = URI.create(url.trim()).getHost();
+            if (host != null) {
+                return host.toLowerCase(Locale.ROOT);
+            }
+        } catch (IllegalArgumentException ignored) {
+            // 아래에서 보정한 URL로 다시 시도
+        }
+
+        // 스킴이 없거나 깨진 값(example.co.kr)은 보정한 URL의 호스트
+        List<String> candidates = candidateUrls(url);
+        return candidates.isEmpty() ? "" : URI.create(candidates.get(0)).getHost();
+    }
+
+    /**
+     * 웹사이트 값으로 요청해 볼 URL 후보를 만듭니다. (스킴이 없거나 깨진 값 보정)
+     * 적힌 호스트를 먼저, 등록 도메인 그 자체이거나 www.등록도메인이면 다른 쪽도 후보로 넣고,
+     * 호스트마다 https → http 순서입니다. (적힌 스킴이 http면 http 먼저)
+     *
+     * 예) "example.co.kr" → https://example.co.kr/, http://example.co.kr/, https://www.example.co.kr/, http://www.example.co.kr/
+     *
+     * @param website CSV의 웹사이트 값
+     * @return 요청 순서대로 정렬한 후보 URL, 호스트를 찾을 수 없으면 빈 목록
+     */
+    public static List<String> candidateUrls(String website) {
+        if (ValidationUtils.isEmpty(website)) {
+            return Collections.emptyList();
+        }
+
+        String value = website.trim().replaceAll("\\s+", "");
+        boolean httpFirst = false;
+        Matcher scheme = LOOSE_SCHEME.matcher(value);
+        if (scheme.find()) {
+            httpFirst = "http".equalsIgnoreCase(scheme.group(1));
+            value = value.substring(scheme.end());
+        } else if (value.contains("://")) {
+            return Collections.emptyList(); // ftp:// 등 다른 스킴
+        } else if (value.startsWith("//")) {
+            value = value.substring(2);
+        }
+
+        // 호스트[:포트] 와 나머지 경로 분리
+        int end = value.length();
+        for (char c : new char[] {'/', '?', '#'}) {
+            int index = value.indexOf(c);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        String authority = value.substring(0, end);
+        String path = end < value.length() ? value.substring(end) : "/";
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+
+        String port = "";
+        int colon = authority.lastIndexOf(':');
+        if (colon >= 0) {
+            port = authority.substring(colon + 1);
+            authority = authority.substring(0, colon);
+            if (!port.matches("[0-9]{1,5}")) {
+                return Collections.emptyList();
+            }
+            port = ":" + port;
+        }
+
+        String host;
+        try {
+            host = IDN.toASCII(authority.toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Collections.emptyList();
+        }
+        if (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+        if (!HOST_NAME.matcher(host).matches()) {
+            return Collections.emptyList();
+        }
+
+        List<String> hosts = new ArrayList<>();
+        hosts.add(host);
+        String domain = registrableDomain(host);
+        if (host.equals(domain) && !host.matches("[0-9.]+")) {
+            hosts.add("www." + host);
+        } else if (host.equals("www." + domain)) {
+            hosts.add(domain);
+        }
+
+        List<String> schemes = httpFirst ? Arrays.asList("http", "https") : Arrays.asList("https", "http");
+        List<String> candidates = new ArrayList<>();
+        for (String candidateHost : hosts) {
+            for (String candidateScheme : schemes) {
+                String candidate = candidateScheme + "://" + candidateHost + port + path;
+                try {
+                    if (URI.create(candidate).getHost() != null) {
+                        candidates.add(candidate);
+                    }
+                } catch (IllegalArgumentException ignored) {
+                    // 경로에 URL에 쓸 수 없는 문자가 있으면 제외
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * 같은 사이트를 가리키는 URL이 같은 키가 되도록 정규화합니다.
+     * 스킴(http/https), 호스트 대소문자, "www." 접두사, 기본 포트, 끝의 "/", #fragment 차이를 무시합니다.
+     *
+     * 예) "HTTPS://WWW.Example.com/" → "example.com", "http://example.com/about/" → "example.com/about"
+     *
+     * @param url 대상 URL
+     * @return 정규화된 키, 해석할 수 없으면 빈 문자열
+     */
+    public static String normalize(String url) {
+        if (ValidationUtils.isEmpty(url)) {
+            return "";
+        }
+
+        URI uri;
+        try {
+            uri = URI.create(url.trim());
+        } catch (IllegalArgumentException e) {
+            uri = null;
+        }
+
+        String host = uri == null ? null : uri.getHost();
+        if (host == null) {
+            // 스킴이 없거나 깨진 값(www.example.com)은 보정한 URL로 정규화 (같은 사이트면 같은 키)
+            List<String> candidates = candidateUrls(url);
+            return candidates.isEmpty() ? "" : normalize(candidates.get(0));
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        if (host.startsWith("www.")) {
+            host = host.substring(4);
+        }
+        if (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+
+        StringBuilder key = new StringBuilder(host);
+
+        int port = uri.getPort();
+        if (port != -1 && port != 80 && port != 443) {
+            key.append(':').append(port);
+        }
+
+        String path = uri.getRawPath();
+        if (path != null) {
+            int end = path.length();
+            while (end > 0 && path.charAt(end - 1) == '/') {
+                end--;
+            }
+            key.append(path, 0, end);
+        }
+
+        if (uri.getRawQuery() != null) {
+            key.append('?').append(uri.getRawQuery());
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * 호스트의 등록 도메인(누구나 등록할 수 있는 단위)을 추정합니다.
+     * 공개 접미사 목록 대신 "국가 도메인 + 흔한 2단계 라벨" 규칙만 사용하는 근사치입니다.
+     *
+     * 예) "www.shop.example.co.kr" → "example.co.kr", "blog.example.com" → "example.com"
+     *
+     * @param host 소문자 호스트 이름
+     * @return 등록 도메인, IP 주소이거나 라벨이 두 개 이하면 호스트 그대로
+     */
+    public static String registrableDomain(String host) {
+        if (ValidationUtils.isEmpty(host)) {
+            return "";
+        }
+        if (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+        if (host.indexOf(':') >= 0 || host.matches("[0-9.]+")) {
+            return host; // IP 주소
+        }
+
+        String[] labels = host.split("\\.");
+        if (labels.length <= 2) {
+            return host;
+        }
+
+        String tld = labels[labels.length - 1];
+        String second = labels[labels.length - 2];
+        int keep = tld.length() == 2 && SECOND_LEVEL_LABELS.contains(second) ? 3 : 2;
+        if (labels.length <= keep) {
+            return host;
+        }
+        return String.join(".", Arrays.copyOfRange(labels, labels.length - keep, labels.length));
+    }
+}
@@ -0,0 +1,67 @@
+package com.emailcrawler.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLHandshakeException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FetchOutcomeTest {
+
+    @Test
+    @DisplayName("HTTP 상태 코드 분류 (429/5xx 일부만 일시적인 오류)")
+    void classifiesHttpStatus() {
+        for (int status : new int[]{429, 500, 502, 503, 504}) {
+            assertEquals(FetchOutcome.HTTP_TRANSIENT, FetchOutcome.ofHttpStatus(status), "status " + status);
+        }
+        for (int status : new int[]{400, 401, 403, 404, 410, 501}) {
+            assertEquals(FetchOutcome.HTTP_ERROR, FetchOutcome.ofHttpStatus(status), "status " + status);
+        }
+    }
+
+    @Test
+    @DisplayName("요청 실패 예외 분류 (원인 예외까지 확인)")
+    void classifiesExceptions() {
+        assertEquals(FetchOutcome.DNS_FAILURE, FetchOutcome.ofException(new UnknownHostException("gone.com")));
+        assertEquals(FetchOutcome.DNS_FAILURE,
+                FetchOutcome.ofException(new CompletionException(wrap(new ConnectException(), new UnknownHostException()))));
+        assertEquals(FetchOutcome.CONNECT_TIMEOUT, FetchOutcome.ofException(new HttpConnectTimeoutException("connect timed out")));
+        assertEquals(FetchOutcome.CONNECT_TIMEOUT, FetchOutcome.ofException(new SocketTimeoutException("Connect timed out")));
+        assertEquals(FetchOutcome.TIMEOUT, FetchOutcome.ofException(new SocketTimeoutException("Read timed out")));
+        assertEquals(FetchOutcome.TIMEOUT, FetchOutcome.ofException(new HttpTimeoutException("request timed out")));
+        assertEquals(FetchOutcome.TIMEOUT, FetchOutcome.ofException(new CompletionException(new TimeoutException())));
+        assertEquals(FetchOutcome.CONNECTION_REFUSED, FetchOutcome.ofException(new ConnectException("Connection refused")));
+        assertEquals(FetchOutcome.TLS_ERROR, FetchOutcome.ofException(new SSLHandshakeException("bad certificate")));
+        assertEquals(FetchOutcome.NETWORK_ERROR, FetchOutcome.ofException(new IOException("Connection reset")));
+        assertEquals(FetchOutcome.ERROR, FetchOutcome.ofException(new IllegalStateException()));
+    }
+
+    @Test
+    @DisplayName("다시 시도할 실패와 응답할 수 없는 호스트 구분")
+    void flagsTransientAndDeadHost() {
+        assertTrue(FetchOutcome.TIMEOUT.isTransient());
+        assertFalse(FetchOutcome.TIMEOUT.isDeadHost());
+        assertTrue(FetchOutcome.CONNECT_TIMEOUT.isTransient());
+        assertTrue(FetchOutcome.CONNECT_TIMEOUT.isDeadHost());
+        assertFalse(FetchOutcome.DNS_FAILURE.isTransient());
+        assertTrue(FetchOutcome.DNS_FAILURE.isDeadHost());
+        assertFalse(FetchOutcome.HTTP_ERROR.isTransient());
+        assertFalse(FetchOutcome.HTTP_ERROR.isDeadHost());
+    }
+
+    private static <T extends Throwable> T wrap(T error, Throwable cause) {
+        error.initCause(cause);
+        return error;
+    }
+}
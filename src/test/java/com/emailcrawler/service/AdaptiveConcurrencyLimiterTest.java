@@ -0,0 +1,189 @@
+package com.emailcrawler.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * 가상 스레드 실행기 (Java 21 미만이면 null)
+     */
+    private static ExecutorService virtualExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 작업마다 슬롯을 얻고 잠시 기다린 뒤 반납합니다.
+     *
+     * @return 모든 작업이 시간 안에 끝났는지 여부
+     */
+    private static boolean runTasks(ExecutorService executor, AdaptiveConcurrencyLimiter limiter, int tasks,
+                                    long holdMs, AtomicInteger peak) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                try {
+                    long start = limiter.acquire();
+                    peak.accumulateAndGet(limiter.getInFlight(), Math::max);
+                    Thread.sleep(holdMs);
+                    limiter.release(start, false);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        return done.await(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("가상 스레드 400개가 슬롯을 기다려도 멈추지 않음 (캐리어 스레드 고정 없음)")
+    // 슬롯을 가진 작업이 깨어나기 전에 나머지가 모두 대기에 들어가도록 오래 붙잡음.
+    // 대기가 캐리어 스레드를 고정하면 캐리어(최대 256개)가 바닥나 깨어날 수 없게 됨
+    void virtualThreadsDoNotStall() throws Exception {
+        ExecutorService executor = virtualExecutor();
+        assumeTrue(executor != null, "Java 21 이상에서만 실행");
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.fixed(16);
+        AtomicInteger peak = new AtomicInteger();
+
+        try {
+            assertTrue(runTasks(executor, limiter, 400, 100, peak), "작업이 30초 안에 끝나지 않음");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(16, peak.get());
+    }
+
+    @Test
+    @DisplayName("동시 요청 수가 한도를 넘지 않음")
+    void neverExceedsLimit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.fixed(4);
+        AtomicInteger peak = new AtomicInteger();
+
+        try {
+            assertTrue(runTasks(executor, limiter, 200, 2, peak));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(4, peak.get());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("마감 시각까지 슬롯을 얻지 못하면 -1")
+    void acquireGivesUpAtDeadline() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.fixed(1);
+        long held = limiter.acquire();
+
+        long start = System.nanoTime();
+        assertEquals(-1, limiter.acquire(System.nanoTime() + 50 * MS));
+        assertTrue(System.nanoTime() - start >= 40 * MS);
+        assertEquals(-1, limiter.acquire(System.nanoTime() - 1));
+
+        limiter.release(held, false);
+        assertTrue(limiter.acquire(System.nanoTime() + 50 * MS) > 0);
+    }
+
+    @Test
+    @DisplayName("한도까지 찬 구간의 지연이 기준과 비슷하면 한도를 1씩 늘림")
+    void increasesWhenSaturatedAndHealthy() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, 2.0, 0.1, 0.5);
+
+        for (int window = 0; window < 3; window++) {
+            long[] starts = new long[limiter.getLimit()];
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = limiter.acquire();
+            }
+            for (long start : starts) {
+                limiter.release(start, false);
+            }
+        }
+
+        assertEquals(13, limiter.getLimit());
+    }
+
+    /**
+     * 한도만큼 슬롯을 채운 뒤 모두 latencyMs 걸린 요청으로 반납합니다. (한 구간)
+     */
+    private static void runWindow(AdaptiveConcurrencyLimiter limiter, long latencyMs) throws InterruptedException {
+        int slots = limiter.getLimit();
+        for (int i = 0; i < slots; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < slots; i++) {
+            limiter.release(System.nanoTime() - latencyMs * MS, false);
+        }
+    }
+
+    @Test
+    @DisplayName("구간 중앙값이 기준 지연의 허용 배수를 넘으면 한도를 줄임")
+    void backsOffOnLatency() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, 2.0, 0.1, 0.5);
+
+        runWindow(limiter, 100);
+        runWindow(limiter, 100);
+        assertEquals(12, limiter.getLimit());
+
+        runWindow(limiter, 1000);
+        assertEquals(6, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("빠른 구간 하나 때문에 이후의 보통 구간이 과부하로 보이지 않음 (기준 지연은 최근 구간의 하위 25%)")
+    void singleFastWindowDoesNotLowerBaseline() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 40, 2.0, 0.1, 0.5);
+
+        for (int window = 0; window < 5; window++) {
+            runWindow(limiter, 100);
+        }
+        runWindow(limiter, 10);
+        for (int window = 0; window < 3; window++) {
+            runWindow(limiter, 100);
+        }
+
+        assertEquals(19, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("타임아웃 비율이 허용치를 넘으면 한도를 줄이고, 표본이 아닌 반납은 조절에 쓰지 않음")
+    void backsOffOnDrops() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, 2.0, 0.1, 0.5);
+
+        // 표본이 아닌 반납(공유/캐시 결과)만으로는 구간이 끝나지 않음
+        for (int i = 0; i < 50; i++) {
+            limiter.release(limiter.acquire(), false, false);
+        }
+        assertEquals(10, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.release(limiter.acquire(), i < 5, true);
+        }
+        assertEquals(5, limiter.getLimit());
+
+        for (int window = 0; window < 5; window++) {
+            for (int i = 0; i < 10; i++) {
+                limiter.release(limiter.acquire(), true, true);
+            }
+        }
+        assertEquals(2, limiter.getLimit()); // 하한 아래로는 줄지 않음
+    }
+}
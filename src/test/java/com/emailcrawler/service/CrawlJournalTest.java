@@ -0,0 +1,96 @@
+package com.emailcrawler.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private String journalPath() {
+        return CrawlJournal.pathFor(dir.resolve("out_updated.csv").toString());
+    }
+
+    @Test
+    @DisplayName("기록한 행을 닫은 뒤 다시 읽음")
+    void recordAndLoad() throws Exception {
+        String path = journalPath();
+        try (CrawlJournal journal = new CrawlJournal(path, false, 60_000)) {
+            journal.record(1, "a@a.com");
+            journal.record(3, "X");
+            journal.record(2, null);
+        }
+
+        Map<Integer, String> done = CrawlJournal.load(path);
+
+        assertEquals(3, done.size());
+        assertEquals("a@a.com", done.get(1));
+        assertEquals("", done.get(2));
+        assertEquals("X", done.get(3));
+    }
+
+    @Test
+    @DisplayName("쓰다 만 마지막 줄과 손상된 줄은 건너뛰고 나머지는 읽음")
+    void loadAfterPartialWrite() throws Exception {
+        String path = journalPath();
+        try (CrawlJournal journal = new CrawlJournal(path, false, 60_000)) {
+            journal.record(1, "a@a.com");
+            journal.record(2, "b@b.com");
+        }
+        // 비정상 종료로 줄 중간까지만 기록된 경우
+        Files.write(Path.of(path), "abc\tx@x.com\n\t\n12".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        Map<Integer, String> done = CrawlJournal.load(path);
+
+        assertEquals(2, done.size());
+        assertEquals("b@b.com", done.get(2));
+        assertFalse(done.containsKey(12));
+    }
+
+    @Test
+    @DisplayName("이어쓰기 모드는 기존 기록을 유지하고, 새로 시작하면 비움")
+    void appendAndTruncate() throws Exception {
+        String path = journalPath();
+        try (CrawlJournal journal = new CrawlJournal(path, false, 60_000)) {
+            journal.record(1, "a@a.com");
+        }
+        try (CrawlJournal journal = new CrawlJournal(path, true, 60_000)) {
+            journal.record(2, "b@b.com");
+        }
+        assertEquals(2, CrawlJournal.load(path).size());
+
+        try (CrawlJournal journal = new CrawlJournal(path, false, 60_000)) {
+            journal.record(5, "e@e.com");
+        }
+        assertEquals(Map.of(5, "e@e.com"), CrawlJournal.load(path));
+    }
+
+    @Test
+    @DisplayName("닫히기 전에도 sync 한 기록은 파일에 남음")
+    void syncBeforeClose() throws Exception {
+        String path = journalPath();
+        CrawlJournal journal = new CrawlJournal(path, false, 60_000);
+        try {
+            journal.record(7, "g@g.com");
+            assertTrue(CrawlJournal.load(path).isEmpty()); // 아직 메모리에만 있음
+            journal.sync();
+            assertEquals("g@g.com", CrawlJournal.load(path).get(7));
+        } finally {
+            journal.delete();
+        }
+        assertFalse(Files.exists(Path.of(path)));
+        assertTrue(CrawlJournal.load(path).isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.emailcrawler.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlResultStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("저장한 결과를 다시 열어도 그대로 조회 (못 찾은 결과는 빈 문자열, 없는 키는 null)")
+    void roundTrip() throws Exception {
+        String log = tempDir.resolve("nested/dir/cache.log").toString();
+
+        try (CrawlResultStore store = new CrawlResultStore(log, 24)) {
+            store.put("example.com", "info@example.com");
+            store.put("empty.com", "");
+            store.put("example.com", "contact@example.com"); // 나중에 쓴 값이 우선
+            assertEquals("contact@example.com", store.get("example.com"));
+        }
+
+        try (CrawlResultStore store = new CrawlResultStore(log, 24)) {
+            assertEquals(2, store.size());
+            assertEquals("contact@example.com", store.get("example.com"));
+            assertEquals("", store.get("empty.com"));
+            assertNull(store.get("missing.com"));
+        }
+    }
+
+    @Test
+    @DisplayName("만료된 줄과 쓰다 만 줄/손상된 줄은 읽지 않음")
+    void skipsExpiredAndBrokenLines() throws Exception {
+        Path log = tempDir.resolve("cache.log");
+        long now = System.currentTimeMillis();
+        long old = now - TimeUnit.HOURS.toMillis(2);
+        Files.write(log, (old + "\texpired.com\told@expired.com\n"
+                + now + "\tfresh.com\tinfo@fresh.com\n"
+                + "not-a-number\tbroken.com\tx@broken.com\n"
+                + now + "\ttruncated.com").getBytes(StandardCharsets.UTF_8));
+
+        try (CrawlResultStore store = new CrawlResultStore(log.toString(), 1)) {
+            assertEquals(1, store.size());
+            assertEquals("info@fresh.com", store.get("fresh.com"));
+            assertNull(store.get("expired.com"));
+            assertNull(store.get("broken.com"));
+            assertNull(store.get("truncated.com"));
+        }
+    }
+
+    @Test
+    @DisplayName("덮어쓴 줄이 유효한 항목보다 훨씬 많으면 시작할 때 유효한 항목만 남김")
+    void compactsOnStartup() throws Exception {
+        Path log = tempDir.resolve("cache.log");
+        long now = System.currentTimeMillis();
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            lines.add(now + "\tsite" + (i % 10) + ".com\tinfo" + i + "@example.com");
+        }
+        Files.write(log, lines, StandardCharsets.UTF_8);
+
+        try (CrawlResultStore store = new CrawlResultStore(log.toString(), 24)) {
+            assertEquals(10, store.size());
+            assertEquals("info1499@example.com", store.get("site9.com"));
+            store.put("new.com", "new@example.com");
+        }
+
+        List<String> compacted = Files.readAllLines(log, StandardCharsets.UTF_8);
+        assertEquals(11, compacted.size());
+        assertTrue(compacted.get(10).endsWith("\tnew.com\tnew@example.com"));
+
+        try (CrawlResultStore store = new CrawlResultStore(log.toString(), 24)) {
+            assertEquals(11, store.size());
+            assertEquals("info1490@example.com", store.get("site0.com"));
+        }
+    }
+}
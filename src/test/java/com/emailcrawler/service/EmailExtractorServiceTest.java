@@ -0,0 +1,113 @@
+package com.emailcrawler.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EmailExtractorServiceTest {
+
+    // 기존 정규식 구현 (비교 기준)
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("\\b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Z|a-z]{2,}\\b");
+    private static final Pattern OBFUSCATED_AT_PATTERN =
+            Pattern.compile("\\b[A-Za-z0-9._%+-]+\\s*\\[at\\]\\s*[A-Za-z0-9.-]+\\.[A-Z|a-z]{2,}\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern OBFUSCATED_PAREN_PATTERN =
+            Pattern.compile("\\b[A-Za-z0-9._%+-]+\\s*\\(at\\)\\s*[A-Za-z0-9.-]+\\.[A-Z|a-z]{2,}\\b", Pattern.CASE_INSENSITIVE);
+
+    private final EmailExtractorService extractor = new EmailExtractorService();
+
+    /**
+     * 기존 정규식 구현과 같은 방식으로 추출합니다. (일반 → [at] → (at) 순서)
+     * 기존 구현은 소문자 "[at]"만 "@"로 바꿨지만, 지금은 대문자도 바꾸므로 비교 기준도 대소문자를 무시합니다.
+     */
+    private static List<String> baseline(String text) {
+        List<String> emails = new ArrayList<>();
+        if (text == null || text.trim().isEmpty()) {
+            return emails;
+        }
+        Matcher plain = EMAIL_PATTERN.matcher(text);
+        while (plain.find()) {
+            emails.add(plain.group());
+        }
+        Matcher at = OBFUSCATED_AT_PATTERN.matcher(text);
+        while (at.find()) {
+            emails.add(at.group().replaceAll("(?i)\\[at\\]", "@").replaceAll("\\s", ""));
+        }
+        Matcher paren = OBFUSCATED_PAREN_PATTERN.matcher(text);
+        while (paren.find()) {
+            emails.add(paren.group().replaceAll("(?i)\\(at\\)", "@").replaceAll("\\s", ""));
+        }
+        return emails;
+    }
+
+    @Test
+    @DisplayName("일반/난독화 형식을 기존 정규식과 같게 추출")
+    void matchesBaselineOnExamples() {
+        List<String> texts = Arrays.asList(
+                "문의: info@example.co.kr 로 연락주세요",
+                "a@b.c x@y.com, first.last+tag@sub.example.org.",
+                "contact [at] example.com / sales(at)example.net / ceo [AT] corp.co.kr",
+                "a@b@c.com 와 user@@example.com, mail@example.com123",
+                "로고 logo@2x.png 와 file@doc.pdf 도 형식은 맞음",
+                "_under@score.com -dash@x.io %p@q.rs",
+                "info@example.com [at] test.org",
+                "x(at)a.com y [at] b.com z(AT)c.com",
+                "",
+                "   ");
+
+        for (String text : texts) {
+            assertEquals(baseline(text), extractor.extractEmailsFromText(text), text);
+        }
+    }
+
+    @Test
+    @DisplayName("무작위 ASCII 입력에서도 기존 정규식과 같은 결과")
+    void matchesBaselineOnRandomInput() {
+        String[] pieces = {"a", "Z", "9", ".", "-", "_", "%", "+", "@", " ", "\n", "[at]", "(AT)", "(at)", "[", ")",
+                "com", "co.kr", "x", ",", "..", "@@", "io", "\t"};
+        Random random = new Random(7);
+
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = 1 + random.nextInt(20);
+            for (int i = 0; i < length; i++) {
+                text.append(pieces[random.nextInt(pieces.length)]);
+            }
+            String input = text.toString();
+            assertEquals(baseline(input), extractor.extractEmailsFromText(input), input);
+        }
+    }
+
+    @Test
+    @DisplayName("한글에 바로 붙은 이메일도 찾음 (단어 경계는 ASCII 기준)")
+    void hangulAdjacent() {
+        // JDK 18 이하의 정규식은 한글을 단어 문자로 보아 아래 경우를 찾지 못하거나 앞의 기호까지 포함함
+        assertEquals(Arrays.asList("info@example.com"), extractor.extractEmailsFromText("문의info@example.com입니다"));
+        assertEquals(Arrays.asList("b@c.com"), extractor.extractEmailsFromText("메일+b@c.com"));
+        assertEquals("sales@a.co.kr", extractor.findFirstValidEmail("영업sales[at]a.co.kr로"));
+    }
+
+    @Test
+    @DisplayName("첫 유효 이메일: 일반 형식 우선, 파일명은 제외, 소문자로 반환")
+    void findFirstValidEmail() {
+        assertEquals("info@example.com", extractor.findFirstValidEmail("logo@2x.png INFO@Example.com ceo@b.com"));
+        assertEquals("sales@example.net", extractor.findFirstValidEmail("sales [at] example.net 또는 img@a.jpg"));
+        assertEquals("plain@a.com", extractor.findFirstValidEmail("x [at] y.com, plain@a.com"));
+        assertEquals("y@b.com", extractor.findFirstValidEmail("x (at) a.com, y [at] b.com"));
+        assertEquals("", extractor.findFirstValidEmail("icon@3x.PNG"));
+        assertEquals("", extractor.findFirstValidEmail(""));
+        assertEquals("", extractor.findFirstValidEmail(null));
+
+        String tooLong = String.join("", Collections.nCopies(250, "a")) + "@b.com";
+        assertEquals("", extractor.findFirstValidEmail(tooLong));
+    }
+}
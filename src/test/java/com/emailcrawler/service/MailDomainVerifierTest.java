@@ -0,0 +1,186 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.MailDomainStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailDomainVerifierTest {
+
+    private MailDomainVerifier verifier;
+
+    @AfterEach
+    void tearDown() {
+        if (verifier != null) {
+            verifier.close();
+        }
+    }
+
+    private MailDomainVerifier verifierWith(StubDnsResolver resolver) {
+        verifier = new MailDomainVerifier(resolver, 4, 60, 60);
+        return verifier;
+    }
+
+    @Test
+    @DisplayName("MX 레코드가 있으면 메일 수신 가능")
+    void mxRecord() {
+        StubDnsResolver dns = new StubDnsResolver().add("example.com", "MX", "10 mail.example.com");
+
+        MailDomainStatus status = verifierWith(dns).verify("info@example.com");
+
+        assertEquals(MailDomainStatus.MX, status);
+        assertTrue(status.isKeep());
+    }
+
+    @Test
+    @DisplayName("MX \"0 .\" 하나뿐이면 메일을 받지 않는 도메인 (null MX)")
+    void nullMx() {
+        StubDnsResolver dns = new StubDnsResolver()
+                .add("nomail.com", "MX", "0 .")
+                .add("nomail.com", "A", "192.0.2.1");
+
+        MailDomainStatus status = verifierWith(dns).verify("info@nomail.com");
+
+        assertEquals(MailDomainStatus.NULL_MX, status);
+        assertFalse(status.isKeep());
+    }
+
+    @Test
+    @DisplayName("\".\"이 아닌 MX가 함께 있으면 null MX가 아님")
+    void nullMxWithOtherRecordsIsNotNullMx() {
+        StubDnsResolver dns = new StubDnsResolver().add("mixed.com", "MX", "0 .", "10 mail.mixed.com");
+
+        assertEquals(MailDomainStatus.MX, verifierWith(dns).verify("a@mixed.com"));
+    }
+
+    @Test
+    @DisplayName("도메인이 없으면 (NXDOMAIN) 제외")
+    void nxDomain() {
+        MailDomainStatus status = verifierWith(new StubDnsResolver()).verify("info@exmaple.con");
+
+        assertEquals(MailDomainStatus.NO_SUCH_DOMAIN, status);
+        assertFalse(status.isKeep());
+    }
+
+    @Test
+    @DisplayName("MX가 없으면 A, 그다음 AAAA 레코드로 확인")
+    void addressFallback() {
+        StubDnsResolver dns = new StubDnsResolver()
+                .add("v4.com", "A", "192.0.2.1")
+                .add("v6.com", "AAAA", "2001:db8::1")
+                .add("bare.com", "TXT");
+        verifierWith(dns);
+
+        assertEquals(MailDomainStatus.ADDRESS, verifier.verify("a@v4.com"));
+        assertEquals(MailDomainStatus.ADDRESS, verifier.verify("a@v6.com"));
+        assertEquals(MailDomainStatus.NO_MAIL_HOST, verifier.verify("a@bare.com"));
+        assertFalse(MailDomainStatus.NO_MAIL_HOST.isKeep());
+    }
+
+    @Test
+    @DisplayName("조회 실패는 이메일을 유지하고 기억하지 않음 (다음 확인 때 다시 조회)")
+    void failuresAreNotCached() {
+        StubDnsResolver dns = new StubDnsResolver().fail("flaky.com");
+        verifierWith(dns);
+
+        MailDomainStatus first = verifier.verify("a@flaky.com");
+        MailDomainStatus second = verifier.verify("b@flaky.com");
+
+        assertEquals(MailDomainStatus.LOOKUP_FAILED, first);
+        assertTrue(first.isKeep());
+        assertEquals(MailDomainStatus.LOOKUP_FAILED, second);
+        assertEquals(2, verifier.getLookupCount());
+        assertEquals(0, verifier.getCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("확정된 결과는 기억해서 다시 조회하지 않음 (수신 가능/불가능 모두)")
+    void definiteResultsAreCached() {
+        StubDnsResolver dns = new StubDnsResolver().add("example.com", "MX", "10 mail.example.com");
+        verifierWith(dns);
+
+        verifier.verify("a@example.com");
+        verifier.verify("b@EXAMPLE.com");
+        verifier.verify("a@missing.com");
+        verifier.verify("b@missing.com");
+
+        assertEquals(2, verifier.getLookupCount());
+        assertEquals(2, verifier.getCacheHitCount());
+        assertEquals(2, dns.getLookupCount()); // 도메인마다 MX 조회 한 번
+    }
+
+    @Test
+    @DisplayName("같은 도메인을 동시에 확인하면 조회 하나를 공유")
+    void concurrentLookupsAreCoalesced() throws Exception {
+        StubDnsResolver dns = new StubDnsResolver().add("example.com", "MX", "10 mail.example.com").delay(300);
+        verifierWith(dns);
+
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<MailDomainStatus>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                String email = "user" + i + "@example.com";
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return verifier.verify(email);
+                }));
+            }
+            start.countDown();
+
+            for (Future<MailDomainStatus> result : results) {
+                assertEquals(MailDomainStatus.MX, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, dns.getLookupCount());
+        assertEquals(1, verifier.getLookupCount());
+        assertEquals(callers - 1, verifier.getSharedCount() + verifier.getCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("일괄 확인은 도메인별로 한 번만 조회하고 형식이 잘못된 값은 무시")
+    void verifyAllDeduplicatesDomains() {
+        StubDnsResolver dns = new StubDnsResolver()
+                .add("a.com", "MX", "10 mx.a.com")
+                .add("b.com", "MX", "0 .");
+        verifierWith(dns);
+
+        Map<String, MailDomainStatus> statuses = verifier.verifyAll(Arrays.asList(
+                "x@a.com", "y@A.COM", "z@a.com.", "x@b.com", "x@c.com", "not-an-email", "x@localhost"));
+
+        assertEquals(3, statuses.size());
+        assertEquals(MailDomainStatus.MX, statuses.get("a.com"));
+        assertEquals(MailDomainStatus.NULL_MX, statuses.get("b.com"));
+        assertEquals(MailDomainStatus.NO_SUCH_DOMAIN, statuses.get("c.com"));
+        assertEquals(3, verifier.getLookupCount());
+    }
+
+    @Test
+    @DisplayName("이메일에서 도메인 추출 (소문자, 끝의 점 제거)")
+    void domainOf() {
+        assertEquals("example.co.kr", MailDomainVerifier.domainOf("Info@Example.CO.KR"));
+        assertEquals("example.com", MailDomainVerifier.domainOf("a@b@example.com."));
+        assertEquals("", MailDomainVerifier.domainOf("no-at-sign"));
+        assertEquals("", MailDomainVerifier.domainOf("user@"));
+        assertEquals("", MailDomainVerifier.domainOf("user@localhost"));
+        assertEquals("", MailDomainVerifier.domainOf(null));
+    }
+}
@@ -0,0 +1,88 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.FetchOutcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NegativeHostCacheTest {
+
+    @Test
+    @DisplayName("등록 도메인의 이름 조회 실패는 하위 호스트까지 막음")
+    void dnsFailureOnDomainCoversSubhosts() {
+        NegativeHostCache cache = new NegativeHostCache(60, 2);
+
+        cache.record("https://www.gone.co.kr/contact", FetchOutcome.DNS_FAILURE);
+
+        assertEquals(FetchOutcome.DNS_FAILURE, cache.lookup("http://gone.co.kr"));
+        assertEquals(FetchOutcome.DNS_FAILURE, cache.lookup("https://shop.gone.co.kr/about"));
+        assertNull(cache.lookup("https://other.co.kr"));
+    }
+
+    @Test
+    @DisplayName("하위 호스트의 이름 조회 실패는 그 호스트만 막음")
+    void dnsFailureOnSubhostStaysOnHost() {
+        NegativeHostCache cache = new NegativeHostCache(60, 2);
+
+        cache.record("https://old.example.com", FetchOutcome.DNS_FAILURE);
+
+        assertEquals(FetchOutcome.DNS_FAILURE, cache.lookup("https://old.example.com/contact"));
+        assertNull(cache.lookup("https://example.com"));
+        assertNull(cache.lookup("https://www.example.com"));
+    }
+
+    @Test
+    @DisplayName("연결 시간 초과는 연속으로 기준 횟수만큼 실패해야 기록 (응답을 받으면 다시 셈)")
+    void connectTimeoutNeedsConsecutiveStrikes() {
+        NegativeHostCache cache = new NegativeHostCache(60, 2);
+
+        cache.record("https://slow.com", FetchOutcome.CONNECT_TIMEOUT);
+        assertNull(cache.lookup("https://slow.com"));
+
+        cache.record("https://slow.com", FetchOutcome.NOT_FOUND);
+        cache.record("https://slow.com", FetchOutcome.CONNECT_TIMEOUT);
+        assertNull(cache.lookup("https://slow.com"));
+
+        cache.record("https://slow.com/contact", FetchOutcome.CONNECT_TIMEOUT);
+        assertEquals(FetchOutcome.CONNECT_TIMEOUT, cache.lookup("https://slow.com"));
+    }
+
+    @Test
+    @DisplayName("연결 거부는 바로 기록하고, 기본 포트가 아니면 포트별로 구분")
+    void connectionRefusedIsKeyedByPort() {
+        NegativeHostCache cache = new NegativeHostCache(60, 2);
+
+        cache.record("http://closed.com:8080/", FetchOutcome.CONNECTION_REFUSED);
+
+        assertEquals(FetchOutcome.CONNECTION_REFUSED, cache.lookup("http://closed.com:8080/contact"));
+        assertNull(cache.lookup("http://closed.com/"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("응답할 수 없는 호스트가 아닌 결과는 기록하지 않음")
+    void ignoresOtherOutcomes() {
+        NegativeHostCache cache = new NegativeHostCache(60, 1);
+
+        cache.record("https://busy.com", FetchOutcome.TIMEOUT);
+        cache.record("https://busy.com", FetchOutcome.HTTP_TRANSIENT);
+        cache.record("https://busy.com", FetchOutcome.HTTP_ERROR);
+        cache.record("", FetchOutcome.DNS_FAILURE);
+
+        assertNull(cache.lookup("https://busy.com"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("기억 시간이 지난 실패는 조회되지 않음")
+    void expiresAfterTtl() throws Exception {
+        NegativeHostCache cache = new NegativeHostCache(0, 1);
+
+        cache.record("https://gone.com", FetchOutcome.DNS_FAILURE);
+        Thread.sleep(5);
+
+        assertNull(cache.lookup("https://gone.com"));
+    }
+}
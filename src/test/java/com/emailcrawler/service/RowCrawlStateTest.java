@@ -0,0 +1,98 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.CrawlResult;
+import com.emailcrawler.model.FetchOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowCrawlStateTest {
+
+    private final HostPolitenessScheduler scheduler = new HostPolitenessScheduler(0);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("재시도 대기 시간은 지수 백오프의 절반 ~ 전체 (equal jitter)")
+    void retryDelayUsesEqualJitter() {
+        CrawlResult timeout = CrawlResult.failed(FetchOutcome.TIMEOUT, 0);
+        for (int i = 0; i < 200; i++) {
+            long first = RowCrawlState.retryDelayMs(timeout, 0, Long.MAX_VALUE);
+            long second = RowCrawlState.retryDelayMs(timeout, 1, Long.MAX_VALUE);
+            assertTrue(first >= 250 && first <= 500, "first " + first);
+            assertTrue(second >= 500 && second <= 1000, "second " + second);
+        }
+    }
+
+    @Test
+    @DisplayName("다시 시도하지 않는 경우: 일시적이지 않은 실패, 429, 횟수 초과, 행 시간 한도 초과")
+    void retryDelayRejects() {
+        CrawlResult timeout = CrawlResult.failed(FetchOutcome.TIMEOUT, 0);
+
+        assertEquals(-1, RowCrawlState.retryDelayMs(CrawlResult.httpError(404, 0), 0, Long.MAX_VALUE));
+        assertEquals(-1, RowCrawlState.retryDelayMs(CrawlResult.failed(FetchOutcome.DNS_FAILURE, 0), 0, Long.MAX_VALUE));
+        assertEquals(-1, RowCrawlState.retryDelayMs(CrawlResult.httpError(429, 0), 0, Long.MAX_VALUE));
+        assertEquals(-1, RowCrawlState.retryDelayMs(CrawlResult.httpError(503, 1000), 0, Long.MAX_VALUE));
+        assertEquals(-1, RowCrawlState.retryDelayMs(timeout, RowCrawlState.maxRetries(), Long.MAX_VALUE));
+        assertEquals(-1, RowCrawlState.retryDelayMs(timeout, 0, 250));
+        assertTrue(RowCrawlState.retryDelayMs(CrawlResult.httpError(503, 0), 0, Long.MAX_VALUE) > 0);
+    }
+
+    @Test
+    @DisplayName("일시적인 실패는 최대 횟수까지 백오프 후 다시 실행")
+    void schedulesTransientRetries() throws Exception {
+        RowCrawlState state = new RowCrawlState("https://flaky.com", scheduler);
+        CountDownLatch rerun = new CountDownLatch(RowCrawlState.maxRetries());
+        Executor executor = Runnable::run;
+        CrawlResult failure = CrawlResult.failed(FetchOutcome.NETWORK_ERROR, 0);
+
+        state.attemptDeadlineNanos();
+        for (int i = 0; i < RowCrawlState.maxRetries(); i++) {
+            assertEquals(RowCrawlState.Retry.TRANSIENT, state.scheduleRetry(failure, rerun::countDown, executor));
+        }
+        assertEquals(RowCrawlState.Retry.NONE, state.scheduleRetry(failure, rerun::countDown, executor));
+
+        assertTrue(rerun.await(10, TimeUnit.SECONDS));
+        assertEquals(RowCrawlState.maxRetries(), state.getTransientRetries());
+        assertNull(state.expiredResult());
+    }
+
+    @Test
+    @DisplayName("429 응답은 호스트를 Retry-After만큼 쉬게 하고 다시 실행")
+    void rateLimitBacksOffHost() throws Exception {
+        RowCrawlState state = new RowCrawlState("https://busy.com", scheduler);
+        CountDownLatch rerun = new CountDownLatch(1);
+
+        state.attemptDeadlineNanos();
+        assertEquals(RowCrawlState.Retry.RATE_LIMITED,
+                state.scheduleRetry(CrawlResult.httpError(429, 5000), rerun::countDown, Runnable::run));
+
+        assertTrue(scheduler.isBlocked("busy.com"));
+        assertTrue(rerun.await(10, TimeUnit.SECONDS));
+        assertFalse(state.awaitHostTurn(() -> { }, Runnable::run)); // 대기가 끝날 때까지 차례가 오지 않음
+        assertEquals(0, state.getTransientRetries());
+    }
+
+    @Test
+    @DisplayName("다시 시도할 수 없는 결과는 바로 마무리")
+    void permanentFailureIsNotRetried() {
+        RowCrawlState state = new RowCrawlState("https://missing.com", scheduler);
+
+        state.attemptDeadlineNanos();
+        assertEquals(RowCrawlState.Retry.NONE,
+                state.scheduleRetry(CrawlResult.httpError(404, 0), () -> { }, Runnable::run));
+        assertEquals(0, state.getTransientRetries());
+    }
+}
@@ -0,0 +1,196 @@
+package com.emailcrawler.service;
+
+import com.emailcrawler.model.CrawlResult;
+import com.emailcrawler.model.FetchOutcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightCrawlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 실제 요청 대신 정해진 결과를 돌려주고 호출 횟수를 세는 크롤러
+     */
+    private static class StubCrawler extends EmailCrawlerService {
+        private final Function<String, CrawlResult> answer;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubCrawler(Function<String, CrawlResult> answer) {
+            this.answer = answer;
+        }
+
+        @Override
+        public CrawlResult crawl(String url, long deadlineNanos) {
+            calls.incrementAndGet();
+            return answer.apply(url);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 사이트를 동시에 요청하면 한 번만 가져오고 나머지는 결과를 공유")
+    void concurrentRequestsShareOneFetch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StubCrawler stub = new StubCrawler(url -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CrawlResult.found("info@example.com", 200);
+        });
+        SingleFlightCrawler crawler = new SingleFlightCrawler(stub);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SingleFlightCrawler.Flight>> flights = new ArrayList<>();
+            String[] urls = {"https://example.com", "http://www.example.com/", "example.com", "EXAMPLE.com/"};
+            for (int i = 0; i < 8; i++) {
+                String url = urls[i % urls.length];
+                flights.add(executor.submit(() -> crawler.crawlFlight(url)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            int fetched = 0;
+            for (Future<SingleFlightCrawler.Flight> flight : flights) {
+                SingleFlightCrawler.Flight f = flight.get(5, TimeUnit.SECONDS);
+                assertEquals("info@example.com", f.getResult().getEmail());
+                fetched += f.isFetched() ? 1 : 0;
+            }
+            assertEquals(1, fetched);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, stub.calls.get());
+        assertEquals(7, crawler.getSharedCount());
+
+        // 끝난 결과는 다음 행이 재사용
+        SingleFlightCrawler.Flight again = crawler.crawlFlight("https://www.example.com");
+        assertFalse(again.isFetched());
+        assertEquals(1, stub.calls.get());
+        assertEquals("info@example.com", crawler.getIfDone("example.com").getEmail());
+    }
+
+    @Test
+    @DisplayName("일시적인 실패와 요청 제한 응답은 기억하지 않아 다음 행이 다시 요청")
+    void transientFailuresAreNotRemembered() {
+        StubCrawler timeouts = new StubCrawler(url -> CrawlResult.failed(FetchOutcome.TIMEOUT, 0));
+        SingleFlightCrawler crawler = new SingleFlightCrawler(timeouts);
+        crawler.crawl("https://slow.example.com");
+        assertTrue(crawler.crawlFlight("https://slow.example.com").isFetched());
+        assertEquals(2, timeouts.calls.get());
+
+        StubCrawler limited = new StubCrawler(url -> CrawlResult.httpError(429, 1000));
+        crawler = new SingleFlightCrawler(limited);
+        crawler.crawl("https://busy.example.com");
+        crawler.crawl("https://busy.example.com");
+        assertEquals(2, limited.calls.get());
+
+        // 다시 요청해도 같을 실패는 기억
+        StubCrawler notFound = new StubCrawler(url -> CrawlResult.httpError(404, 0));
+        crawler = new SingleFlightCrawler(notFound);
+        crawler.crawl("https://gone.example.com");
+        assertFalse(crawler.crawlFlight("https://gone.example.com").isFetched());
+        assertEquals(1, notFound.calls.get());
+    }
+
+    @Test
+    @DisplayName("먼저 시작한 요청이 Error를 던져도 기다리던 행이 멈추지 않음")
+    void errorReleasesWaitingRows() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempt = new AtomicInteger();
+        StubCrawler stub = new StubCrawler(url -> {
+            if (attempt.incrementAndGet() > 1) {
+                return CrawlResult.found("info@example.com", 200);
+            }
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new StackOverflowError("stub");
+        });
+        SingleFlightCrawler crawler = new SingleFlightCrawler(stub);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<SingleFlightCrawler.Flight> owner = executor.submit(() -> crawler.crawlFlight("example.com"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<SingleFlightCrawler.Flight> sharer = executor.submit(() -> crawler.crawlFlight("example.com"));
+            Thread.sleep(100);
+            release.countDown();
+
+            Exception thrown = assertThrows(Exception.class, () -> owner.get(5, TimeUnit.SECONDS));
+            assertTrue(thrown.getCause() instanceof StackOverflowError);
+
+            SingleFlightCrawler.Flight shared = sharer.get(5, TimeUnit.SECONDS);
+            assertEquals(FetchOutcome.ERROR, shared.getResult().getOutcome());
+            assertFalse(shared.isFetched());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 진행 중 목록에서 빠졌으므로 다음 행은 다시 요청
+        assertTrue(crawler.crawlFlight("example.com").isFetched());
+        assertEquals(2, stub.calls.get());
+    }
+
+    @Test
+    @DisplayName("정상 응답만 실행 간 캐시에 저장하고, 다음 실행은 캐시를 재사용")
+    void storesOnlyConclusiveResults() throws Exception {
+        String log = tempDir.resolve("cache.log").toString();
+
+        try (CrawlResultStore store = new CrawlResultStore(log, 24)) {
+            StubCrawler stub = new StubCrawler(url -> {
+                if (url.contains("found")) {
+                    return CrawlResult.found("info@found.com", 200);
+                }
+                if (url.contains("empty")) {
+                    return CrawlResult.failed(FetchOutcome.NOT_FOUND, 200);
+                }
+                return CrawlResult.failed(FetchOutcome.CONNECTION_REFUSED, 0);
+            });
+            SingleFlightCrawler crawler = new SingleFlightCrawler(stub, store);
+            crawler.crawl("https://found.com");
+            crawler.crawl("https://empty.com");
+            crawler.crawl("https://refused.com");
+        }
+
+        try (CrawlResultStore store = new CrawlResultStore(log, 24)) {
+            StubCrawler stub = new StubCrawler(url -> CrawlResult.found("other@example.com", 200));
+            SingleFlightCrawler crawler = new SingleFlightCrawler(stub, store);
+
+            SingleFlightCrawler.Flight found = crawler.crawlFlight("http://www.found.com/");
+            assertEquals("info@found.com", found.getResult().getEmail());
+            assertFalse(found.isFetched());
+            assertFalse(crawler.crawlFlight("empty.com").getResult().hasEmail());
+            assertEquals(0, stub.calls.get());
+            assertEquals(2, crawler.getCacheHitCount());
+
+            assertTrue(crawler.crawlFlight("refused.com").isFetched());
+            assertEquals(1, stub.calls.get());
+        }
+    }
+}
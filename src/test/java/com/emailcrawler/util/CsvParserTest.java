@@ -0,0 +1,114 @@
+package com.emailcrawler.util;
+
+import com.emailcrawler.model.CsvRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvParserTest {
+
+    private static final String CSV = "\ufeffCompany,Website,Email,Memo\n"
+            + "회사1,http://a.com,a@a.com,\"쉼표, 포함\"\n"
+            + "\"회사 \"\"2\"\"\",b.com,,\"여러 줄\n메모\"\n"
+            + "회사3,,c@c.com,\n";
+
+    @TempDir
+    Path dir;
+
+    private final CsvParser csvParser = new CsvParser();
+
+    private String write(String content, Charset charset) throws Exception {
+        Path file = dir.resolve("input.csv");
+        Files.write(file, content.getBytes(charset));
+        return file.toString();
+    }
+
+    @Test
+    @DisplayName("따옴표, 쉼표, 줄바꿈이 있는 필드와 BOM을 읽음")
+    void parseQuotedFields() throws Exception {
+        List<CsvRow> rows = csvParser.parseCsvFile(write(CSV, StandardCharsets.UTF_8), "UTF-8");
+
+        assertEquals(4, rows.size());
+        assertTrue(rows.get(0).isHeader());
+        assertEquals(2, rows.get(0).getEmailCol());
+
+        assertEquals("회사1", rows.get(1).getCompany());
+        assertEquals("http://a.com", rows.get(1).getWebsite());
+        assertEquals("a@a.com", rows.get(1).getOriginalEmail());
+        assertEquals("쉼표, 포함", rows.get(1).getValue(3));
+
+        assertEquals("회사 \"2\"", rows.get(2).getCompany());
+        assertEquals("", rows.get(2).getOriginalEmail());
+        assertEquals("여러 줄\n메모", rows.get(2).getValue(3));
+
+        assertEquals("", rows.get(3).getWebsite());
+    }
+
+    @Test
+    @DisplayName("찾은 이메일을 넣어 다시 쓰면 Email 필드만 바뀌고 나머지는 원본 그대로")
+    void roundTrip() throws Exception {
+        List<CsvRow> rows = csvParser.parseCsvFile(write(CSV, StandardCharsets.UTF_8), "UTF-8");
+        rows.get(1).setFoundEmail(rows.get(1).getOriginalEmail());
+        rows.get(2).setFoundEmail("info@b.com");
+        rows.get(3).setFoundEmail("X");
+
+        StringBuilder out = new StringBuilder();
+        for (CsvRow row : rows) {
+            out.append(csvParser.formatCsvRow(row));
+        }
+
+        assertEquals("Company,Website,Email,Memo\n"
+                + "회사1,http://a.com,a@a.com,\"쉼표, 포함\"\n"
+                + "\"회사 \"\"2\"\"\",b.com,info@b.com,\"여러 줄\n메모\"\n"
+                + "회사3,,X,\n", out.toString());
+    }
+
+    @Test
+    @DisplayName("값에 쉼표나 따옴표가 있으면 따옴표로 감싸서 씀")
+    void escapeField() {
+        assertEquals("a@b.com", csvParser.escapeCsvField("a@b.com"));
+        assertEquals("\"a,b\"", csvParser.escapeCsvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", csvParser.escapeCsvField("say \"hi\""));
+        assertArrayEquals(new String[]{"a,b", "say \"hi\"", ""}, csvParser.parseCsvLine("\"a,b\",\"say \"\"hi\"\"\","));
+    }
+
+    @Test
+    @DisplayName("한 행씩 읽는 리더와 행 수 세기가 전체 파싱과 같은 결과")
+    void streamingMatchesBatch() throws Exception {
+        String path = write(CSV.replace("\n", "\r\n"), StandardCharsets.UTF_8);
+        List<CsvRow> batch = csvParser.parseCsvFile(path, "UTF-8");
+
+        List<CsvRow> streamed = new ArrayList<>();
+        try (CsvRowReader reader = csvParser.openCsvFile(path, "UTF-8")) {
+            streamed.add(reader.getHeader());
+            reader.forEachRemaining(streamed::add);
+        }
+
+        assertEquals(batch.size() - 1, csvParser.countDataRows(path, "UTF-8"));
+        assertEquals(batch.size(), streamed.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(csvParser.formatCsvRow(batch.get(i)), csvParser.formatCsvRow(streamed.get(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("EUC-KR 파일을 지정한 인코딩으로 읽음")
+    void eucKr() throws Exception {
+        List<CsvRow> rows = csvParser.parseCsvFile(write("회사명,홈페이지,이메일\n가나다,a.com,a@a.com\n", Charset.forName("EUC-KR")), "EUC-KR");
+
+        assertEquals("가나다", rows.get(1).getCompany());
+        assertEquals("a.com", rows.get(1).getWebsite());
+        assertEquals("a@a.com", rows.get(1).getOriginalEmail());
+    }
+}
@@ -0,0 +1,101 @@
+package com.emailcrawler.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileEncodingDetectorTest {
+
+    private static final String KOREAN = "회사명,홈페이지,이메일\n주식회사 가나다,http://a.co.kr,info@a.co.kr\n대한상사,b.com,\n";
+
+    @TempDir
+    Path dir;
+
+    private final FileEncodingDetector detector = new FileEncodingDetector();
+
+    private FileEncodingDetector.Result detect(byte[] content) throws Exception {
+        Path file = dir.resolve("input.csv");
+        Files.write(file, content);
+        return detector.detect(file.toString());
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            out.append(text);
+        }
+        return out.toString();
+    }
+
+    @Test
+    @DisplayName("BOM이 있으면 그 인코딩")
+    void byteOrderMark() throws Exception {
+        byte[] text = KOREAN.getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[text.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(text, 0, withBom, 3, text.length);
+
+        FileEncodingDetector.Result result = detect(withBom);
+
+        assertEquals("UTF-8", result.getEncoding());
+        assertEquals(1.0, result.getConfidence());
+    }
+
+    @Test
+    @DisplayName("BOM 없는 UTF-8 한글")
+    void utf8WithoutBom() throws Exception {
+        FileEncodingDetector.Result result = detect(KOREAN.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("UTF-8", result.getEncoding());
+        assertTrue(result.getConfidence() >= 0.9);
+    }
+
+    @Test
+    @DisplayName("EUC-KR 완성형 한글")
+    void eucKr() throws Exception {
+        assertEquals("EUC-KR", detect(KOREAN.getBytes(Charset.forName("EUC-KR"))).getEncoding());
+    }
+
+    @Test
+    @DisplayName("EUC-KR에 없는 확장 한글이 있으면 MS949")
+    void ms949() throws Exception {
+        assertEquals("MS949", detect((KOREAN + "똠방각하,c.com,\n").getBytes(Charset.forName("MS949"))).getEncoding());
+    }
+
+    @Test
+    @DisplayName("악센트 문자가 한 개씩 떨어져 있으면 CP1252")
+    void cp1252() throws Exception {
+        String latin = "Company,Website,Email\nCafé Crème,cafe.fr,\nNaïve Résumé Société,naive.fr,\n";
+
+        assertEquals("CP1252", detect(latin.getBytes(Charset.forName("CP1252"))).getEncoding());
+    }
+
+    @Test
+    @DisplayName("큰 파일은 중간 블록에서 잘린 UTF-8 문자를 오류로 보지 않음")
+    void largeUtf8File() throws Exception {
+        byte[] content = repeat(KOREAN, 20_000).getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("UTF-8", detect(content).getEncoding());
+    }
+
+    @Test
+    @DisplayName("ASCII만 있거나 빈 파일이면 기본 인코딩, 낮은 신뢰도")
+    void asciiAndEmpty() throws Exception {
+        FileEncodingDetector.Result ascii = detect("Company,Website,Email\nA,a.com,\n".getBytes(StandardCharsets.US_ASCII));
+        FileEncodingDetector.Result empty = detect(new byte[0]);
+
+        assertTrue(ascii.getConfidence() < 0.5);
+        assertEquals(0.0, empty.getConfidence());
+        assertEquals(ascii.getEncoding(), empty.getEncoding());
+    }
+}
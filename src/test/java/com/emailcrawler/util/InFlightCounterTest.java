@@ -0,0 +1,121 @@
+package com.emailcrawler.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InFlightCounterTest {
+
+    @Test
+    @DisplayName("생산자가 awaitSlot으로 제출하면 진행 중인 작업이 용량을 넘지 않음")
+    void boundsInFlightWindow() throws Exception {
+        InFlightCounter inFlight = new InFlightCounter(4);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            for (int i = 0; i < 300; i++) {
+                assertTrue(inFlight.awaitSlot(Long.MAX_VALUE));
+                assertTrue(inFlight.get() <= inFlight.getCapacity());
+                executor.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    done.incrementAndGet();
+                    inFlight.decrement();
+                });
+            }
+            assertTrue(inFlight.awaitZero(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(300, done.get());
+        assertTrue(maxRunning.get() <= 4, "max " + maxRunning.get());
+        assertEquals(0, inFlight.get());
+    }
+
+    @Test
+    @DisplayName("자리가 없으면 마감 시각에 false를 반환하고 등록하지 않음")
+    void awaitSlotGivesUpAtDeadline() throws Exception {
+        InFlightCounter inFlight = new InFlightCounter(2);
+        inFlight.increment();
+        inFlight.increment();
+
+        long start = System.nanoTime();
+        assertFalse(inFlight.awaitSlot(start + TimeUnit.MILLISECONDS.toNanos(50)));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(2, inFlight.get());
+    }
+
+    @Test
+    @DisplayName("작업이 끝나면 기다리던 생산자가 자리를 받음")
+    void decrementWakesProducer() throws Exception {
+        InFlightCounter inFlight = new InFlightCounter(1);
+        inFlight.increment();
+
+        CompletableFuture<Boolean> producer = CompletableFuture.supplyAsync(() -> awaitSlot(inFlight));
+        Thread.sleep(50);
+        assertFalse(producer.isDone());
+
+        inFlight.decrement();
+        assertTrue(producer.get(5, TimeUnit.SECONDS));
+        assertEquals(1, inFlight.get());
+    }
+
+    @Test
+    @DisplayName("취소하면 기다리던 생산자가 바로 false를 받고, 이후 등록도 거부")
+    void cancelWakesProducer() throws Exception {
+        InFlightCounter inFlight = new InFlightCounter(1);
+        inFlight.increment();
+
+        CompletableFuture<Boolean> producer = CompletableFuture.supplyAsync(() -> awaitSlot(inFlight));
+        Thread.sleep(50);
+        inFlight.cancel();
+
+        assertFalse(producer.get(5, TimeUnit.SECONDS));
+        assertTrue(inFlight.isCancelled());
+        inFlight.decrement();
+        assertFalse(inFlight.awaitSlot(Long.MAX_VALUE));
+        assertEquals(0, inFlight.get());
+    }
+
+    @Test
+    @DisplayName("남은 작업이 있으면 awaitZero는 시간 초과로 false")
+    void awaitZeroTimesOut() throws Exception {
+        InFlightCounter inFlight = new InFlightCounter();
+        inFlight.increment();
+
+        assertFalse(inFlight.awaitZero(20, TimeUnit.MILLISECONDS));
+
+        inFlight.decrement();
+        inFlight.decrement(); // 0 아래로 내려가지 않음
+        assertTrue(inFlight.awaitZero(0, TimeUnit.MILLISECONDS));
+        assertEquals(0, inFlight.get());
+    }
+
+    private static boolean awaitSlot(InFlightCounter inFlight) {
+        try {
+            return inFlight.awaitSlot(Long.MAX_VALUE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.emailcrawler.util;
+
+import com.emailcrawler.model.CsvRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderedCsvWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private final CsvParser csvParser = new CsvParser();
+
+    private CsvRow header() {
+        return csvParser.createHeaderRow("Company,Website,Email");
+    }
+
+    private CsvRow row(int index) {
+        CsvRow row = csvParser.createDataRow("회사" + index + ",site" + index + ".com,", header());
+        row.setFoundEmail("info@site" + index + ".com");
+        return row;
+    }
+
+    private List<String> readLines(Path file) throws Exception {
+        return Files.readAllLines(file, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("완료 순서와 관계없이 입력 순서대로 기록")
+    void writesInInputOrder() throws Exception {
+        Path file = dir.resolve("out.csv");
+        int count = 500;
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(42));
+
+        try (OrderedCsvWriter writer = new OrderedCsvWriter(new CsvOutputWriter(file.toString()), csvParser, count)) {
+            writer.writeHeader(header());
+            for (int i = 0; i < count; i++) {
+                writer.reserve();
+            }
+            for (int index : order) {
+                writer.complete(index, row(index));
+            }
+            assertEquals(count, writer.getWrittenCount());
+        }
+
+        List<String> lines = readLines(file);
+        assertEquals(count + 1, lines.size());
+        assertEquals("\ufeffCompany,Website,Email", lines.get(0));
+        for (int i = 1; i <= count; i++) {
+            assertEquals("회사" + i + ",site" + i + ".com,info@site" + i + ".com", lines.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("앞선 행이 끝나지 않으면 뒤의 행은 기록하지 않고 보관")
+    void holdsRowsUntilGapIsFilled() throws Exception {
+        Path file = dir.resolve("out.csv");
+
+        try (OrderedCsvWriter writer = new OrderedCsvWriter(new CsvOutputWriter(file.toString()), csvParser, 3)) {
+            writer.writeHeader(header());
+            writer.reserve();
+            writer.reserve();
+            writer.reserve();
+
+            writer.complete(3, row(3));
+            writer.complete(2, row(2));
+            assertEquals(0, writer.getWrittenCount());
+
+            writer.complete(1, row(1));
+            assertEquals(3, writer.getWrittenCount());
+        }
+
+        assertEquals(4, readLines(file).size());
+    }
+
+    @Test
+    @DisplayName("버퍼가 가득 차면 reserve는 앞선 행이 기록될 때까지 대기")
+    void reserveBlocksWhenWindowIsFull() throws Exception {
+        Path file = dir.resolve("out.csv");
+        ExecutorService producer = Executors.newSingleThreadExecutor();
+
+        try (OrderedCsvWriter writer = new OrderedCsvWriter(new CsvOutputWriter(file.toString()), csvParser, 2)) {
+            writer.writeHeader(header());
+            writer.reserve();
+            writer.reserve();
+
+            AtomicBoolean reserved = new AtomicBoolean(false);
+            producer.execute(() -> {
+                try {
+                    writer.reserve();
+                    reserved.set(true);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            writer.complete(2, row(2));
+            Thread.sleep(200);
+            assertFalse(reserved.get()); // 2번은 1번을 기다리며 보관 중이라 자리가 나지 않음
+
+            writer.complete(1, row(1));
+            producer.shutdown();
+            assertTrue(producer.awaitTermination(5, TimeUnit.SECONDS));
+            assertTrue(reserved.get());
+        } finally {
+            producer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.emailcrawler.util;
+
+import com.emailcrawler.model.CsvRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelCsvParserTest {
+
+    @TempDir
+    Path dir;
+
+    private final CsvParser csvParser = new CsvParser();
+
+    private List<CsvRow> parse(String content) throws Exception {
+        Path file = dir.resolve("input.csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return new ParallelCsvParser(csvParser).parse(file.toString(), "UTF-8");
+    }
+
+    @Test
+    @DisplayName("따옴표 안 줄바꿈, CRLF, BOM이 섞인 파일을 순차 파서와 같게 읽음")
+    void matchesSequentialParser() throws Exception {
+        StringBuilder csv = new StringBuilder("\ufeffCompany,Website,Email\r\n");
+        for (int i = 1; i <= 1000; i++) {
+            csv.append(i % 7 == 0 ? "\"회사\n" + i + "\"" : "회사" + i)
+                    .append(",site").append(i).append(".com,")
+                    .append(i % 3 == 0 ? "" : "a" + i + "@b.com")
+                    .append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        List<CsvRow> parallel = parse(csv.toString());
+        List<CsvRow> sequential = csvParser.parseSequential(dir.resolve("input.csv").toString(), "UTF-8");
+
+        assertEquals(1001, parallel.size());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(csvParser.formatCsvRow(sequential.get(i)), csvParser.formatCsvRow(parallel.get(i)));
+        }
+        assertEquals("회사\n7", parallel.get(7).getCompany());
+    }
+
+    @Test
+    @DisplayName("CR 줄바꿈만 쓰는 파일은 순차 파싱으로 모든 행을 읽음")
+    void carriageReturnOnly() throws Exception {
+        List<CsvRow> rows = parse("Company,Website,Email\r회사1,a.com,a@a.com\r회사2,b.com,b@b.com\r");
+
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).isHeader());
+        assertEquals("회사1", rows.get(1).getCompany());
+        assertEquals("b.com", rows.get(2).getWebsite());
+    }
+
+    @Test
+    @DisplayName("줄바꿈이 없는 헤더만 있는 파일은 데이터 행 없음")
+    void headerWithoutNewline() throws Exception {
+        List<CsvRow> rows = parse("Company,Website,Email");
+
+        assertEquals(1, rows.size());
+        assertTrue(rows.get(0).isHeader());
+    }
+
+    @Test
+    @DisplayName("빈 파일은 빈 목록")
+    void emptyFile() throws Exception {
+        assertTrue(parse("").isEmpty());
+    }
+}
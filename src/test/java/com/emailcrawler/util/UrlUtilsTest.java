@@ -0,0 +1,66 @@
+package com.emailcrawler.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UrlUtilsTest {
+
+    @Test
+    @DisplayName("스킴 없는 등록 도메인은 https/http, www 유무 후보를 모두 만듦")
+    void bareDomain() {
+        assertEquals(Arrays.asList(
+                "https://example.co.kr/", "http://example.co.kr/",
+                "https://www.example.co.kr/", "http://www.example.co.kr/"),
+                UrlUtils.candidateUrls("example.co.kr"));
+    }
+
+    @Test
+    @DisplayName("www 호스트는 등록 도메인을 두 번째 후보로 넣음")
+    void wwwHost() {
+        assertEquals(Arrays.asList(
+                "https://www.example.com/about", "http://www.example.com/about",
+                "https://example.com/about", "http://example.com/about"),
+                UrlUtils.candidateUrls("www.example.com/about"));
+    }
+
+    @Test
+    @DisplayName("깨진 http 스킴은 http를 먼저 시도하고 포트와 경로를 유지")
+    void looseHttpScheme() {
+        assertEquals(Arrays.asList(
+                "http://shop.example.com:8080/p?id=1", "https://shop.example.com:8080/p?id=1"),
+                UrlUtils.candidateUrls("http:/shop.example.com:8080/p?id=1"));
+        assertEquals(Arrays.asList(
+                "http://example.com/", "https://example.com/",
+                "http://www.example.com/", "https://www.example.com/"),
+                UrlUtils.candidateUrls(" HTTP:// Example.COM "));
+    }
+
+    @Test
+    @DisplayName("한글 도메인은 퓨니코드로 변환")
+    void internationalizedDomain() {
+        assertEquals("https://xn--3e0b707e.kr/", UrlUtils.candidateUrls("한국.kr").get(0));
+    }
+
+    @Test
+    @DisplayName("IP 주소에는 www 후보를 만들지 않음")
+    void ipAddress() {
+        assertEquals(Arrays.asList("https://192.168.0.1/", "http://192.168.0.1/"),
+                UrlUtils.candidateUrls("192.168.0.1"));
+    }
+
+    @Test
+    @DisplayName("호스트로 볼 수 없는 값이나 다른 스킴은 빈 목록")
+    void invalid() {
+        assertEquals(Collections.emptyList(), UrlUtils.candidateUrls(""));
+        assertEquals(Collections.emptyList(), UrlUtils.candidateUrls(null));
+        assertEquals(Collections.emptyList(), UrlUtils.candidateUrls("ftp://example.com"));
+        assertEquals(Collections.emptyList(), UrlUtils.candidateUrls("없음"));
+        assertEquals(Collections.emptyList(), UrlUtils.candidateUrls("localhost"));
+        assertEquals(Collections.emptyList(), UrlUtils.candidateUrls("example.com:port"));
+    }
+}